@@ -0,0 +1,159 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the single pass parser of {@link PatternLogFilterV4} with the regular expression it
+ * replaced, on a log of single line records and records with stack traces.
+ *
+ * <p>
+ * Run with <code>mvn -Pbenchmarks package</code> in <code>bundles</code> and
+ * <code>java -jar fish.payara.eclipse.tools.server.benchmarks/target/benchmarks.jar</code>. The log
+ * contains well formed records only, a malformed one would be reported trough the plugin log which is
+ * not available outside of Eclipse.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternLogFilterV4Benchmark {
+
+    /**
+     * Filter using the former regular expression.
+     */
+    static class RegexLogFilterV4 extends AbstractLogFilter {
+
+        private static final Pattern logPattern = Pattern.compile("^\\[([^\\]]*)\\]\\s+" + // date-time
+                "\\[([^\\]]*)\\]\\s+" + // server name
+                "\\[([^\\]]*)\\]\\s+" + // level name
+                "\\[([^\\]]*)\\]\\s+" + // version
+                "\\[([^\\]]*)\\]\\s+" + // class info
+                "\\[([^\\]]*)\\]\\s+" + // thread info
+                "\\[([^\\]]*)\\]\\s+" + // time millis
+                "\\[([^\\]]*)\\]\\s+" + // level value
+                "\\[{2}\\s*(.+)\\]{2}\\s$", Pattern.DOTALL); // log message
+
+        @Override
+        public String process(String line) {
+            String result = null;
+            if (line.equals(logRecordDelimeter)) {
+                Matcher m = logPattern.matcher(buffer);
+                if (m.matches()) {
+                    record.setTime(m.group(1));
+                    record.setLevel(levelResolver.resolve(m.group(3)));
+                    record.setVersion(m.group(2));
+                    record.setClassInfo(m.group(5));
+                    record.setThreadInfo(m.group(6));
+                    record.setMessage(m.group(9));
+                    result = formatter.formatLogRecord(record);
+                    reset();
+                }
+            } else {
+                buffer.append(line);
+                buffer.append('\n');
+            }
+            return result;
+        }
+
+        @Override
+        protected boolean isReadingUserMessage() {
+            return false;
+        }
+
+    }
+
+    /** Every n-th record carries a stack trace, 0 for none. */
+    @Param({ "0", "10" })
+    public int stackTraceEvery;
+
+    private String[] lines;
+    private char[] chars;
+    private int[] offsets;
+
+    @Setup
+    public void setUp() {
+        List<String> log = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            log.add("[2023-05-02T10:15:30.123+0200] [Payara 5.2022.5] [" + (i % 7 == 0 ? "WARNING" : "INFO")
+                    + "] [] [fish.payara.samples.Service" + i % 13 + "] [tid: _ThreadID=" + (40 + i % 8)
+                    + " _ThreadName=http-thread-pool::http-listener-1(" + i % 8 + ")] [timeMillis: "
+                    + (1683015330123L + i) + "] [levelValue: " + (i % 7 == 0 ? 900 : 800) + "] [[");
+            if (stackTraceEvery > 0 && i % stackTraceEvery == 0) {
+                log.add("  Request processing failed for order " + i);
+                log.add("java.lang.IllegalStateException: order " + i + " is not available");
+                for (int j = 0; j < 20; j++) {
+                    log.add("\tat fish.payara.samples.Service" + j + ".process(Service" + j + ".java:" + (42 + j) + ")");
+                }
+                log.add("]]");
+            } else {
+                log.add("  Processed order " + i + " in " + i % 50 + " ms]]");
+            }
+            log.add("");
+        }
+        lines = log.toArray(new String[0]);
+
+        // Lines one after another in a single buffer, as the log reader passes them
+        StringBuilder text = new StringBuilder();
+        offsets = new int[lines.length + 1];
+        for (int i = 0; i < lines.length; i++) {
+            offsets[i] = text.length();
+            text.append(lines[i]);
+        }
+        offsets[lines.length] = text.length();
+        chars = text.toString().toCharArray();
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        ILogFilter filter = new RegexLogFilterV4();
+        for (String line : lines) {
+            blackhole.consume(filter.process(line));
+        }
+    }
+
+    @Benchmark
+    public void parser(Blackhole blackhole) {
+        ILogFilter filter = new PatternLogFilterV4();
+        for (String line : lines) {
+            blackhole.consume(filter.process(line));
+        }
+    }
+
+    @Benchmark
+    public void parserChars(Blackhole blackhole) {
+        ILogFilter filter = new PatternLogFilterV4();
+        for (int i = 0; i < lines.length; i++) {
+            blackhole.consume(filter.process(chars, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+}
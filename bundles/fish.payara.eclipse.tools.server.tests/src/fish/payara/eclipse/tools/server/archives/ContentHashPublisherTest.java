@@ -0,0 +1,154 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.wst.server.core.model.IModuleResource;
+import org.eclipse.wst.server.core.util.ModuleFile;
+import org.eclipse.wst.server.core.util.ModuleFolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of publishing exploded modules through the content hash index.
+ */
+public class ContentHashPublisherTest {
+
+	private File base;
+	private File source;
+	private IPath root;
+
+	@Before
+	public void setUp() throws IOException {
+		base = Files.createTempDirectory("ContentHashPublisherTest").toFile();
+		source = new File(base, "src");
+		root = new Path(base.getAbsolutePath()).append("eclipseApps").append("app");
+		write("index.html", "<html/>");
+		write("WEB-INF/web.xml", "<web-app/>");
+	}
+
+	@After
+	public void tearDown() {
+		delete(base);
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = new File(source, name);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(UTF_8));
+		return file;
+	}
+
+	private IModuleResource[] resources() {
+		ModuleFolder webInf = new ModuleFolder(null, "WEB-INF", Path.EMPTY);
+		webInf.setMembers(new IModuleResource[] {
+				new ModuleFile(new File(source, "WEB-INF/web.xml"), "web.xml", new Path("WEB-INF")) });
+		return new IModuleResource[] { new ModuleFile(new File(source, "index.html"), "index.html", Path.EMPTY),
+				webInf };
+	}
+
+	private Set<String> publish(IModuleResource[] resources, IPath... ignore) {
+		ContentHashPublisher publisher = ContentHashPublisher.forRoot(root);
+		assertEquals(0, publisher.publish(resources, ignore, new NullProgressMonitor()).length);
+		return publisher.getChangedPaths();
+	}
+
+	private String read(String name) throws IOException {
+		return new String(Files.readAllBytes(root.append(name).toFile().toPath()), UTF_8);
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	@Test
+	public void rootOutsideOfAppsDirectoryHasNoIndex() {
+		assertNull(ContentHashPublisher.forRoot(new Path(base.getAbsolutePath()).append("other")));
+	}
+
+	@Test
+	public void firstPublishCopiesAllFiles() throws IOException {
+		assertEquals(new HashSet<>(Arrays.asList("index.html", "WEB-INF/web.xml")), publish(resources()));
+		assertEquals("<html/>", read("index.html"));
+		assertEquals("<web-app/>", read("WEB-INF/web.xml"));
+	}
+
+	@Test
+	public void unchangedFilesAreNotCopied() {
+		publish(resources());
+		assertTrue(publish(resources()).isEmpty());
+	}
+
+	@Test
+	public void touchedFileWithSameContentIsNotCopied() {
+		publish(resources());
+		File file = new File(source, "index.html");
+		file.setLastModified(file.lastModified() + 5000);
+		assertTrue(publish(resources()).isEmpty());
+	}
+
+	@Test
+	public void changedContentIsCopied() throws IOException {
+		publish(resources());
+		File file = write("index.html", "<HTML/>");
+		file.setLastModified(file.lastModified() + 5000);
+		assertEquals(new HashSet<>(Arrays.asList("index.html")), publish(resources()));
+		assertEquals("<HTML/>", read("index.html"));
+	}
+
+	@Test
+	public void removedFileIsDeleted() {
+		publish(resources());
+		IModuleResource[] resources = resources();
+		assertEquals(new HashSet<>(Arrays.asList("index.html")), publish(Arrays.copyOfRange(resources, 1, 2)));
+		assertFalse(root.append("index.html").toFile().exists());
+		assertTrue(root.append("WEB-INF/web.xml").toFile().exists());
+	}
+
+	@Test
+	public void ignoredPathIsKept() throws IOException {
+		publish(resources());
+		File child = root.append("lib/child.jar").toFile();
+		child.getParentFile().mkdirs();
+		Files.write(child.toPath(), new byte[] { 1 });
+		assertTrue(publish(resources(), new Path("lib/child.jar")).isEmpty());
+		assertTrue(child.isFile());
+	}
+
+	@Test
+	public void deletedIndexCopiesAllFilesAgain() {
+		publish(resources());
+		ContentHashPublisher.deleteIndex(root);
+		assertEquals(2, publish(resources()).size());
+	}
+
+}
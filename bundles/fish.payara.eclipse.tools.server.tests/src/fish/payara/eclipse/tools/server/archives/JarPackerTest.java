@@ -0,0 +1,168 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of archives written by {@link JarPacker}.
+ */
+public class JarPackerTest {
+
+	private static final long OLD_TIME = 1600000000000L;
+
+	private File base;
+	private File source;
+	private final Map<String, byte[]> content = new LinkedHashMap<>();
+
+	@Before
+	public void setUp() throws IOException {
+		base = Files.createTempDirectory("JarPackerTest").toFile();
+		source = new File(base, "src");
+		byte[] random = new byte[100000];
+		new Random(42).nextBytes(random);
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			text.append("line ").append(i).append('\n');
+		}
+		write("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(UTF_8));
+		write("fish/payara/Test.class", text.toString().getBytes(UTF_8));
+		write("lib/nested.jar", random);
+		write("empty.txt", new byte[0]);
+	}
+
+	@After
+	public void tearDown() {
+		delete(base);
+	}
+
+	private void write(String name, byte[] data) throws IOException {
+		File file = new File(source, name);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), data);
+		file.setLastModified(OLD_TIME);
+		content.put(name, data);
+	}
+
+	private File pack(String name) throws IOException {
+		File destination = new File(base, name);
+		JarPacker packer = new JarPacker(destination);
+		packer.addDirectory(source);
+		assertTrue(packer.pack());
+		return destination;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private void assertReadable(File archive) throws IOException {
+		try (ZipFile zip = new ZipFile(archive)) {
+			List<String> files = new ArrayList<>();
+			for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory()) {
+					continue;
+				}
+				files.add(entry.getName());
+				try (InputStream in = zip.getInputStream(entry)) {
+					assertArrayEquals(content.get(entry.getName()), in.readAllBytes());
+				}
+			}
+			assertEquals(content.size(), files.size());
+			assertNotNull(zip.getEntry("fish/payara/"));
+		}
+	}
+
+	@Test
+	public void archiveIsReadable() throws IOException {
+		File archive = pack("test.jar");
+		assertReadable(archive);
+		try (ZipFile zip = new ZipFile(archive)) {
+			assertEquals(ZipEntry.STORED, zip.getEntry("fish/payara/Test.class").getMethod());
+			assertEquals(ZipEntry.STORED, zip.getEntry("lib/nested.jar").getMethod());
+		}
+	}
+
+	@Test
+	public void entryTimeIsPreserved() throws IOException {
+		new File(source, "empty.txt").setLastModified(OLD_TIME + 123);
+		try (ZipFile zip = new ZipFile(pack("test.jar"))) {
+			assertEquals(OLD_TIME + 123, zip.getEntry("empty.txt").getLastModifiedTime().toMillis());
+		}
+	}
+
+	@Test
+	public void unchangedArchiveIsKept() throws IOException {
+		File archive = pack("test.jar");
+		archive.setLastModified(OLD_TIME);
+		pack("test.jar");
+		assertEquals(OLD_TIME, archive.lastModified());
+		assertReadable(archive);
+	}
+
+	@Test
+	public void changedTimestampIsRepacked() throws IOException {
+		File archive = pack("test.jar");
+		archive.setLastModified(OLD_TIME);
+		File file = new File(source, "fish/payara/Test.class");
+		byte[] data = "changed content".getBytes(UTF_8);
+		Files.write(file.toPath(), data);
+		file.setLastModified(OLD_TIME + 7);
+		content.put("fish/payara/Test.class", data);
+		pack("test.jar");
+		assertNotEquals(OLD_TIME, archive.lastModified());
+		assertReadable(archive);
+	}
+
+	@Test
+	public void reusedEntriesAreReadable() throws IOException {
+		File archive = pack("test.jar");
+		write("added.txt", "added".getBytes(UTF_8));
+		pack("test.jar");
+		assertReadable(archive);
+	}
+
+	@Test
+	public void archiveIsDeterministic() throws IOException {
+		byte[] first = Files.readAllBytes(pack("first.jar").toPath());
+		byte[] second = Files.readAllBytes(pack("second.jar").toPath());
+		assertArrayEquals(first, second);
+	}
+
+}
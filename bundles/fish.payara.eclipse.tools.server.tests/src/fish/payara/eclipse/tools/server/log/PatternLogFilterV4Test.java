@@ -0,0 +1,227 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields;
+import fish.payara.eclipse.tools.server.log.AbstractLogFilter.ILogFormatter;
+
+/**
+ * Compares the single pass parser of {@link PatternLogFilterV4} with the regular expression it
+ * replaced.
+ */
+public class PatternLogFilterV4Test {
+
+    // Formatter of all record fields, so that every field is compared
+    private static final ILogFormatter ALL_FIELDS = record -> String.join("|",
+            record.getRecordFieldValues(GlassfishLogFields.values()));
+
+    /**
+     * Filter using the former regular expression. Malformed record is dropped once it ends like a
+     * complete one, as the parser does.
+     */
+    private static class RegexLogFilterV4 extends AbstractLogFilter {
+
+        private static final Pattern logPattern = Pattern.compile("^\\[([^\\]]*)\\]\\s+" + // date-time
+                "\\[([^\\]]*)\\]\\s+" + // server name
+                "\\[([^\\]]*)\\]\\s+" + // level name
+                "\\[([^\\]]*)\\]\\s+" + // version
+                "\\[([^\\]]*)\\]\\s+" + // class info
+                "\\[([^\\]]*)\\]\\s+" + // thread info
+                "\\[([^\\]]*)\\]\\s+" + // time millis
+                "\\[([^\\]]*)\\]\\s+" + // level value
+                "\\[{2}\\s*(.+)\\]{2}\\s$", Pattern.DOTALL); // log message
+
+        private static final Pattern endOfMessagePattern = Pattern.compile(".*\\]{2}\\s$", Pattern.DOTALL);
+
+        RegexLogFilterV4() {
+            formatter = ALL_FIELDS;
+        }
+
+        @Override
+        public String process(String line) {
+            String result = null;
+            if (line.equals(logRecordDelimeter)) {
+                Matcher m = logPattern.matcher(buffer);
+                if (m.matches()) {
+                    record.setTime(m.group(1));
+                    record.setLevel(levelResolver.resolve(m.group(3)));
+                    record.setVersion(m.group(2));
+                    record.setClassInfo(m.group(5));
+                    record.setThreadInfo(m.group(6));
+                    record.setMessage(m.group(9));
+                    result = formatter.formatLogRecord(record);
+                    reset();
+                } else if (!isReadingUserMessage()) {
+                    reset();
+                }
+            } else {
+                buffer.append(line);
+                buffer.append('\n');
+            }
+            return result;
+        }
+
+        @Override
+        protected boolean isReadingUserMessage() {
+            return !endOfMessagePattern.matcher(buffer).matches();
+        }
+
+    }
+
+    private static PatternLogFilterV4 createFilter() {
+        PatternLogFilterV4 filter = new PatternLogFilterV4();
+        filter.formatter = ALL_FIELDS;
+        return filter;
+    }
+
+    private static String record(String level, String message) {
+        return "[2023-05-02T10:15:30.123+0200] [Payara 5.2022.5] [" + level
+                + "] [] [fish.payara.Test] [tid: _ThreadID=42 _ThreadName=main] [timeMillis: 1683015330123] [levelValue: 800] [[\n  "
+                + message + "]]\n";
+    }
+
+    private static List<String> process(ILogFilter filter, List<String> lines) {
+        List<String> results = new ArrayList<>();
+        for (String line : lines) {
+            String result = filter.process(line);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static List<String> processChars(ILogFilter filter, List<String> lines) {
+        List<String> results = new ArrayList<>();
+        char[] chars = new char[1024];
+        for (String line : lines) {
+            // Line placed in the middle of a larger buffer like the log reader does
+            line.getChars(0, line.length(), chars, 7);
+            String result = filter.process(chars, 7, line.length());
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private static List<String> lines(String text) {
+        return Arrays.asList(text.split("\n", -1));
+    }
+
+    private static void assertSameAsRegex(List<String> lines) {
+        List<String> expected = process(new RegexLogFilterV4(), lines);
+        assertEquals(lines.toString(), expected, process(createFilter(), lines));
+        assertEquals(lines.toString(), expected, processChars(createFilter(), lines));
+    }
+
+    @Test
+    public void parsesRecord() {
+        PatternLogFilterV4 filter = createFilter();
+        List<String> results = process(filter, lines(record("WARNING", "Something happened") + "\n"));
+        assertEquals(Arrays.asList(
+                "2023-05-02T10:15:30.123+0200|WARNING|Payara 5.2022.5|fish.payara.Test|tid: _ThreadID=42 _ThreadName=main|Something happened"),
+                results);
+        assertTrue(filter.hasProcessedPayara());
+    }
+
+    @Test
+    public void sameAsRegexForRecords() {
+        String[] messages = {
+                "Simple message",
+                "Multi\n  line\n\tmessage",
+                "Message with [brackets] and ]] inside",
+                "Message ending with bracket]",
+                "   ",
+                " ",
+                "]",
+                "java.lang.IllegalStateException: failure\n\tat fish.payara.Test.run(Test.java:42)",
+        };
+        StringBuilder log = new StringBuilder();
+        for (String message : messages) {
+            log.append(record("INFO", message)).append('\n');
+        }
+        assertSameAsRegex(lines(log.toString()));
+    }
+
+    @Test
+    public void sameAsRegexForMessageWithEmptyLines() {
+        assertSameAsRegex(lines(record("SEVERE", "First part\n\nsecond part\n\n\nlast part") + "\n"));
+    }
+
+    @Test
+    public void sameAsRegexForTrailingWhitespace() {
+        assertSameAsRegex(lines(record("INFO", "Message").replace("]]\n", "]] \n") + "\n"));
+        assertSameAsRegex(lines(record("INFO", "Message").replace("]]\n", "]]\t\n") + "\n"));
+    }
+
+    @Test
+    public void sameAsRegexForMalformedRecords() {
+        String valid = record("INFO", "Valid");
+        String[] malformed = {
+                "[2023-05-02] [Payara] [INFO] [[\n  Too few fields]]\n",
+                valid.replace("] [fish", "][fish"),
+                valid.replace("[[", "["),
+                valid.replace("[[\n  Valid", "[[]"),
+                "Plain text printed to stdout]]\n",
+        };
+        for (String record : malformed) {
+            assertSameAsRegex(lines(record + "\n" + valid + "\n"));
+        }
+    }
+
+    @Test
+    public void validRecordAfterMalformedOneIsParsed() {
+        PatternLogFilterV4 filter = createFilter();
+        List<String> results = process(filter,
+                lines("[broken] record]]\n\n" + record("INFO", "Valid") + "\n"));
+        assertEquals(1, results.size());
+        assertTrue(results.get(0), results.get(0).endsWith("|Valid"));
+    }
+
+    @Test
+    public void incompleteRecordIsNotParsed() {
+        PatternLogFilterV4 filter = createFilter();
+        assertTrue(process(filter, lines(record("INFO", "Incomplete").replace("]]\n", "\n"))).isEmpty());
+        assertFalse(filter.hasProcessedPayara());
+    }
+
+    @Test
+    public void sameAsRegexForRandomInput() {
+        String[] tokens = { "[", "]", "[[", "]]", " ", "\t", "\n", "\n\n", "a", "INFO", "[x] ", "[[\n" };
+        Random random = new Random(4);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder log = new StringBuilder();
+            if (random.nextBoolean()) {
+                log.append(record("INFO", "m"));
+            }
+            int count = random.nextInt(40);
+            for (int j = 0; j < count; j++) {
+                log.append(tokens[random.nextInt(tokens.length)]);
+            }
+            log.append("\n\n").append(record("FINE", "last")).append('\n');
+            assertSameAsRegex(lines(log.toString()));
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests of administration commands ordering in a server lane.
+ * <p/>
+ * Runners do not contact any server, they record their execution order. Runners without server
+ * share single lane.
+ */
+public class AdminCommandSchedulerTest {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Runner recording its command instead of executing it.
+     */
+    private class RecordingRunner extends Runner {
+
+        private final CountDownLatch gate;
+
+        RecordingRunner(final String command, final CountDownLatch gate) {
+            super(null, new Command(command) {
+            }, null);
+            this.gate = gate;
+        }
+
+        @Override
+        public Result call() {
+            int running = active.incrementAndGet();
+            maxActive.accumulateAndGet(running, Math::max);
+            executed.add(getCommand().getCommand());
+            try {
+                if (gate != null) {
+                    gate.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            return null;
+        }
+
+        @Override
+        protected Result<ValueProcess> createResult() {
+            return null;
+        }
+
+        @Override
+        public boolean getDoOutput() {
+            return false;
+        }
+
+        @Override
+        public boolean acceptsGzip() {
+            return false;
+        }
+
+        @Override
+        protected String constructCommandUrl() {
+            return null;
+        }
+
+        @Override
+        protected String getRequestMethod() {
+            return null;
+        }
+
+        @Override
+        protected void handleSend(final HttpURLConnection hconn) {
+        }
+
+        @Override
+        protected boolean readResponse(final InputStream in, final HttpURLConnection hconn) {
+            return false;
+        }
+
+        @Override
+        protected boolean processResponse() {
+            return false;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Helper methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    private Future<Result> submit(final String command) {
+        return submit(command, null);
+    }
+
+    private Future<Result> submit(final String command, final CountDownLatch gate) {
+        return AdminCommandScheduler.getInstance().submit(new RecordingRunner(command, gate));
+    }
+
+    /**
+     * Submit command holding the lane until the returned latch is released.
+     */
+    private CountDownLatch block() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        submit("block", gate);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!executed.contains("block") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue("lane did not start", executed.contains("block"));
+        return gate;
+    }
+
+    private static void await(final List<Future<Result>> futures) throws Exception {
+        for (Future<Result> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Test methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void commandsOfServerRunOneByOneInOrder() throws Exception {
+        CountDownLatch gate = block();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (String command : asList("deploy", "enable", "set", "get", "undeploy")) {
+            futures.add(submit(command));
+        }
+        gate.countDown();
+        await(futures);
+        assertEquals(asList("block", "deploy", "enable", "set", "get", "undeploy"), executed);
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    public void probeBypassesWaitingCommands() throws Exception {
+        CountDownLatch gate = block();
+        List<Future<Result>> futures = new ArrayList<>();
+        futures.add(submit("deploy"));
+        futures.add(submit("undeploy"));
+        futures.add(submit("version"));
+        gate.countDown();
+        await(futures);
+        assertEquals(asList("block", "version", "deploy", "undeploy"), executed);
+    }
+
+    @Test
+    public void stateReadStaysAfterQueuedWrite() throws Exception {
+        CountDownLatch gate = block();
+        List<Future<Result>> futures = new ArrayList<>();
+        futures.add(submit("set"));
+        futures.add(submit("get"));
+        futures.add(submit("view-log"));
+        gate.countDown();
+        await(futures);
+        assertEquals(asList("block", "set", "get", "view-log"), executed);
+    }
+
+    @Test
+    public void probesDoNotStarveWaitingCommand() throws Exception {
+        CountDownLatch gate = block();
+        List<Future<Result>> futures = new ArrayList<>();
+        futures.add(submit("deploy"));
+        for (int i = 0; i < 20; i++) {
+            futures.add(submit("version"));
+        }
+        gate.countDown();
+        await(futures);
+        int position = executed.indexOf("deploy");
+        assertTrue("deploy waited for " + (position - 1) + " probes", position > 1 && position <= 9);
+        assertEquals(22, executed.size());
+    }
+
+}
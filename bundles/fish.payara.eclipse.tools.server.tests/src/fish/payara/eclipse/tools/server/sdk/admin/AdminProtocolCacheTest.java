@@ -0,0 +1,126 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+
+/**
+ * Tests of administration listener protocol detection cache.
+ * <p/>
+ * Protocol is detected against local plain HTTP listener counting probes it received.
+ */
+public class AdminProtocolCacheTest {
+
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private final AtomicInteger probes = new AtomicInteger();
+
+    private ServerSocket listener;
+
+    private Thread acceptor;
+
+    private long ttl;
+
+    @Before
+    public void setUp() throws IOException {
+        ttl = GlassFishToolsConfig.getAdminProtocolCacheTtl();
+        GlassFishToolsConfig.setAdminProtocolCacheTtl(60000);
+        AdminProtocolCache.clear();
+        listener = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::serve, "AdminProtocolCacheTest listener");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        listener.close();
+        acceptor.join(5000);
+        AdminProtocolCache.clear();
+        GlassFishToolsConfig.setAdminProtocolCacheTtl(ttl);
+    }
+
+    /**
+     * Answer every connection like plain HTTP listener does.
+     */
+    private void serve() {
+        while (!listener.isClosed()) {
+            try (Socket socket = listener.accept()) {
+                probes.incrementAndGet();
+                InputStream in = socket.getInputStream();
+                in.read(new byte[8192]);
+                OutputStream out = socket.getOutputStream();
+                out.write("HTTP/1.1 200 OK\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            } catch (IOException ioe) {
+                // Listener was closed or client went away
+            }
+        }
+    }
+
+    @Test
+    public void detectedProtocolIsReused() {
+        long hits = AdminProtocolCache.getHits();
+        long misses = AdminProtocolCache.getMisses();
+        int port = listener.getLocalPort();
+        assertEquals(AdminProtocolCache.HTTP, AdminProtocolCache.protocol(HOST, port, "test"));
+        assertEquals(AdminProtocolCache.HTTP, AdminProtocolCache.protocol(HOST, port, "test"));
+        assertEquals(AdminProtocolCache.HTTP, AdminProtocolCache.protocol(HOST, port, "test"));
+        assertEquals(1, probes.get());
+        assertEquals(misses + 1, AdminProtocolCache.getMisses());
+        assertEquals(hits + 2, AdminProtocolCache.getHits());
+    }
+
+    @Test
+    public void invalidatedProtocolIsDetectedAgain() {
+        int port = listener.getLocalPort();
+        AdminProtocolCache.protocol(HOST, port, "test");
+        AdminProtocolCache.invalidate(HOST, port);
+        AdminProtocolCache.protocol(HOST, port, "test");
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    public void zeroTimeToLiveDisablesCaching() {
+        GlassFishToolsConfig.setAdminProtocolCacheTtl(0);
+        int port = listener.getLocalPort();
+        AdminProtocolCache.protocol(HOST, port, "test");
+        AdminProtocolCache.protocol(HOST, port, "test");
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    public void failedDetectionIsNotCached() throws IOException {
+        int port;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = closed.getLocalPort();
+        }
+        long misses = AdminProtocolCache.getMisses();
+        assertEquals(AdminProtocolCache.HTTP, AdminProtocolCache.protocol(HOST, port, "test"));
+        assertEquals(AdminProtocolCache.HTTP, AdminProtocolCache.protocol(HOST, port, "test"));
+        assertEquals(misses + 2, AdminProtocolCache.getMisses());
+    }
+
+}
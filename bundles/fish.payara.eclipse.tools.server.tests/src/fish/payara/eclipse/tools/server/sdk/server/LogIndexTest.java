@@ -0,0 +1,284 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+
+/**
+ * Tests of {@link LogIndex} queries and reads of indexed records.
+ */
+public class LogIndexTest {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Temporary directory holding log and index directories. */
+    private File base;
+
+    /** Log index directory. */
+    private File indexDirectory;
+
+    /** Log file. */
+    private File logFile;
+
+    /** Log index directory set before the test. */
+    private File previousDirectory;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Set up and tear down //
+    ////////////////////////////////////////////////////////////////////////////
+
+    @Before
+    public void setUp() throws IOException {
+        base = Files.createTempDirectory("LogIndexTest").toFile();
+        indexDirectory = new File(base, "index");
+        logFile = new File(new File(base, "logs"), "server.log");
+        logFile.getParentFile().mkdirs();
+        previousDirectory = GlassFishToolsConfig.getLogIndexDirectory();
+        GlassFishToolsConfig.setLogIndexDirectory(indexDirectory);
+    }
+
+    @After
+    public void tearDown() {
+        GlassFishToolsConfig.setLogIndexDirectory(previousDirectory);
+        delete(base);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Helper methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get log record in ODL format.
+     * <p/>
+     *
+     * @param time Record time [ms].
+     * @param level Record level.
+     * @param logger Logger name.
+     * @param message Record message.
+     * @return Record followed by empty line.
+     */
+    private static String record(final long time, final Level level, final String logger,
+            final String message) {
+        return "[2023-05-02T10:15:30.123+0200] [Payara 5.2022.5] [" + level.getName() + "] [] ["
+                + logger + "] [tid: _ThreadID=42 _ThreadName=main] [timeMillis: " + time
+                + "] [levelValue: " + level.intValue() + "] [[\n  " + message + "]]\n\n";
+    }
+
+    /**
+     * Append log records with times from given time on, one per second, every third of them with
+     * <code>WARNING</code> level and every other one logged by <code>fish.payara.B</code>.
+     * <p/>
+     *
+     * @param from Time of the first record [ms].
+     * @param count Count of records.
+     * @param prefix Message prefix.
+     */
+    private void append(final long from, final int count, final String prefix) throws IOException {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            log.append(record(from + i * 1000L, i % 3 == 0 ? Level.WARNING : Level.INFO,
+                    i % 2 == 0 ? "fish.payara.A" : "fish.payara.B", prefix + i));
+        }
+        Files.write(logFile.toPath(), log.toString().getBytes(UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Rotate log file like the server does and start a new one.
+     * <p/>
+     *
+     * @return Rotated log file.
+     */
+    private File rotate() throws IOException {
+        File rotated = new File(logFile.getParentFile(), "server.log_2023-05-02T10-15-30");
+        Files.move(logFile.toPath(), rotated.toPath());
+        return rotated;
+    }
+
+    /**
+     * Read messages of all indexed records.
+     * <p/>
+     *
+     * @param index Log index.
+     * @param entries Indexed records.
+     * @return Record messages.
+     */
+    private static List<String> messages(final LogIndex index, final List<LogIndex.Entry> entries)
+            throws IOException {
+        List<String> messages = new ArrayList<>();
+        for (LogIndex.Entry entry : entries) {
+            String text = index.read(entry);
+            assertTrue(text, text.startsWith("[2023-05-02T10:15:30.123+0200]"));
+            messages.add(text.substring(text.indexOf("[[\n  ") + 5, text.lastIndexOf("]]")));
+        }
+        return messages;
+    }
+
+    /**
+     * Delete file or directory with its content.
+     * <p/>
+     *
+     * @param file File to be deleted.
+     */
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Test methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Query by time interval, level and logger.
+     */
+    @Test
+    public void queryMatchesTimeLevelAndLogger() throws IOException {
+        append(10000, 30, "record ");
+        LogIndex index = LogIndex.get(logFile);
+        assertEquals(30, index.query(0, Long.MAX_VALUE, null, null).size());
+        assertEquals(List.of("record 5", "record 6", "record 7"),
+                messages(index, index.query(15000, 17000, null, null)));
+        assertEquals(List.of("record 0", "record 6", "record 12", "record 18", "record 24"),
+                messages(index, index.query(0, Long.MAX_VALUE, Level.WARNING, "fish.payara.A")));
+        assertEquals(List.of("record 3", "record 9"),
+                messages(index, index.query(0, 10000 + 9000, Level.WARNING, "fish.payara.B")));
+        assertTrue(index.query(0, Long.MAX_VALUE, null, "fish.payara").isEmpty());
+    }
+
+    /**
+     * Records written slightly out of time order are found at both ends of queried interval.
+     */
+    @Test
+    public void queryFindsRecordsOutOfTimeOrder() throws IOException {
+        StringBuilder log = new StringBuilder();
+        for (long time : new long[] { 10000, 12000, 10400, 13000, 11000, 14000 }) {
+            log.append(record(time, Level.INFO, "fish.payara.A", "record " + time));
+        }
+        Files.write(logFile.toPath(), log.toString().getBytes(UTF_8));
+        LogIndex index = LogIndex.get(logFile);
+        assertEquals(List.of("record 10000", "record 10400"),
+                messages(index, index.query(0, 10500, null, null)));
+        assertEquals(List.of("record 11000"), messages(index, index.query(11000, 11000, null, null)));
+        assertEquals(List.of("record 12000", "record 13000", "record 14000"),
+                messages(index, index.query(11500, Long.MAX_VALUE, null, null)));
+    }
+
+    /**
+     * Records appended to the log are found by the next query.
+     */
+    @Test
+    public void queryFindsAppendedRecords() throws IOException {
+        append(10000, 5, "first ");
+        LogIndex index = LogIndex.get(logFile);
+        assertEquals(5, index.query(0, Long.MAX_VALUE, null, null).size());
+        append(20000, 5, "second ");
+        assertEquals(List.of("second 0", "second 1", "second 2", "second 3", "second 4"),
+                messages(index, index.query(20000, Long.MAX_VALUE, null, null)));
+        assertEquals(10, index.query(0, Long.MAX_VALUE, null, null).size());
+    }
+
+    /**
+     * Query after log rotation returns records of the new log file only.
+     */
+    @Test
+    public void queryAcrossRotation() throws IOException {
+        append(10000, 10, "old ");
+        LogIndex index = LogIndex.get(logFile);
+        assertEquals(10, index.query(0, Long.MAX_VALUE, null, null).size());
+        rotate();
+        append(30000, 3, "new ");
+        assertEquals(List.of("new 0", "new 1", "new 2"),
+                messages(index, index.query(0, Long.MAX_VALUE, null, null)));
+        assertEquals(List.of("new 0"),
+                messages(index, index.query(0, Long.MAX_VALUE, Level.WARNING, null)));
+    }
+
+    /**
+     * Record found before log rotation can not be read after it.
+     */
+    @Test
+    public void readAfterRotationFails() throws IOException {
+        append(10000, 10, "old ");
+        LogIndex index = LogIndex.get(logFile);
+        List<LogIndex.Entry> entries = index.query(0, Long.MAX_VALUE, null, null);
+        rotate();
+        append(30000, 20, "new ");
+        try {
+            index.read(entries.get(1));
+            fail("Record of rotated log file was read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(logFile.getName()));
+        }
+    }
+
+    /**
+     * Record found before log truncation can not be read after it.
+     */
+    @Test(expected = IOException.class)
+    public void readAfterTruncationFails() throws IOException {
+        append(10000, 10, "old ");
+        LogIndex index = LogIndex.get(logFile);
+        List<LogIndex.Entry> entries = index.query(0, Long.MAX_VALUE, null, null);
+        Files.write(logFile.toPath(), record(50000, Level.INFO, "fish.payara.A", "short")
+                .getBytes(UTF_8));
+        index.read(entries.get(9));
+    }
+
+    /**
+     * Index file is stored in log index directory, not next to the log file.
+     */
+    @Test
+    public void indexIsStoredInIndexDirectory() throws IOException {
+        append(10000, 3, "record ");
+        LogIndex.get(logFile).query(0, Long.MAX_VALUE, null, null);
+        String[] indexFiles = indexDirectory.list();
+        assertNotNull(indexFiles);
+        assertEquals(1, indexFiles.length);
+        assertTrue(indexFiles[0], indexFiles[0].startsWith("server.log-"));
+        assertEquals(List.of("server.log"), List.of(logFile.getParentFile().list()));
+    }
+
+    /**
+     * No index is provided without log index directory.
+     */
+    @Test
+    public void noIndexWithoutDirectory() {
+        GlassFishToolsConfig.setLogIndexDirectory(null);
+        assertNull(LogIndex.get(logFile));
+    }
+
+}
@@ -0,0 +1,226 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import fish.payara.eclipse.tools.server.sdk.LogOverflow;
+
+/**
+ * Tests of log data ordering and dropping in {@link LogRingBuffer}.
+ */
+public class LogRingBufferTest {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Buffer size, the minimal one. */
+    private static final int SIZE = 4096;
+
+    /** Count of lines written, many times more than fits into the buffer. */
+    private static final int LINES = 50000;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Helper methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get test log line.
+     * <p/>
+     *
+     * @param i Line number.
+     * @return Line with line separator.
+     */
+    private static String line(final int i) {
+        return "[INFO] log record " + i + '\n';
+    }
+
+    /**
+     * Start thread writing numbered lines into the buffer and closing it.
+     * <p/>
+     *
+     * @param buffer Ring buffer.
+     * @return Started writer thread.
+     */
+    private static Thread startWriter(final LogRingBuffer buffer) {
+        Thread writer = new Thread(() -> {
+            try (OutputStream out = buffer.getOutputStream()) {
+                for (int i = 0; i < LINES; i++) {
+                    out.write(line(i).getBytes(UTF_8));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+        return writer;
+    }
+
+    /**
+     * Read all data until the writer is closed, in small chunks.
+     * <p/>
+     *
+     * @param in Consumer side stream.
+     * @return Data read.
+     */
+    private static String readAll(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[100];
+        int len;
+        while ((len = in.read(b)) >= 0) {
+            out.write(b, 0, len);
+        }
+        return out.toString(UTF_8);
+    }
+
+    /**
+     * Check that data contain complete numbered lines in increasing order.
+     * <p/>
+     *
+     * @param data Data read.
+     * @return Count of lines.
+     */
+    private static int assertOrderedLines(final String data) {
+        assertTrue("data ends with line separator", data.isEmpty() || data.endsWith("\n"));
+        int last = -1;
+        int count = 0;
+        for (String line : data.split("\n")) {
+            int i = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+            assertEquals(line(i), line + '\n');
+            assertTrue("line " + i + " after " + last, i > last);
+            last = i;
+            count++;
+        }
+        assertEquals(LINES - 1, last);
+        return count;
+    }
+
+    /**
+     * Get count of bytes written by the writer thread.
+     * <p/>
+     *
+     * @return Count of bytes.
+     */
+    private static long total() {
+        long total = 0;
+        for (int i = 0; i < LINES; i++) {
+            total += line(i).length();
+        }
+        return total;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Test methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Writer waits for the reader and all lines are passed in order.
+     */
+    @Test
+    public void blockKeepsAllLinesInOrder() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.BLOCK);
+        Thread writer = startWriter(buffer);
+        String data = readAll(buffer.getInputStream());
+        writer.join();
+        assertEquals(LINES, assertOrderedLines(data));
+        assertEquals(0, buffer.getDropped());
+    }
+
+    /**
+     * Writer drops the oldest lines when nobody reads, newest lines are kept whole.
+     */
+    @Test
+    public void dropOldestKeepsNewestLines() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.DROP_OLDEST);
+        Thread writer = startWriter(buffer);
+        writer.join();
+        String data = readAll(buffer.getInputStream());
+        assertOrderedLines(data);
+        assertTrue("data fit into buffer", data.length() <= SIZE);
+        assertEquals(total(), buffer.getDropped() + data.length());
+    }
+
+    /**
+     * Writer drops whole lines when the reader is slower, remaining lines stay ordered.
+     */
+    @Test
+    public void dropOldestWithSlowReaderKeepsLinesWhole() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.DROP_OLDEST);
+        Thread writer = startWriter(buffer);
+        InputStream in = buffer.getInputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[37];
+        int len;
+        while ((len = in.read(b)) >= 0) {
+            out.write(b, 0, len);
+            if (out.size() % 50 == 0) {
+                Thread.yield();
+            }
+        }
+        writer.join();
+        String data = out.toString(UTF_8);
+        assertOrderedLines(data);
+        assertEquals(total(), buffer.getDropped() + data.length());
+    }
+
+    /**
+     * Line longer than the buffer is dropped completely.
+     */
+    @Test
+    public void tooLongLineIsDropped() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.DROP_OLDEST);
+        byte[] longLine = new byte[3 * SIZE];
+        Arrays.fill(longLine, (byte) 'x');
+        try (OutputStream out = buffer.getOutputStream()) {
+            out.write("first\n".getBytes(UTF_8));
+            out.write(longLine);
+            out.write("\nnext\n".getBytes(UTF_8));
+        }
+        assertEquals("next\n", readAll(buffer.getInputStream()));
+        assertEquals(6 + longLine.length + 1, buffer.getDropped());
+    }
+
+    /**
+     * Incomplete last line is passed to the reader once the writer is closed.
+     */
+    @Test
+    public void incompleteLineIsPassedOnClose() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.DROP_OLDEST);
+        OutputStream out = buffer.getOutputStream();
+        InputStream in = buffer.getInputStream();
+        out.write("complete\nincomplete".getBytes(UTF_8));
+        byte[] b = new byte[100];
+        assertEquals("complete\n", new String(b, 0, in.read(b), UTF_8));
+        out.close();
+        assertEquals("incomplete", readAll(in));
+    }
+
+    /**
+     * Writer fails when the reader was closed.
+     */
+    @Test(expected = IOException.class)
+    public void writeAfterReaderClosedFails() throws Exception {
+        LogRingBuffer buffer = new LogRingBuffer(SIZE, LogOverflow.BLOCK);
+        buffer.getInputStream().close();
+        buffer.getOutputStream().write('x');
+    }
+
+}
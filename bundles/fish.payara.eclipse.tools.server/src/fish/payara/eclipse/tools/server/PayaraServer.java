@@ -137,6 +137,7 @@ public final class PayaraServer extends ServerDelegate implements IURLProvider {
 	public static final String ATTR_KEEPSESSIONS = "glassfish.keepSessions"; //$NON-NLS-1$
 	public static final String ATTR_JARDEPLOY = "glassfish.jarDeploy"; //$NON-NLS-1$
 	public static final String ATTR_HOTDEPLOY = "glassfish.hotDeploy"; //$NON-NLS-1$
+	public static final String ATTR_STAGED_PUBLISH = "glassfish.stagedPublish"; //$NON-NLS-1$
 	public static final String ATTR_USEANONYMOUSCONNECTIONS = "glassfish.useAnonymousConnection"; //$NON-NLS-1$
 	public static final String ATTR_RESTART_PATTERN = "glassfish.restartPattern"; //$NON-NLS-1$
 	public static final String ATTR_ATTACH_DEBUGGER_EARLY = "glassfish.attachDebuggerEarly"; //$NON-NLS-1$
@@ -666,6 +667,17 @@ public final class PayaraServer extends ServerDelegate implements IURLProvider {
 		setAttribute(ATTR_HOTDEPLOY, value);
 	}
 
+	/*
+	 * Assemble exploded applications in a staging directory and swap it in before redeploy
+	 */
+	public boolean getStagedPublish() {
+		return getAttribute(ATTR_STAGED_PUBLISH, false);
+	}
+
+	public void setStagedPublish(boolean value) {
+		setAttribute(ATTR_STAGED_PUBLISH, value);
+	}
+
 	public boolean getAttachDebuggerEarly() {
 		return getAttribute(ATTR_ATTACH_DEBUGGER_EARLY, false);
 	}
@@ -19,6 +19,7 @@
 package fish.payara.eclipse.tools.server;
 
 import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.ENABLE_LOG;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.LOG_INDEX;
 import static java.lang.Runtime.getRuntime;
 import static java.nio.charset.Charset.defaultCharset;
 import static org.eclipse.core.runtime.IStatus.ERROR;
@@ -41,6 +42,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
+import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
@@ -50,8 +52,13 @@ import org.eclipse.wst.server.core.internal.ResourceManager;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 
+import fish.payara.eclipse.tools.server.archives.ArchivePool;
 import fish.payara.eclipse.tools.server.events.RuntimeLifecycleListener;
 import fish.payara.eclipse.tools.server.events.ServerLifecycleListener;
+import fish.payara.eclipse.tools.server.internal.ServerStatusMonitor;
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatus;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.admin.AdminConnectionPool;
 
 /**
  * Payara Tools Server Plugin. This is used as the OSGi bundle activator, as well as the central
@@ -78,6 +85,12 @@ public class PayaraServerPlugin extends AbstractUIPlugin {
     private static PayaraServerPlugin singleton;
     private static HashSet<String[]> commandsToExecuteAtExit = new HashSet<>();
 
+    private final IPropertyChangeListener preferenceListener = event -> {
+        if (LOG_INDEX.equals(event.getProperty())) {
+            GlassFishToolsConfig.setLogIndex(getPreferenceStore().getBoolean(LOG_INDEX));
+        }
+    };
+
     public PayaraServerPlugin() {
         singleton = this;
     }
@@ -86,6 +99,11 @@ public class PayaraServerPlugin extends AbstractUIPlugin {
     public void start(BundleContext context) throws Exception {
         super.start(context);
 
+        GlassFishStatus.setEngine(ServerStatusMonitor.ENGINE);
+        ArchivePool.start();
+        GlassFishToolsConfig.setLogIndexDirectory(getStateLocation().append("logIndex").toFile());
+        GlassFishToolsConfig.setLogIndex(getPreferenceStore().getBoolean(LOG_INDEX));
+        getPreferenceStore().addPropertyChangeListener(preferenceListener);
         addRuntimeLifecycleListener(new RuntimeLifecycleListener());
         ResourceManager.getInstance().addServerLifecycleListener(new ServerLifecycleListener());
     }
@@ -162,6 +180,9 @@ public class PayaraServerPlugin extends AbstractUIPlugin {
             }
         }
 
+        getPreferenceStore().removePropertyChangeListener(preferenceListener);
+        ArchivePool.shutdown();
+        AdminConnectionPool.clear();
         super.stop(v);
     }
 
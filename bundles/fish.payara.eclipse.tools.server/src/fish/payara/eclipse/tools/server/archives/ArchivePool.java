@@ -0,0 +1,59 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bounded pool assembling and packing modules in parallel.
+ *
+ * <p>
+ * The pool is started and shut down with the plugin. Child module assembly and archive packing share
+ * it, archive packing started from a pool thread forks its entries into the same pool and joins them,
+ * so pool threads help with the work instead of blocking on another pool.
+ * </p>
+ */
+public final class ArchivePool {
+
+	private static final int MAX_THREADS = 8;
+
+	private static ForkJoinPool pool;
+
+	private ArchivePool() {
+	}
+
+	/**
+	 * Starts the pool, called when the plugin is started.
+	 */
+	public static synchronized void start() {
+		if (pool == null) {
+			pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS));
+		}
+	}
+
+	/**
+	 * Shuts the pool down, called when the plugin is stopped. Running tasks are finished.
+	 */
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Returns the pool, starting it when it is used outside of the running plugin.
+	 */
+	static synchronized ForkJoinPool get() {
+		start();
+		return pool;
+	}
+
+}
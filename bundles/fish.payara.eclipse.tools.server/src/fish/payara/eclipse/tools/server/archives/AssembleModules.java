@@ -30,8 +30,13 @@ import static org.eclipse.wst.server.core.IServer.PUBLISH_STATE_NONE;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
@@ -42,6 +47,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jst.server.core.IEnterpriseApplication;
 import org.eclipse.jst.server.core.IJ2EEModule;
 import org.eclipse.jst.server.core.IWebModule;
@@ -67,20 +73,65 @@ import fish.payara.eclipse.tools.server.deploying.PayaraServerBehaviour;
 @SuppressWarnings("restriction")
 public class AssembleModules {
 
+	/*
+	 * Assembly of one child module, running with a cancel-only monitor.
+	 */
+	private static class ChildTask {
+		final boolean exclusive;
+		final ChildAssembly assembly;
+
+		ChildTask(boolean exclusive, ChildAssembly assembly) {
+			this.exclusive = exclusive;
+			this.assembly = assembly;
+		}
+
+		ChildResult run(IProgressMonitor monitor) throws CoreException {
+			return monitor.isCanceled() ? null : assembly.assemble(monitor);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ChildAssembly {
+		ChildResult assemble(IProgressMonitor monitor) throws CoreException;
+	}
+
+	private static class ChildResult {
+		final AssembleModules assembler;
+		final String uri;
+		final IStatus[] status;
+
+		ChildResult(IStatus[] status) {
+			this(null, null, status);
+		}
+
+		ChildResult(AssembleModules assembler, String uri, IStatus[] status) {
+			this.assembler = assembler;
+			this.uri = uri;
+			this.status = status;
+		}
+	}
+
 	protected IModule[] modulePath; // Full path of the module. We need the path to get publish state and query
 									// resource delta, etc
 	protected IModule module; // Module to be assembled
 	protected IPath assembleRoot;
-	protected PublishHelper publishHelper;
+	protected File tempDirectory;
+	protected PublishHelper publishHelper; // Used by this assembler only, PublishHelper is not known to be thread safe
 	protected PayaraServer server;
 	protected boolean childNeedsARedeployment;
+	protected List<File> childModifiedSourceFiles = new ArrayList<>(); // Changed files of assembled child modules,
+																		// relative to this module
+	protected Set<String> changedPaths; // Files whose content really changed, null when content index is not used
+	protected Set<String> writtenPaths = new HashSet<>(); // Paths written or deleted under the assemble root, null
+															// when not known
 
-	public AssembleModules(IModule[] modulePath, IPath assembleRoot, PayaraServer server, PublishHelper helper) {
+	public AssembleModules(IModule[] modulePath, IPath assembleRoot, PayaraServer server, File tempDirectory) {
 		this.modulePath = modulePath;
 		this.module = modulePath[modulePath.length - 1]; // last segment of the module path
 		this.assembleRoot = assembleRoot;
 		this.server = server;
-		this.publishHelper = helper;
+		this.tempDirectory = tempDirectory;
+		this.publishHelper = new PublishHelper(tempDirectory);
 
 		logMessage("AssembleModules assembleRoot=" + assembleRoot);
 	}
@@ -105,10 +156,12 @@ public class AssembleModules {
 				ProjectModule pm = (ProjectModule) childModule.loadAdapter(ProjectModule.class, null);
 				IModuleResource[] resources = pm.members();
 				publishHelper.publishToPath(resources, parent.append(uri), monitor);
+				written(parent.append(uri));
 			} else { // Project module
 				String version = PayaraServerBehaviour.getVersion(server);
 				if (version.indexOf(" 3.1") == -1) {
 					packModule(childModule, uri, parent);
+					written(parent.append(uri));
 				} else {
 
 					if (shouldRepack(childModule)) {
@@ -118,9 +171,9 @@ public class AssembleModules {
 						childModulePath[childModulePath.length - 1] = childModule;
 
 						AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri),
-								server, publishHelper);
-						childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
+								server, tempDirectory);
 						assembler.copyModule(childModule, monitor);
+						addChildChanges(assembler, uri);
 					}
 				}
 			}
@@ -137,10 +190,26 @@ public class AssembleModules {
 		String dest = destination.append(deploymentUnitName).toString();
 		logMessage("AssembleModules dest=" + dest);
 
+		IModuleResource[] members = load(module, ProjectModule.class).members();
+		try {
+			JarPacker packer = new JarPacker(new File(dest));
+			boolean packable = true;
+			for (IModuleResource resource : members) {
+				packable &= addToPacker(resource, packer);
+			}
+			if (packable && packer.pack()) {
+				return;
+			}
+		} catch (IOException e) {
+			throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "unable to assemble module", e));
+		}
+
 		ModulePackager packager = null;
 		try {
+			// Never write trough an existing file, it can be hard linked to the live one while staging
+			Files.deleteIfExists(new File(dest).toPath());
 			packager = new ModulePackager(dest, false);
-			for (IModuleResource resource : load(module, ProjectModule.class).members()) {
+			for (IModuleResource resource : members) {
 				logMessage("AssembleModules resources=" + resource);
 
 				doPackModule(resource, packager);
@@ -155,6 +224,38 @@ public class AssembleModules {
 		}
 	}
 
+	/*
+	 * Returns false when the resource is not backed by a local file and the module has to be packed by
+	 * ModulePackager.
+	 */
+	private boolean addToPacker(IModuleResource resource, JarPacker packer) {
+		String name = resource.getModuleRelativePath().append(resource.getName()).toPortableString();
+		if (resource instanceof IModuleFolder) {
+			packer.addFolder(name);
+			boolean packable = true;
+			IModuleResource[] resources = ((IModuleFolder) resource).members();
+			for (int i = 0; resources != null && i < resources.length; i++) {
+				packable &= addToPacker(resources[i], packer);
+			}
+
+			return packable;
+		}
+
+		File source = null;
+		IFile file = resource.getAdapter(IFile.class);
+		if (file != null && file.getLocation() != null) {
+			source = file.getLocation().toFile();
+		} else if (file == null) {
+			source = resource.getAdapter(File.class);
+		}
+		if (source == null || !source.isFile()) {
+			return false;
+		}
+		packer.addFile(name, source);
+
+		return true;
+	}
+
 	private void doPackModule(IModuleResource resource, ModulePackager packager) throws CoreException, IOException {
 		if (resource instanceof IModuleFolder) {
 			IModuleFolder mFolder = (IModuleFolder) resource;
@@ -187,6 +288,12 @@ public class AssembleModules {
 	}
 
 	protected IPath copyModule(IModule module, IProgressMonitor monitor) throws CoreException {
+		logStatus(publishModule(module, monitor));
+
+		return assembleRoot;
+	}
+
+	private IStatus[] publishModule(IModule module, IProgressMonitor monitor) throws CoreException {
 		ProjectModule pm = (ProjectModule) module.loadAdapter(ProjectModule.class, monitor);
 
 		IPath[] jarPaths = null;
@@ -204,16 +311,7 @@ public class AssembleModules {
 			}
 
 		}
-		IStatus[] status = publishHelper.publishSmart(pm.members(), assembleRoot, jarPaths, monitor);
-		if (status != null && status.length > 0) {
-			// no need to emit an error like CoreException(status[0]); just log in the entry
-			// see https://glassfishplugins.dev.java.net/issues/show_bug.cgi?id=268
-			for (IStatus statu : status) {
-				PayaraServerPlugin.logMessage("warning copying module: " + statu.getMessage());
-			}
-		}
-
-		return assembleRoot;
+		return publish(pm.members(), jarPaths, monitor);
 	}
 
 	protected IPath copyEarModule(IModule module, IProgressMonitor monitor) throws CoreException {
@@ -249,7 +347,12 @@ public class AssembleModules {
 		}
 		IPath[] pathArr = new IPath[ignorePaths.size()];
 		pathArr = ignorePaths.toArray(pathArr);
-		IStatus[] status = publishHelper.publishSmart(pm.members(), assembleRoot, pathArr, monitor);
+		logStatus(publish(pm.members(), pathArr, monitor));
+
+		return assembleRoot;
+	}
+
+	private static void logStatus(IStatus[] status) {
 		if (status != null && status.length > 0) {
 			// no need to emit an error like CoreException(status[0]); just log in the entry
 			// see https://glassfishplugins.dev.java.net/issues/show_bug.cgi?id=268
@@ -257,8 +360,26 @@ public class AssembleModules {
 				PayaraServerPlugin.logMessage("warning copying module: " + statu.getMessage());
 			}
 		}
+	}
 
-		return assembleRoot;
+	/*
+	 * Copies module resources to the assemble root. When the content hash index can
+	 * be kept next to eclipseApps, only files whose bytes changed are copied and
+	 * recorded as changed.
+	 */
+	protected IStatus[] publish(IModuleResource[] resources, IPath[] ignore, IProgressMonitor monitor) {
+		ContentHashPublisher publisher = ContentHashPublisher.forRoot(assembleRoot);
+		if (publisher == null) {
+			writtenPaths = null;
+			return publishHelper.publishSmart(resources, assembleRoot, ignore, monitor);
+		}
+
+		IStatus[] status = publisher.publish(resources, ignore, monitor);
+		changedPaths = publisher.getChangedPaths();
+		if (writtenPaths != null) {
+			writtenPaths.addAll(changedPaths);
+		}
+		return status;
 	}
 
 	/*
@@ -282,6 +403,7 @@ public class AssembleModules {
 				monitor);
 
 		IModule[] childModules = earModule.getModules();
+		List<ChildTask> tasks = new ArrayList<>(childModules.length);
 		for (IModule module : childModules) {
 			String uri = earModule.getURI(module);
 			if (uri == null) {
@@ -289,16 +411,31 @@ public class AssembleModules {
 			}
 			IJ2EEModule jeeModule = (IJ2EEModule) module.loadAdapter(IJ2EEModule.class, monitor);
 			if (jeeModule != null && jeeModule.isBinary()) {// Binary module just copy
-				ProjectModule pm = (ProjectModule) module.loadAdapter(ProjectModule.class, null);
-				IModuleResource[] resources = pm.members();
-				publishHelper.publishToPath(resources, parent.append(uri), monitor);
+				written(parent.append(uri));
+				tasks.add(new ChildTask(false, childMonitor -> {
+					ProjectModule pm = (ProjectModule) module.loadAdapter(ProjectModule.class, null);
+					IModuleResource[] resources = pm.members();
+					return new ChildResult(new PublishHelper(tempDirectory).publishToPath(resources, parent.append(uri),
+							childMonitor));
+				}));
 
 				continue;// done! no need to go further
 			}
 			if (shouldRepack(module)) {
-				packModuleEARModule(module, uri, parent);
+				// Web modules are assembled in the shared assemble root, keep them on the calling thread
+				boolean web = module.getModuleType().getId().equals("jst.web");//$NON-NLS-1$
+				if (web) {
+					writtenPaths = null;
+				} else {
+					written(parent.append(uri));
+				}
+				tasks.add(new ChildTask(web, childMonitor -> {
+					packModuleEARModule(module, uri, parent);
+					return null;
+				}));
 			}
 		}
+		assembleChildren(tasks, monitor);
 
 		return parent;
 
@@ -337,9 +474,15 @@ public class AssembleModules {
 				Pattern.compile(_server.getAttribute(ATTR_RESTART_PATTERN, DEFAULT_RESTART_PATTERN)));
 	}
 
+	/*
+	 * Returns the files changed, added or removed since the last publish, relative
+	 * to this module root. Changes of child modules assembled by this instance are
+	 * included under the directory of the child module, so a hot deploy of an EAR
+	 * reloads only the affected child modules.
+	 */
 	public List<File> getModifiedSourceFiles() {
 
-		List<File> files = new ArrayList<>();
+		List<File> files = new ArrayList<>(childModifiedSourceFiles);
 		Server _server = (Server) server.getServer();
 
 		IModuleResourceDelta[] deltas = _server.getPublishedResourceDelta(modulePath);
@@ -362,7 +505,8 @@ public class AssembleModules {
 
 		for (IModuleResourceDelta delta : deltas) {
 			IModuleResource resource = delta.getModuleResource();
-			if (restartPattern.matcher(resource.getName()).find()) {
+			if (!(resource instanceof IModuleFolder) && delta.getKind() != IModuleResourceDelta.NO_CHANGE
+					&& isContentChanged(resource) && restartPattern.matcher(resource.getName()).find()) {
 				File parent = resource.getModuleRelativePath().toFile();
 				files.add(new File(parent, resource.getName()));
 				continue;
@@ -374,6 +518,126 @@ public class AssembleModules {
 		return files;
 	}
 
+	/*
+	 * Assembles child modules in parallel on the shared bounded pool. Every task
+	 * publishes through its own assembler and PublishHelper. Results are merged in
+	 * child module order, so logged statuses and recorded changes do not depend on
+	 * which child finished first. Exclusive tasks run one after another
+	 * on the calling thread once the parallel ones are done. Children not started
+	 * yet are skipped when the monitor is canceled.
+	 */
+	private void assembleChildren(List<ChildTask> tasks, IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, tasks.size());
+		IProgressMonitor childMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+		};
+
+		List<ForkJoinTask<ChildResult>> futures = new ArrayList<>(tasks.size());
+		for (ChildTask task : tasks) {
+			futures.add(task.exclusive ? null : ArchivePool.get().submit(() -> task.run(childMonitor)));
+		}
+
+		CoreException failure = null;
+		ChildResult[] results = new ChildResult[tasks.size()];
+		for (int i = 0; i < tasks.size(); i++) {
+			try {
+				if (futures.get(i) != null) {
+					results[i] = futures.get(i).get();
+					progress.worked(1);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure = failure != null ? failure
+						: new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "module assembly interrupted", e));
+			} catch (ExecutionException e) {
+				failure = failure != null ? failure : toCoreException(e.getCause());
+			}
+		}
+
+		for (int i = 0; i < tasks.size() && failure == null; i++) {
+			if (futures.get(i) == null) {
+				results[i] = tasks.get(i).run(childMonitor);
+				progress.worked(1);
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		for (ChildResult result : results) {
+			if (result != null) {
+				logStatus(result.status);
+				if (result.assembler != null) {
+					addChildChanges(result.assembler, result.uri);
+				}
+			}
+		}
+	}
+
+	private static CoreException toCoreException(Throwable cause) {
+		if (cause instanceof CoreException) {
+			return (CoreException) cause;
+		}
+
+		return new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "unable to assemble module", cause));
+	}
+
+	/*
+	 * Returns false when the content hash index shows the resource bytes are the
+	 * same as last published, e.g. a class file recompiled by a clean build.
+	 */
+	private boolean isContentChanged(IModuleResource resource) {
+		return changedPaths == null
+				|| changedPaths.contains(resource.getModuleRelativePath().append(resource.getName()).toPortableString());
+	}
+
+	/*
+	 * Records redeployment need and changed files of an assembled child module
+	 * published to the uri directory of this module.
+	 */
+	private void addChildChanges(AssembleModules assembler, String uri) {
+		childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
+		for (File file : assembler.getModifiedSourceFiles()) {
+			childModifiedSourceFiles.add(new File(uri, file.getPath()));
+		}
+		if (assembler.writtenPaths == null) {
+			writtenPaths = null;
+		} else {
+			for (String path : assembler.writtenPaths) {
+				written(assembler.assembleRoot.append(path));
+			}
+		}
+	}
+
+	/*
+	 * Records a file or directory written or deleted under the assemble root, to be
+	 * called on the assembling thread only.
+	 */
+	private void written(IPath path) {
+		if (writtenPaths == null) {
+			return;
+		}
+
+		if (assembleRoot.isPrefixOf(path)) {
+			writtenPaths.add(path.makeRelativeTo(assembleRoot).toPortableString());
+		} else {
+			writtenPaths = null;
+		}
+	}
+
+	/*
+	 * Returns portable paths relative to the assemble root of files and directories
+	 * written or deleted by this assembly, or null when they are not known, e.g. when
+	 * the content hash index could not be used.
+	 */
+	public Set<String> getWrittenPaths() {
+		return writtenPaths;
+	}
+
 	/*
 	 * return true is a module resource change requires a redeploy command for
 	 * example, web.xml or a .class file change needs a redeploy. a jsp or html
@@ -385,7 +649,9 @@ public class AssembleModules {
 		}
 
 		for (IModuleResourceDelta delta : deltas) {
-			if (restartPattern.matcher(delta.getModuleResource().getName()).find()) {
+			IModuleResource resource = delta.getModuleResource();
+			if (restartPattern.matcher(resource.getName()).find()
+					&& (changedPaths == null || !(resource instanceof IModuleFolder) && isContentChanged(resource))) {
 				return true;
 			}
 
@@ -408,13 +674,20 @@ public class AssembleModules {
 		logMessage("AssembleModules destination=" + destination);
 		if (module.getModuleType().getId().equals("jst.web")) {//$NON-NLS-1$
 
-			AssembleModules assembler = new AssembleModules(modulePath, assembleRoot, server, publishHelper);
+			AssembleModules assembler = new AssembleModules(modulePath, assembleRoot, server, tempDirectory);
 			IPath webAppPath = assembler.assembleWebModule(new NullProgressMonitor());
 			String realDestination = destination.append(deploymentUnitName).toString();
 			logMessage("AssembleModules realDestination=" + realDestination);
 
 			ModulePackager packager = null;
 			try {
+				JarPacker packer = new JarPacker(new File(realDestination));
+				packer.addDirectory(webAppPath.toFile());
+				if (packer.pack()) {
+					return;
+				}
+
+				Files.deleteIfExists(new File(realDestination).toPath());
 				packager = new ModulePackager(realDestination, false);
 				packager.pack(webAppPath.toFile(), webAppPath.toOSString());
 
@@ -447,6 +720,7 @@ public class AssembleModules {
 				monitor);
 		IModule[] childModules = earModule.getModules();
 		logMessage("assembleDirDeployedEARModule childModules.length=" + childModules.length);
+		List<ChildTask> tasks = new ArrayList<>(childModules.length);
 		for (IModule childModule2 : childModules) {
 
 			IModule childModule = childModule2;
@@ -457,8 +731,11 @@ public class AssembleModules {
 
 			IJ2EEModule jeeModule = (IJ2EEModule) childModule.loadAdapter(IJ2EEModule.class, monitor);
 			if (jeeModule != null && jeeModule.isBinary()) {// Binary module just copy
-				publishHelper.publishToPath(load(childModule, ProjectModule.class).members(), parent.append(uri),
-						monitor);
+				String binaryUri = uri;
+				written(parent.append(binaryUri));
+				tasks.add(new ChildTask(false, childMonitor -> new ChildResult(new PublishHelper(tempDirectory)
+						.publishToPath(load(childModule, ProjectModule.class).members(), parent.append(binaryUri),
+								childMonitor))));
 
 				continue; // Done! no need to go further
 			}
@@ -479,20 +756,22 @@ public class AssembleModules {
 				arraycopy(modulePath, 0, childModulePath, 0, modulePath.length);
 				childModulePath[childModulePath.length - 1] = childModule;
 
+				AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
+						tempDirectory);
+				String childUri = uri;
 				if (childModule.getModuleType().getId().equals("jst.web")) {//$NON-NLS-1$
-					AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
-							publishHelper);
-					childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
-					assembler.assembleWebModule(new NullProgressMonitor());
+					tasks.add(new ChildTask(false, childMonitor -> {
+						assembler.assembleWebModule(childMonitor);
+						return new ChildResult(assembler, childUri, null);
+					}));
 				} else {
-					AssembleModules assembler = new AssembleModules(childModulePath, assembleRoot.append(uri), server,
-							publishHelper);
-					childNeedsARedeployment = (childNeedsARedeployment || assembler.needsARedeployment());
-					assembler.copyModule(childModule, monitor);
+					tasks.add(new ChildTask(false, childMonitor -> new ChildResult(assembler, childUri,
+							assembler.publishModule(childModule, childMonitor))));
 				}
 
 			}
 		}
+		assembleChildren(tasks, monitor);
 
 		return parent;
 
@@ -0,0 +1,328 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.SYMBOLIC_NAME;
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logMessage;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.eclipse.core.runtime.IStatus.WARNING;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.wst.server.core.model.IModuleFile;
+import org.eclipse.wst.server.core.model.IModuleFolder;
+import org.eclipse.wst.server.core.model.IModuleResource;
+
+/**
+ * Copies module resources into the exploded application directory, skipping files whose content
+ * did not change since the last publish.
+ *
+ * <p>
+ * Size, timestamp and SHA-1 hash of every published file are kept in an index stored under
+ * <code>eclipseAppsIndex</code>, next to <code>eclipseApps</code>. A file with unchanged size and
+ * timestamp is skipped right away, a file with a new timestamp is hashed and copied only when its
+ * content differs. After a clean build nothing is copied and {@link #getChangedPaths()} stays empty,
+ * so no redeployment is needed. Like <code>PublishHelper.publishSmart</code>, files not present in
+ * the module anymore are deleted, except for the ignored paths of child modules.
+ * </p>
+ */
+public class ContentHashPublisher {
+
+	private static final String APPS_DIR = "eclipseApps";
+	private static final String STAGE_DIR = "eclipseAppsStage";
+	private static final String INDEX_DIR = "eclipseAppsIndex";
+	private static final String INDEX_FILE = "content.index";
+
+	private final IPath root;
+	private final File indexFile;
+	private final Properties index = new Properties();
+	private final Properties newIndex = new Properties();
+	private final Set<String> published = new HashSet<>();
+	private final Set<String> changed = new HashSet<>();
+	private final List<IStatus> status = new ArrayList<>();
+	private final MessageDigest digest;
+	private final byte[] buffer = new byte[64 * 1024];
+
+	/**
+	 * Returns publisher for given exploded module directory, or <code>null</code> when the directory
+	 * is not inside <code>eclipseApps</code> and content index can't be placed next to it. Staging
+	 * directories in <code>eclipseAppsStage</code> share the index of their live directory.
+	 */
+	public static ContentHashPublisher forRoot(IPath root) {
+		File indexDir = getIndexDir(root);
+		if (indexDir == null) {
+			return null;
+		}
+
+		try {
+			return new ContentHashPublisher(root, new File(indexDir, INDEX_FILE));
+		} catch (NoSuchAlgorithmException e) {
+			logMessage("content hash index not available: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes content index of given exploded module directory and of all its child modules.
+	 */
+	public static void deleteIndex(IPath root) {
+		File indexDir = getIndexDir(root);
+		if (indexDir != null) {
+			delete(indexDir);
+		}
+	}
+
+	private static File getIndexDir(IPath root) {
+		String[] segments = root.segments();
+		for (int i = segments.length - 1; i >= 0; i--) {
+			if (APPS_DIR.equals(segments[i]) || STAGE_DIR.equals(segments[i])) {
+				IPath indexPath = root.uptoSegment(i).append(INDEX_DIR);
+				return indexPath.append(root.removeFirstSegments(i + 1)).toFile();
+			}
+		}
+
+		return null;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private ContentHashPublisher(IPath root, File indexFile) throws NoSuchAlgorithmException {
+		this.root = root;
+		this.indexFile = indexFile;
+		this.digest = MessageDigest.getInstance("SHA-1");
+	}
+
+	/**
+	 * Publishes module resources into the module directory.
+	 *
+	 * @param resources module resources
+	 * @param ignore    paths relative to module directory which are never deleted, may be
+	 *                  <code>null</code>
+	 * @param monitor   progress monitor
+	 * @return problems found while publishing, empty when all went fine
+	 */
+	public IStatus[] publish(IModuleResource[] resources, IPath[] ignore, IProgressMonitor monitor) {
+		File rootDir = root.toFile();
+		if (rootDir.isDirectory() && indexFile.isFile()) {
+			try (FileInputStream in = new FileInputStream(indexFile)) {
+				index.load(in);
+			} catch (IOException e) {
+				logMessage("cannot read content index " + indexFile + ": " + e.getMessage());
+			}
+		}
+
+		rootDir.mkdirs();
+		publish(resources, rootDir, monitor);
+		if (monitor.isCanceled()) {
+			// Keep the previous index, files not checked yet are compared against it next time
+			return status.toArray(new IStatus[status.size()]);
+		}
+
+		Set<String> ignored = new HashSet<>();
+		if (ignore != null) {
+			for (IPath path : ignore) {
+				ignored.add(path.toPortableString());
+			}
+		}
+		deleteRemoved(rootDir, "", ignored);
+
+		indexFile.getParentFile().mkdirs();
+		try (FileOutputStream out = new FileOutputStream(indexFile)) {
+			newIndex.store(out, null);
+		} catch (IOException e) {
+			logMessage("cannot write content index " + indexFile + ": " + e.getMessage());
+		}
+
+		logMessage("ContentHashPublisher " + root + " published=" + published.size() + " changed=" + changed.size());
+
+		return status.toArray(new IStatus[status.size()]);
+	}
+
+	/**
+	 * Returns module relative portable paths of files copied or deleted by the last
+	 * {@link #publish(IModuleResource[], IPath[], IProgressMonitor)} call.
+	 */
+	public Set<String> getChangedPaths() {
+		return changed;
+	}
+
+	private void publish(IModuleResource[] resources, File dir, IProgressMonitor monitor) {
+		if (resources == null) {
+			return;
+		}
+
+		for (IModuleResource resource : resources) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+
+			String key = resource.getModuleRelativePath().append(resource.getName()).toPortableString();
+			File target = new File(dir, resource.getName());
+			published.add(key);
+			if (resource instanceof IModuleFolder) {
+				if (!target.isDirectory()) {
+					if (target.exists()) {
+						delete(target);
+					}
+					target.mkdirs();
+				}
+				publish(((IModuleFolder) resource).members(), target, monitor);
+			} else if (resource instanceof IModuleFile) {
+				publishFile((IModuleFile) resource, key, target);
+			}
+		}
+	}
+
+	private void publishFile(IModuleFile resource, String key, File target) {
+		File source = getSourceFile(resource);
+		if (source == null || !source.isFile()) {
+			status.add(new Status(WARNING, SYMBOLIC_NAME, 0, "cannot resolve file of " + key, null));
+			return;
+		}
+
+		long size = source.length();
+		long stamp = source.lastModified();
+		String entry = index.getProperty(key);
+		try {
+			if (entry != null && target.isFile() && target.length() == size) {
+				String[] values = entry.split(",", 3);
+				if (values.length == 3 && Long.parseLong(values[0]) == size) {
+					if (Long.parseLong(values[1]) == stamp) {
+						newIndex.setProperty(key, entry);
+						return;
+					}
+					String hash = hash(source);
+					if (hash.equals(values[2])) {
+						newIndex.setProperty(key, size + "," + stamp + "," + hash);
+						return;
+					}
+				}
+			}
+
+			newIndex.setProperty(key, size + "," + stamp + "," + copy(source, target));
+			changed.add(key);
+		} catch (IOException | NumberFormatException e) {
+			status.add(new Status(WARNING, SYMBOLIC_NAME, 0, "cannot publish " + key, e));
+			changed.add(key);
+		}
+	}
+
+	private void deleteRemoved(File dir, String prefix, Set<String> ignored) {
+		File[] children = dir.listFiles();
+		if (children == null) {
+			return;
+		}
+
+		for (File child : children) {
+			String key = prefix + child.getName();
+			if (ignored.contains(key)) {
+				continue;
+			}
+
+			if (!published.contains(key)) {
+				if (isParentOfIgnored(key, ignored)) {
+					deleteRemoved(child, key + "/", ignored);
+					continue;
+				}
+				markRemoved(child, key);
+				delete(child);
+			} else if (child.isDirectory()) {
+				deleteRemoved(child, key + "/", ignored);
+			}
+		}
+	}
+
+	private static boolean isParentOfIgnored(String key, Set<String> ignored) {
+		for (String path : ignored) {
+			if (path.startsWith(key + "/")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void markRemoved(File file, String key) {
+		File[] children = file.listFiles();
+		if (children == null) {
+			changed.add(key);
+			return;
+		}
+
+		for (File child : children) {
+			markRemoved(child, key + "/" + child.getName());
+		}
+	}
+
+	private static File getSourceFile(IModuleFile resource) {
+		IFile file = resource.getAdapter(IFile.class);
+		if (file != null && file.getLocation() != null) {
+			return file.getLocation().toFile();
+		}
+
+		return resource.getAdapter(File.class);
+	}
+
+	private String hash(File source) throws IOException {
+		digest.reset();
+		try (InputStream in = new FileInputStream(source)) {
+			for (int n; (n = in.read(buffer)) >= 0;) {
+				digest.update(buffer, 0, n);
+			}
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private String copy(File source, File target) throws IOException {
+		digest.reset();
+		try (InputStream in = new DigestInputStream(new FileInputStream(source), digest)) {
+			Files.copy(in, target.toPath(), REPLACE_EXISTING);
+		}
+		target.setLastModified(source.lastModified());
+
+		return toHex(digest.digest());
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+
+		return sb.toString();
+	}
+}
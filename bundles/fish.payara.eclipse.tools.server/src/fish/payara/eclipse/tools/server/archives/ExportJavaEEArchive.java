@@ -41,23 +41,16 @@ import org.eclipse.wst.server.core.IModule;
 public class ExportJavaEEArchive {
 
     public static File export(final IModule module, final IProgressMonitor monitor) throws ExecutionException {
-
-        final File root = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile();
-
         IProject p = module.getProject();
-        File archiveName = null;
+        File archiveName = getArchive(module);
         IDataModel dataModel = null;
 
         if (isModuleType(module, "jst.web")) {
             dataModel = createDataModel(new WebComponentExportDataModelProvider());
-            archiveName = new File(root, p.getName() + ".war");
         } else if (isModuleType(module, "jst.ear")) {
             dataModel = createDataModel(new EARComponentExportDataModelProvider());
-            archiveName = new File(root, p.getName() + ".ear");
         } else { // default
             dataModel = createDataModel(new EJBComponentExportDataModelProvider());
-            archiveName = new File(root, p.getName() + ".jar");
-
         }
 
         dataModel.setProperty(PROJECT_NAME, p.getName());
@@ -71,4 +64,20 @@ public class ExportJavaEEArchive {
 
     }
 
+    /*
+     * Location the module is exported to, in the workspace root.
+     */
+    public static File getArchive(final IModule module) {
+        final File root = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile();
+        String name = module.getProject().getName();
+
+        if (isModuleType(module, "jst.web")) {
+            return new File(root, name + ".war");
+        } else if (isModuleType(module, "jst.ear")) {
+            return new File(root, name + ".ear");
+        }
+
+        return new File(root, name + ".jar");
+    }
+
 }
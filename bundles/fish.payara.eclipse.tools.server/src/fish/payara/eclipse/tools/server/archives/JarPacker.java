@@ -0,0 +1,466 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logMessage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+
+/**
+ * Packs module resources into a JAR archive using the {@link ArchivePool}.
+ *
+ * <p>
+ * Entries are stored without compression, like the archives written by <code>ModulePackager</code>
+ * for deployment. Checksums of entries are computed in parallel and entries are written in their
+ * original order, file content is transferred directly. An entry whose file has the same size and
+ * millisecond timestamp as in the previous archive is copied from it as raw bytes, without reading
+ * the file. The timestamp is kept in the standard NTFS extra field. Folder entries get a fixed
+ * timestamp, so when nothing changed at all, the previous archive is kept as it is.
+ * </p>
+ *
+ * <p>
+ * The archive is written to a temporary file and moved in place at the end, so the previous archive
+ * stays readable while packing and a file hard linked to it is never modified. ZIP64 is not
+ * supported, {@link #pack()} returns <code>false</code> for archives too large for plain ZIP and the
+ * caller falls back to <code>ModulePackager</code>.
+ * </p>
+ */
+public class JarPacker {
+
+	private static final int LOC_SIG = 0x04034b50;
+	private static final int CEN_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+	private static final int LOC_LEN = 30;
+	private static final int CEN_LEN = 46;
+	private static final int END_LEN = 22;
+	private static final int UTF8_FLAG = 0x800;
+	private static final int STORED = 0;
+	private static final int EXT_TIME_TAG = 0x5455;
+	private static final int EXT_TIME_LEN = 9;
+	private static final int NTFS_TAG = 0x000A; // Times in 100 ns units since 1601-01-01
+	private static final int NTFS_LEN = 36;
+	private static final long NTFS_EPOCH = 11644473600000L; // 1601-01-01 to 1970-01-01 [ms]
+	private static final int EXTRA_LEN = EXT_TIME_LEN + NTFS_LEN;
+	private static final long FOLDER_TIME = 315532800000L; // 1980-01-01T00:00:00Z, start of DOS time
+	private static final long MAX_SIZE = 0xFFFFFFFEL;
+	private static final int MAX_ENTRIES = 0xFFFF;
+
+	/*
+	 * Entry to be packed, source is null for folders.
+	 */
+	private static class Entry {
+		final String name;
+		final File source;
+
+		Entry(String name, File source) {
+			this.name = name;
+			this.source = source;
+		}
+	}
+
+	/*
+	 * Entry of the previous archive or entry prepared for writing.
+	 */
+	private static class Packed {
+		String name;
+		long crc;
+		long size;
+		long time;
+		File source; // File content, null when copied from previous archive
+		long offset = -1; // Data offset in previous archive
+	}
+
+	private final File destination;
+	private final List<Entry> entries = new ArrayList<>();
+
+	public JarPacker(File destination) {
+		this.destination = destination;
+	}
+
+	/**
+	 * Adds folder entry, name uses '/' as separator.
+	 */
+	public void addFolder(String name) {
+		entries.add(new Entry(name.endsWith("/") ? name : name + "/", null));
+	}
+
+	/**
+	 * Adds file entry, name uses '/' as separator.
+	 */
+	public void addFile(String name, File source) {
+		entries.add(new Entry(name, source));
+	}
+
+	/**
+	 * Adds content of given directory, entry names are relative to the directory.
+	 */
+	public void addDirectory(File directory) {
+		addDirectory(directory, "");
+	}
+
+	private void addDirectory(File directory, String prefix) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+
+		for (File child : children) {
+			if (child.isDirectory()) {
+				addFolder(prefix + child.getName());
+				addDirectory(child, prefix + child.getName() + "/");
+			} else {
+				addFile(prefix + child.getName(), child);
+			}
+		}
+	}
+
+	/**
+	 * Writes the archive.
+	 *
+	 * @return <code>false</code> when the archive is too large and was not written
+	 */
+	public boolean pack() throws IOException {
+		long total = 0;
+		for (Entry entry : entries) {
+			total += entry.source != null ? entry.source.length() : 0;
+		}
+		if (total > MAX_SIZE || entries.size() >= MAX_ENTRIES) {
+			return false;
+		}
+
+		Map<String, Packed> previous = readPrevious();
+		List<Packed> packed;
+		try {
+			// Fork into the pool running the caller, like an assembly task, instead of blocking it
+			ForkJoinTask<List<Packed>> task = ForkJoinTask.adapt(() -> prepareAll(previous));
+			packed = ForkJoinTask.inForkJoinPool() ? task.invoke() : ArchivePool.get().invoke(task);
+		} catch (RuntimeException e) {
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+			}
+			throw new IOException("unable to pack " + destination, e);
+		}
+
+		if (isUnchanged(packed, previous)) {
+			logMessage("JarPacker " + destination + " unchanged");
+			return true;
+		}
+
+		Path target = destination.toPath();
+		Path temp = target.resolveSibling(destination.getName() + ".packing");
+		try {
+			write(packed, temp);
+			try {
+				Files.move(temp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+
+		return true;
+	}
+
+	private List<Packed> prepareAll(Map<String, Packed> previous) {
+		List<ForkJoinTask<Packed>> tasks = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			Packed old = previous.get(entry.name);
+			tasks.add(ForkJoinTask.adapt(() -> prepare(entry, old)));
+		}
+		ForkJoinTask.invokeAll(tasks);
+
+		List<Packed> packed = new ArrayList<>(entries.size());
+		for (ForkJoinTask<Packed> task : tasks) {
+			packed.add(task.join());
+		}
+
+		return packed;
+	}
+
+	private Packed prepare(Entry entry, Packed old) throws IOException {
+		Packed packed = new Packed();
+		packed.name = entry.name;
+		if (entry.source == null) {
+			if (old != null && old.offset >= 0 && old.time == FOLDER_TIME) {
+				return old;
+			}
+			packed.time = FOLDER_TIME;
+			return packed;
+		}
+
+		packed.size = entry.source.length();
+		packed.time = entry.source.lastModified();
+		if (old != null && old.offset >= 0 && old.size == packed.size && old.time == packed.time) {
+			return old;
+		}
+
+		packed.crc = crc(entry.source);
+		packed.source = entry.source;
+		return packed;
+	}
+
+	private static long crc(File file) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+		try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				crc.update(buffer);
+				buffer.clear();
+			}
+		}
+
+		return crc.getValue();
+	}
+
+	private boolean isUnchanged(List<Packed> packed, Map<String, Packed> previous) {
+		if (packed.size() != previous.size()) {
+			return false;
+		}
+
+		for (Packed entry : packed) {
+			if (entry != previous.get(entry.name) || entry.offset < 0) {
+				return false;
+			}
+		}
+
+		// Entry order has to be the same too
+		long offset = -1;
+		for (Packed entry : packed) {
+			if (entry.offset <= offset) {
+				return false;
+			}
+			offset = entry.offset;
+		}
+
+		return true;
+	}
+
+	private void write(List<Packed> packed, Path temp) throws IOException {
+		ByteArrayOutputStream central = new ByteArrayOutputStream();
+		FileChannel previous = null;
+		try (FileChannel out = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			for (Packed entry : packed) {
+				long offset = out.position();
+				byte[] name = entry.name.getBytes(UTF_8);
+				int dosTime = dosTime(entry.time);
+
+				ByteBuffer loc = header(LOC_LEN + name.length + EXTRA_LEN);
+				loc.putInt(LOC_SIG).putShort((short) 10).putShort((short) UTF8_FLAG)
+						.putShort((short) STORED).putInt(dosTime).putInt((int) entry.crc)
+						.putInt((int) entry.size).putInt((int) entry.size).putShort((short) name.length)
+						.putShort((short) EXTRA_LEN).put(name);
+				putTime(loc, entry.time);
+				writeFully(out, loc.flip());
+
+				if (entry.source != null) {
+					try (FileChannel in = FileChannel.open(entry.source.toPath(), READ)) {
+						transfer(in, 0, entry.size, out, entry.name);
+					}
+				} else if (entry.offset >= 0) {
+					if (previous == null) {
+						previous = FileChannel.open(destination.toPath(), READ);
+					}
+					transfer(previous, entry.offset, entry.size, out, entry.name);
+				}
+
+				ByteBuffer cen = header(CEN_LEN + name.length + EXTRA_LEN);
+				cen.putInt(CEN_SIG).putShort((short) 20).putShort((short) 10).putShort((short) UTF8_FLAG)
+						.putShort((short) STORED).putInt(dosTime).putInt((int) entry.crc)
+						.putInt((int) entry.size).putInt((int) entry.size).putShort((short) name.length)
+						.putShort((short) EXTRA_LEN).putShort((short) 0).putShort((short) 0).putShort((short) 0)
+						.putInt(entry.name.endsWith("/") ? 0x10 : 0).putInt((int) offset).put(name);
+				putTime(cen, entry.time);
+				central.write(cen.array());
+			}
+
+			long centralOffset = out.position();
+			if (centralOffset > MAX_SIZE) {
+				throw new IOException("archive " + destination + " too large");
+			}
+			writeFully(out, ByteBuffer.wrap(central.toByteArray()));
+			ByteBuffer end = header(END_LEN);
+			end.putInt(END_SIG).putShort((short) 0).putShort((short) 0).putShort((short) packed.size())
+					.putShort((short) packed.size()).putInt(central.size()).putInt((int) centralOffset)
+					.putShort((short) 0);
+			writeFully(out, end.flip());
+		} finally {
+			if (previous != null) {
+				previous.close();
+			}
+		}
+	}
+
+	private static void transfer(FileChannel in, long position, long count, FileChannel out, String name)
+			throws IOException {
+		long done = 0;
+		while (done < count) {
+			long n = in.transferTo(position + done, count - done, out);
+			if (n <= 0) {
+				throw new IOException("content of " + name + " changed while packing");
+			}
+			done += n;
+		}
+	}
+
+	private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	private static ByteBuffer header(int length) {
+		return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void putTime(ByteBuffer buffer, long time) {
+		buffer.putShort((short) EXT_TIME_TAG).putShort((short) (EXT_TIME_LEN - 4)).put((byte) 1)
+				.putInt((int) (time / 1000));
+		long ntfsTime = (time + NTFS_EPOCH) * 10000;
+		buffer.putShort((short) NTFS_TAG).putShort((short) (NTFS_LEN - 4)).putInt(0).putShort((short) 1)
+				.putShort((short) 24).putLong(ntfsTime).putLong(ntfsTime).putLong(ntfsTime);
+	}
+
+	private static int dosTime(long time) {
+		LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = ldt.getYear() - 1980;
+		if (year < 0) {
+			return (1 << 21) | (1 << 16);
+		}
+		year = Math.min(year, 127);
+
+		return (year << 25) | (ldt.getMonthValue() << 21) | (ldt.getDayOfMonth() << 16) | (ldt.getHour() << 11)
+				| (ldt.getMinute() << 5) | (ldt.getSecond() >> 1);
+	}
+
+	/*
+	 * Reads central directory of the previous archive. Only stored entries carrying
+	 * NTFS timestamp can be reused.
+	 */
+	private Map<String, Packed> readPrevious() {
+		Map<String, Packed> previous = new HashMap<>();
+		if (!destination.isFile()) {
+			return previous;
+		}
+
+		try (FileChannel in = FileChannel.open(destination.toPath(), READ)) {
+			long size = in.size();
+			int tail = (int) Math.min(size, END_LEN + 0xFFFF);
+			ByteBuffer buffer = header(tail);
+			read(in, buffer, size - tail);
+			int end = -1;
+			for (int i = tail - END_LEN; i >= 0; i--) {
+				if (buffer.getInt(i) == END_SIG) {
+					end = i;
+					break;
+				}
+			}
+			if (end < 0) {
+				return previous;
+			}
+
+			long centralSize = buffer.getInt(end + 12) & 0xFFFFFFFFL;
+			long centralOffset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+			if (centralOffset + centralSize > size) {
+				return previous;
+			}
+			ByteBuffer central = header((int) centralSize);
+			read(in, central, centralOffset);
+
+			ByteBuffer local = header(LOC_LEN);
+			for (int pos = 0; pos + CEN_LEN <= centralSize;) {
+				if (central.getInt(pos) != CEN_SIG) {
+					return new HashMap<>();
+				}
+				int nameLength = central.getShort(pos + 28) & 0xFFFF;
+				int extraLength = central.getShort(pos + 30) & 0xFFFF;
+				int commentLength = central.getShort(pos + 32) & 0xFFFF;
+				Packed entry = new Packed();
+				int method = central.getShort(pos + 10) & 0xFFFF;
+				long compressedSize = central.getInt(pos + 20) & 0xFFFFFFFFL;
+				entry.crc = central.getInt(pos + 16) & 0xFFFFFFFFL;
+				entry.size = central.getInt(pos + 24) & 0xFFFFFFFFL;
+				long localOffset = central.getInt(pos + 42) & 0xFFFFFFFFL;
+				byte[] name = new byte[nameLength];
+				central.position(pos + CEN_LEN);
+				central.get(name);
+				entry.name = new String(name, UTF_8);
+				entry.time = ntfsTime(central, pos + CEN_LEN + nameLength, extraLength);
+
+				if (entry.time >= 0 && method == STORED && compressedSize == entry.size) {
+					local.clear();
+					read(in, local, localOffset);
+					entry.offset = localOffset + LOC_LEN + (local.getShort(26) & 0xFFFF)
+							+ (local.getShort(28) & 0xFFFF);
+					previous.put(entry.name, entry);
+				}
+				pos += CEN_LEN + nameLength + extraLength + commentLength;
+			}
+		} catch (IOException | RuntimeException e) {
+			logMessage("JarPacker cannot reuse " + destination + ": " + e.getMessage());
+			return new HashMap<>();
+		}
+
+		return previous;
+	}
+
+	/*
+	 * Returns modification time of NTFS extra field in milliseconds or -1 when there
+	 * is none.
+	 */
+	private static long ntfsTime(ByteBuffer buffer, int start, int length) {
+		for (int pos = start; pos + 4 <= start + length;) {
+			int tag = buffer.getShort(pos) & 0xFFFF;
+			int size = buffer.getShort(pos + 2) & 0xFFFF;
+			if (tag == NTFS_TAG && size == NTFS_LEN - 4 && pos + NTFS_LEN <= start + length
+					&& buffer.getShort(pos + 8) == 1 && buffer.getShort(pos + 10) == 24) {
+				return buffer.getLong(pos + 12) / 10000 - NTFS_EPOCH;
+			}
+			pos += 4 + size;
+		}
+
+		return -1;
+	}
+
+	private static void read(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("unexpected end of archive");
+			}
+		}
+	}
+}
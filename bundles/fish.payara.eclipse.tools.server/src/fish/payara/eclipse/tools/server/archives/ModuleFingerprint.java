@@ -0,0 +1,228 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logMessage;
+import static fish.payara.eclipse.tools.server.utils.WtpUtil.load;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.wst.server.core.IModule;
+import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.model.IModuleFile;
+import org.eclipse.wst.server.core.model.IModuleFolder;
+import org.eclipse.wst.server.core.model.IModuleResource;
+import org.eclipse.wst.server.core.util.ProjectModule;
+
+/**
+ * Fingerprint of a module deployed as archive.
+ *
+ * <p>
+ * The fingerprint consists of a digest of the module resource tree, including child modules, and of
+ * the archive uploaded by the last deployment. The resource digest covers paths, sizes and timestamps
+ * only, so it is computed without reading any file. Deployment settings like the context root are
+ * kept as a separate digest, the module is deployed again whenever they change. All digests are kept
+ * in the publish properties of the server. When the resources and settings did not change and the
+ * exported archive is still in place, export and upload are skipped. When the export produced the
+ * same archive as before and the settings did not change, only the upload is skipped.
+ * </p>
+ */
+public class ModuleFingerprint {
+
+	private static final String KEY_SUFFIX = ".fingerprint";
+
+	private final IModule module;
+	private final Properties properties;
+	private final String resources;
+	private final String settings;
+	private String archiveHash; // Hash of the last compared archive
+
+	/**
+	 * Computes resource digest of given root module and digest of its deployment settings.
+	 */
+	public ModuleFingerprint(IServer server, IModule module, String contextRoot, Map<String, String> deploymentProperties,
+			boolean hotDeploy, Properties properties) {
+		this.module = module;
+		this.properties = properties;
+
+		MessageDigest digest = newDigest();
+		if (digest != null) {
+			update(digest, server, new IModule[] { module });
+			resources = toHex(digest.digest());
+			// Sorted, so the digest does not depend on map order
+			digest.update(("contextRoot:" + contextRoot + "\nhotDeploy:" + hotDeploy + "\n"
+					+ new TreeMap<>(deploymentProperties)).getBytes(UTF_8));
+			settings = toHex(digest.digest());
+		} else {
+			resources = null;
+			settings = null;
+		}
+	}
+
+	/**
+	 * Forgets fingerprint of given module, the next deployment exports and uploads it again.
+	 */
+	public static void forget(Properties properties, IModule module) {
+		properties.remove(module.getId() + KEY_SUFFIX);
+	}
+
+	/**
+	 * Returns <code>true</code> when the module resources and deployment settings did not change since
+	 * the last deployment and the archive exported for it was not touched since.
+	 */
+	public boolean isUnchanged(File archive) {
+		String[] recorded = getRecorded();
+		return recorded != null && resources.equals(recorded[0]) && archive.isFile()
+				&& Long.toString(archive.length()).equals(recorded[1])
+				&& Long.toString(archive.lastModified()).equals(recorded[2]);
+	}
+
+	/**
+	 * Returns <code>true</code> when given freshly exported archive has the same content as the last
+	 * deployed one and deployment settings did not change.
+	 */
+	public boolean isArchiveUnchanged(File archive) {
+		String[] recorded = getRecorded();
+		if (recorded == null || !Long.toString(archive.length()).equals(recorded[1])) {
+			return false;
+		}
+
+		archiveHash = hash(archive);
+		return recorded[3].equals(archiveHash);
+	}
+
+	/**
+	 * Records fingerprint of successfully deployed archive.
+	 */
+	public void record(File archive) {
+		if (archiveHash == null) {
+			archiveHash = hash(archive);
+		}
+		if (resources == null || archiveHash == null) {
+			forget(properties, module);
+			return;
+		}
+
+		properties.setProperty(module.getId() + KEY_SUFFIX,
+				resources + "," + archive.length() + "," + archive.lastModified() + "," + archiveHash + "," + settings);
+	}
+
+	private String[] getRecorded() {
+		String value = properties.getProperty(module.getId() + KEY_SUFFIX);
+		if (resources == null || value == null) {
+			return null;
+		}
+
+		// Records of other settings are never used
+		String[] recorded = value.split(",");
+		return recorded.length == 5 && settings.equals(recorded[4]) ? recorded : null;
+	}
+
+	private static void update(MessageDigest digest, IServer server, IModule[] module) {
+		IModule current = module[module.length - 1];
+		digest.update(("module:" + current.getId() + "\n").getBytes(UTF_8));
+
+		ProjectModule projectModule = load(current, ProjectModule.class);
+		if (projectModule != null) {
+			try {
+				update(digest, projectModule.members());
+			} catch (Exception e) {
+				// Unknown content, never matches the recorded one
+				digest.update(Long.toString(System.nanoTime()).getBytes(UTF_8));
+			}
+		}
+
+		IModule[] children = server.getChildModules(module, new NullProgressMonitor());
+		if (children != null) {
+			for (IModule child : children) {
+				IModule[] path = new IModule[module.length + 1];
+				System.arraycopy(module, 0, path, 0, module.length);
+				path[module.length] = child;
+				update(digest, server, path);
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, IModuleResource[] resources) {
+		if (resources == null) {
+			return;
+		}
+
+		for (IModuleResource resource : resources) {
+			String path = resource.getModuleRelativePath().append(resource.getName()).toPortableString();
+			if (resource instanceof IModuleFolder) {
+				digest.update((path + "/\n").getBytes(UTF_8));
+				update(digest, ((IModuleFolder) resource).members());
+			} else if (resource instanceof IModuleFile) {
+				File file = getFile((IModuleFile) resource);
+				long size = file != null ? file.length() : -1;
+				long stamp = file != null ? file.lastModified() : ((IModuleFile) resource).getModificationStamp();
+				digest.update((path + "," + size + "," + stamp + "\n").getBytes(UTF_8));
+			}
+		}
+	}
+
+	private static File getFile(IModuleFile resource) {
+		IFile file = resource.getAdapter(IFile.class);
+		if (file != null && file.getLocation() != null) {
+			return file.getLocation().toFile();
+		}
+
+		return resource.getAdapter(File.class);
+	}
+
+	private static String hash(File archive) {
+		MessageDigest digest = newDigest();
+		if (digest == null) {
+			return null;
+		}
+
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = new FileInputStream(archive)) {
+			for (int n; (n = in.read(buffer)) >= 0;) {
+				digest.update(buffer, 0, n);
+			}
+		} catch (IOException e) {
+			logMessage("ModuleFingerprint cannot read " + archive + ": " + e.getMessage());
+			return null;
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			logMessage("module fingerprint not available: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+
+		return sb.toString();
+	}
+}
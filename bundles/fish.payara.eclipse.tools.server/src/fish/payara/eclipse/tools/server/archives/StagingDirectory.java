@@ -0,0 +1,315 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.archives;
+
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logMessage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Staging area of an exploded application directory.
+ *
+ * <p>
+ * Modules are assembled into <code>eclipseAppsStage/&lt;module&gt;</code>, a copy of the live
+ * directory <code>eclipseApps/&lt;module&gt;</code> made of hard links, so unchanged files cost
+ * neither space nor copying. Every copied file replaces its link and never touches the live file.
+ * {@link #commit(Set)} then swaps the directories with two renames on the same file system, so the
+ * server sees the new tree at once instead of file by file, and a failed assembly leaves the live
+ * tree untouched.
+ * </p>
+ *
+ * <p>
+ * The previous live directory is kept as the staging directory of the next publish together with the
+ * paths changed by the assembly. It differs from the new live directory only in those paths, so the
+ * next publish relinks just them instead of mirroring the whole tree. The live directory is mirrored
+ * only on the first publish or when the changed paths are not known.
+ * </p>
+ *
+ * <p>
+ * When the live directory can't be renamed, typically because the server holds open files on
+ * Windows, changed files are copied over from the staging directory instead.
+ * </p>
+ */
+public class StagingDirectory {
+
+	private static final String STAGE_DIR = "eclipseAppsStage";
+	private static final String OLD_SUFFIX = ".old";
+	private static final String CHANGES_SUFFIX = ".changes";
+
+	private final Path live;
+	private final Path stage;
+
+	/**
+	 * Creates staging directory mirroring given live directory.
+	 */
+	public static StagingDirectory prepare(IPath livePath) throws IOException {
+		Path live = livePath.toFile().toPath();
+		Path stage = live.getParent().resolveSibling(STAGE_DIR).resolve(live.getFileName());
+		delete(oldPath(stage));
+		Files.createDirectories(stage.getParent());
+
+		List<String> changes = readChanges(live, stage);
+		delete(changesPath(stage));
+		if (changes != null) {
+			for (String change : changes) {
+				relink(live, stage, change);
+			}
+			logMessage("StagingDirectory relinked " + changes.size() + " changed paths of " + live);
+		} else {
+			delete(stage);
+			if (Files.isDirectory(live)) {
+				mirror(live, stage);
+			}
+		}
+
+		return new StagingDirectory(live, stage);
+	}
+
+	/**
+	 * Drops the staging directory kept from the last publish, to be called when the live directory is
+	 * changed without staging.
+	 */
+	public static void discard(IPath livePath) {
+		Path live = livePath.toFile().toPath();
+		Path stage = live.getParent().resolveSibling(STAGE_DIR).resolve(live.getFileName());
+		try {
+			delete(changesPath(stage));
+			delete(stage);
+		} catch (IOException e) {
+			logMessage("StagingDirectory cannot delete " + stage + ": " + e.getMessage());
+		}
+	}
+
+	private StagingDirectory(Path live, Path stage) {
+		this.live = live;
+		this.stage = stage;
+	}
+
+	/**
+	 * Returns the directory modules are assembled into.
+	 */
+	public IPath getPath() {
+		return new org.eclipse.core.runtime.Path(stage.toString());
+	}
+
+	/**
+	 * Makes the staging directory the live directory.
+	 *
+	 * @param changes portable paths relative to the module directory written or deleted by the
+	 *                assembly, <code>null</code> when not known
+	 */
+	public void commit(Set<String> changes) throws IOException {
+		if (!Files.exists(live)) {
+			Files.move(stage, live, ATOMIC_MOVE);
+			return;
+		}
+
+		Path old = oldPath(stage);
+		try {
+			Files.move(live, old, ATOMIC_MOVE);
+		} catch (IOException e) {
+			logMessage("StagingDirectory cannot swap " + live + ", copying changed files: " + e.getMessage());
+			if (changes != null) {
+				for (String change : changes) {
+					relink(stage, live, change);
+				}
+				// Both trees are the same now, the staging directory is reused as it is
+				writeChanges(live, stage, new HashSet<>());
+			} else {
+				sync(stage, live);
+				delete(stage);
+			}
+			return;
+		}
+
+		try {
+			Files.move(stage, live, ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.move(old, live, ATOMIC_MOVE);
+			throw e;
+		}
+
+		if (changes == null) {
+			delete(old);
+			return;
+		}
+		try {
+			Files.move(old, stage, ATOMIC_MOVE);
+			writeChanges(live, stage, changes);
+		} catch (IOException e) {
+			logMessage("StagingDirectory cannot keep " + old + ": " + e.getMessage());
+			delete(old);
+			delete(stage);
+		}
+	}
+
+	/**
+	 * Drops the staging directory, live directory stays as it was.
+	 */
+	public void abort() {
+		try {
+			delete(stage);
+		} catch (IOException e) {
+			logMessage("StagingDirectory cannot delete " + stage + ": " + e.getMessage());
+		}
+	}
+
+	private static Path oldPath(Path stage) {
+		return stage.resolveSibling(stage.getFileName() + OLD_SUFFIX);
+	}
+
+	private static Path changesPath(Path stage) {
+		return stage.resolveSibling(stage.getFileName() + CHANGES_SUFFIX);
+	}
+
+	/*
+	 * The first line identifies the live directory the changes apply to, so a live directory deleted
+	 * and created again in the meantime is mirrored from scratch.
+	 */
+	private static void writeChanges(Path live, Path stage, Set<String> changes) throws IOException {
+		List<String> lines = new ArrayList<>(changes.size() + 1);
+		lines.add(identity(live));
+		lines.addAll(changes);
+		Files.write(changesPath(stage), lines, UTF_8);
+	}
+
+	private static List<String> readChanges(Path live, Path stage) {
+		Path changes = changesPath(stage);
+		if (!Files.isDirectory(stage) || !Files.isDirectory(live) || !Files.isRegularFile(changes)) {
+			return null;
+		}
+
+		try {
+			List<String> lines = Files.readAllLines(changes, UTF_8);
+			if (lines.isEmpty() || !lines.get(0).equals(identity(live))) {
+				return null;
+			}
+			return lines.subList(1, lines.size());
+		} catch (IOException e) {
+			logMessage("StagingDirectory cannot read " + changes + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static String identity(Path path) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+		Object key = attributes.fileKey();
+		return key != null ? key.toString() : Long.toString(attributes.creationTime().toMillis());
+	}
+
+	/*
+	 * Makes the path in target the same as in source, linking files and whole directories or deleting
+	 * it together with parent directories not present in source anymore.
+	 */
+	private static void relink(Path source, Path target, String change) throws IOException {
+		if (change.isEmpty()) {
+			return;
+		}
+
+		Path from = source.resolve(change);
+		Path to = target.resolve(change);
+		if (!to.normalize().startsWith(target)) {
+			return;
+		}
+
+		delete(to);
+		if (Files.exists(from, NOFOLLOW_LINKS)) {
+			Path parent = to.getParent();
+			for (Path dir = parent; !dir.equals(target); dir = dir.getParent()) {
+				if (Files.exists(dir, NOFOLLOW_LINKS) && !Files.isDirectory(dir, NOFOLLOW_LINKS)) {
+					delete(dir);
+				}
+			}
+			Files.createDirectories(parent);
+			mirror(from, to);
+			return;
+		}
+
+		for (Path dir = to.getParent(); !dir.equals(target); dir = dir.getParent()) {
+			if (Files.exists(source.resolve(target.relativize(dir).toString()), NOFOLLOW_LINKS)) {
+				break;
+			}
+			delete(dir);
+		}
+	}
+
+	private static void mirror(Path source, Path target) throws IOException {
+		try (Stream<Path> paths = Files.walk(source)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				Path copy = target.resolve(source.relativize(path).toString());
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(copy);
+				} else {
+					try {
+						Files.createLink(copy, path);
+					} catch (IOException | UnsupportedOperationException e) {
+						Files.copy(path, copy, COPY_ATTRIBUTES);
+					}
+				}
+			}
+		}
+	}
+
+	private static void sync(Path source, Path target) throws IOException {
+		Set<String> present = new HashSet<>();
+		try (Stream<Path> paths = Files.walk(source)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				String relative = source.relativize(path).toString();
+				Path copy = target.resolve(relative);
+				present.add(relative);
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(copy);
+				} else if (!Files.exists(copy) || !Files.isSameFile(path, copy)) {
+					Files.copy(path, copy, REPLACE_EXISTING, COPY_ATTRIBUTES);
+				}
+			}
+		}
+
+		List<Path> removed;
+		try (Stream<Path> paths = Files.walk(target)) {
+			removed = paths.filter(path -> !present.contains(target.relativize(path).toString()))
+					.collect(Collectors.toList());
+		}
+		for (Path path : removed) {
+			delete(path);
+		}
+	}
+
+	private static void delete(Path path) throws IOException {
+		if (!Files.exists(path, NOFOLLOW_LINKS)) {
+			return;
+		}
+
+		File[] children = Files.isSymbolicLink(path) ? null : path.toFile().listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child.toPath());
+			}
+		}
+		Files.delete(path);
+	}
+}
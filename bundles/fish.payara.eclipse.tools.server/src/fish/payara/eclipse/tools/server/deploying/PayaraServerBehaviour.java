@@ -33,6 +33,7 @@ import static fish.payara.eclipse.tools.server.ServerStatus.RUNNING_DOMAIN_MATCH
 import static fish.payara.eclipse.tools.server.ServerStatus.STOPPED_NOT_LISTENING;
 import static fish.payara.eclipse.tools.server.archives.AssembleModules.isModuleType;
 import static fish.payara.eclipse.tools.server.archives.ExportJavaEEArchive.export;
+import static fish.payara.eclipse.tools.server.archives.ExportJavaEEArchive.getArchive;
 import static fish.payara.eclipse.tools.server.log.PayaraConsoleManager.getStandardConsole;
 import static fish.payara.eclipse.tools.server.sdk.TaskState.COMPLETED;
 import static fish.payara.eclipse.tools.server.sdk.admin.CommandStopDAS.stopDAS;
@@ -60,6 +61,7 @@ import static org.eclipse.wst.server.core.IServer.PUBLISH_INCREMENTAL;
 import static org.eclipse.wst.server.core.IServer.PUBLISH_STATE_FULL;
 import static org.eclipse.wst.server.core.IServer.PUBLISH_STATE_NONE;
 import static org.eclipse.wst.server.core.IServer.STATE_STARTED;
+import static org.eclipse.wst.server.core.IServer.STATE_STARTING;
 import static org.eclipse.wst.server.core.IServer.STATE_STOPPED;
 import static org.eclipse.wst.server.core.IServer.STATE_STOPPING;
 import static org.eclipse.wst.server.core.internal.ProgressUtil.getMonitorFor;
@@ -68,6 +70,7 @@ import static org.eclipse.wst.server.core.util.PublishHelper.deleteDirectory;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -101,12 +104,14 @@ import org.eclipse.wst.server.core.IModule;
 import org.eclipse.wst.server.core.internal.DeletedModule;
 import org.eclipse.wst.server.core.internal.Server;
 import org.eclipse.wst.server.core.model.ServerBehaviourDelegate;
-import org.eclipse.wst.server.core.util.PublishHelper;
 
 import fish.payara.eclipse.tools.server.PayaraRuntime;
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.ServerStatus;
 import fish.payara.eclipse.tools.server.archives.AssembleModules;
+import fish.payara.eclipse.tools.server.archives.ContentHashPublisher;
+import fish.payara.eclipse.tools.server.archives.ModuleFingerprint;
+import fish.payara.eclipse.tools.server.archives.StagingDirectory;
 import fish.payara.eclipse.tools.server.exceptions.HttpPortUpdateException;
 import fish.payara.eclipse.tools.server.internal.PayaraStateResolver;
 import fish.payara.eclipse.tools.server.internal.ServerStateListener;
@@ -122,7 +127,9 @@ import fish.payara.eclipse.tools.server.sdk.admin.CommandVersion;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultMap;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultString;
 import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
+import fish.payara.eclipse.tools.server.sdk.admin.UploadListener;
 import fish.payara.eclipse.tools.server.starting.PayaraServerLaunchDelegate;
+import fish.payara.eclipse.tools.server.utils.ResourceSnapshot;
 import fish.payara.eclipse.tools.server.utils.ResourceUtils;
 
 /**
@@ -298,6 +305,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 	@Override
 	public void dispose() {
 		super.dispose();
+		statusMonitor.removeServerStatusListener(this);
 		statusMonitor.stop();
 		logMessage("in Behaviour dispose for " + getPayaraServerDelegate().getName());
 	}
@@ -363,6 +371,20 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 		}
 	}
 
+	/**
+	 * Forgets fingerprints of modules deployed under given application name, so the next publish
+	 * deploys them again. Called when the application is undeployed outside of publishing.
+	 */
+	public void forgetDeployment(String moduleName) {
+		Properties publishProperties = loadPublishProperties();
+		for (IModule module : getServer().getModules()) {
+			if (module.getName().equals(moduleName) || simplifyModuleID(module.getName()).equals(moduleName)) {
+				ModuleFingerprint.forget(publishProperties, module);
+			}
+		}
+		savePublishProperties(publishProperties);
+	}
+
 	public PayaraRuntime getRuntimeDelegate() {
 		return (PayaraRuntime) getServer().getRuntime().loadAdapter(PayaraRuntime.class, null);
 	}
@@ -374,6 +396,10 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 	 */
 	public synchronized void setPayaraServerState(int state) {
 		setServerState(state);
+
+		if (statusMonitor != null && (state == STATE_STARTING || state == STATE_STOPPING)) {
+			statusMonitor.transition();
+		}
 	}
 
 	/**
@@ -546,8 +572,13 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 			publishJarFile(kind, deltaKind, publishProperties, module, monitor);
 		}
 
+		if (monitor.isCanceled()) {
+			return;
+		}
+
 		setModulePublishState(module, PUBLISH_STATE_NONE);
 		savePublishProperties(publishProperties);
+		statusMonitor.wake();
 	}
 
 	private Properties loadPublishProperties() {
@@ -600,6 +631,8 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 						IStatus[] stat = deleteDirectory(pub, monitor);
 						analyseReturnedStatus(stat);
 					}
+					ContentHashPublisher.deleteIndex(new Path(publishPath));
+					StagingDirectory.discard(new Path(publishPath));
 				} catch (Exception e) {
 					throw new CoreException(
 							new Status(WARNING, SYMBOLIC_NAME, 0, "cannot remove " + module[0].getName(), e));
@@ -624,26 +657,53 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 			String parentPath = dockerInstance ? getPayaraServerDelegate().getHostPath()
 					: getPayaraServerDelegate().getDomainPath();
 			IPath path = new Path(parentPath + "/eclipseApps/" + module[0].getName());
-			PublishHelper helper = new PublishHelper(new Path(parentPath + "/eclipseAppsTmp").toFile());
+			File tempDirectory = new Path(parentPath + "/eclipseAppsTmp").toFile();
+
+			// With staged publish the server sees the assembled tree only once it is complete
+			StagingDirectory staging = null;
+			IPath assemblePath = path;
+			if (getPayaraServerDelegate().getStagedPublish()) {
+				try {
+					staging = StagingDirectory.prepare(path);
+					assemblePath = staging.getPath();
+				} catch (IOException e) {
+					logError("cannot prepare staging directory, publishing in place", e);
+				}
+			}
+			if (staging == null) {
+				// The live directory is changed in place, a kept staging directory would be outdated
+				StagingDirectory.discard(path);
+			}
 
-			AssembleModules assembler = new AssembleModules(module, path, getPayaraServerDelegate(), helper);
-			logMessage("Deploy direcotry " + path.toFile().getAbsolutePath());
+			AssembleModules assembler = new AssembleModules(module, assemblePath, getPayaraServerDelegate(), tempDirectory);
+			logMessage("Deploy direcotry " + assemblePath.toFile().getAbsolutePath());
 
 			String contextRoot = null;
 
-			// Either web, ear or non of these
-			if (isModuleType(module[0], "jst.web")) {
-				logMessage("is WEB");
+			try {
+				// Either web, ear or non of these
+				if (isModuleType(module[0], "jst.web")) {
+					logMessage("is WEB");
 
-				assembler.assembleWebModule(monitor);
-				contextRoot = getContextRoot(module);
-			} else if (isModuleType(module[0], "jst.ear")) {
-				logMessage("is EAR");
+					assembler.assembleWebModule(monitor);
+					contextRoot = getContextRoot(module);
+				} else if (isModuleType(module[0], "jst.ear")) {
+					logMessage("is EAR");
 
-				assembler.assembleDirDeployedEARModule(monitor);
-			} else {
-				// default
-				assembler.assembleNonWebOrNonEARModule(monitor);
+					assembler.assembleDirDeployedEARModule(monitor);
+				} else {
+					// default
+					assembler.assembleNonWebOrNonEARModule(monitor);
+				}
+			} catch (CoreException | RuntimeException e) {
+				abortStaging(staging, path);
+				throw e;
+			}
+
+			if (monitor.isCanceled()) {
+				// Keep the publish state, remaining changes are picked up next time
+				abortStaging(staging, path);
+				return;
 			}
 
 			if (kind == PUBLISH_INCREMENTAL || kind == PUBLISH_AUTO) {
@@ -652,6 +712,16 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 				needARedeploy = true;
 			}
 
+			if (staging != null) {
+				try {
+					staging.commit(assembler.getWrittenPaths());
+				} catch (IOException e) {
+					abortStaging(staging, path);
+					throw new CoreException(
+							new Status(ERROR, SYMBOLIC_NAME, 0, "cannot swap staging directory into " + path, e));
+				}
+			}
+
 			// deploy the sun resource file if there is one in path:
 			registerSunResource(module, publishProperties, path);
 
@@ -682,6 +752,8 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 							metadataChanged = true;
 						}
 					}
+					logMessage("hot deploy of " + sourcesChanged.size() + " changed files, metadataChanged="
+							+ metadataChanged);
 				}
 				CommandTarget command = null;
 				if (deltaKind == ADDED) {
@@ -711,6 +783,14 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 		}
 	}
 
+	private static void abortStaging(StagingDirectory staging, IPath path) {
+		if (staging != null) {
+			staging.abort();
+			// Content index already describes the staged files, live files are hashed again next time
+			ContentHashPublisher.deleteIndex(path);
+		}
+	}
+
 	private void publishJarFile(int kind, int deltaKind, Properties p, IModule[] module, IProgressMonitor monitor)
 			throws CoreException {
 		// first try to see if we need to undeploy:
@@ -718,39 +798,55 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 		if (deltaKind == REMOVED) {
 
 			// Same logic as directory undeploy
+			ModuleFingerprint.forget(p, module[0]);
 			publishDeployedDirectory(kind, deltaKind, p, module, monitor);
 
 		} else {
 
 			try {
-				File archivePath = export(module[0], monitor);
-				logMessage("Deploy archive " + archivePath.getAbsolutePath());
-
 				String name = simplifyModuleID(module[0].getName());
 				String contextRoot = null;
+				if (isModuleType(module[0], "jst.web")) {
+					contextRoot = getContextRoot(module);
+				}
+				Map<String, String> properties = getDeploymentProperties();
+				boolean hotDeploy = getServer().getAttribute(PayaraServer.ATTR_HOTDEPLOY,
+						Boolean.parseBoolean(DEFAULT_HOT_DEPLOY));
+				ModuleFingerprint fingerprint = new ModuleFingerprint(getServer(), module[0], contextRoot, properties,
+						hotDeploy, p);
+				boolean incremental = kind == PUBLISH_INCREMENTAL || kind == PUBLISH_AUTO;
+				if (incremental && fingerprint.isUnchanged(getArchive(module[0]))) {
+					logMessage("Module " + name + " unchanged, skipping export and deploy");
+					return;
+				}
+
+				File archivePath = export(module[0], monitor);
+				logMessage("Deploy archive " + archivePath.getAbsolutePath());
+				if (incremental && fingerprint.isArchiveUnchanged(archivePath)) {
+					logMessage("Archive " + archivePath + " unchanged, skipping deploy");
+					fingerprint.record(archivePath);
+					return;
+				}
+				ModuleFingerprint.forget(p, module[0]);
 
 				boolean dockerInstance = getPayaraServerDelegate().isDockerInstance();
 				boolean wslInstance = getPayaraServerDelegate().isWSLInstance();
 				String hostPath = getPayaraServerDelegate().getHostPath();
 				String containerPath = getPayaraServerDelegate().getContainerPath();
 
-				if (isModuleType(module[0], "jst.web")) {
-					contextRoot = getContextRoot(module);
-				}
-
 				// keepSession state is NOT supported in redeploy as JAR
 
-				boolean hotDeploy = getServer().getAttribute(PayaraServer.ATTR_HOTDEPLOY,
-						Boolean.parseBoolean(DEFAULT_HOT_DEPLOY));
 				try {
 					ServerAdmin.executeOn(getPayaraServerDelegate())
-							.command(new CommandDeploy(name, null, archivePath, contextRoot, getDeploymentProperties(),
-									new File[0], dockerInstance, wslInstance, hostPath, containerPath, hotDeploy))
+							.command(new CommandDeploy(name, null, archivePath, contextRoot, properties,
+									new File[0], dockerInstance, wslInstance, hostPath, containerPath, hotDeploy)
+											.setUploadListener(uploadProgress(monitor, name)))
 							.timeout(520).onNotCompleted(result -> {
 								logMessage("deploy is failing=" + result.getValue());
 								throw new IllegalStateException("deploy is failing=" + result.getValue());
 							}).get();
 
+					fingerprint.record(archivePath);
 				} catch (Exception ex) {
 					logError("deploy is failing=", ex);
 					throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "cannot Deploy " + name, ex));
@@ -761,6 +857,23 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 		}
 	}
 
+	private static UploadListener uploadProgress(IProgressMonitor monitor, String name) {
+		return new UploadListener() {
+			private long uploaded;
+			private long percent = -1;
+
+			@Override
+			public void uploaded(long sent, long total) {
+				uploaded += sent;
+				long current = total > 0 ? uploaded * 100 / total : 100;
+				if (current != percent) {
+					percent = current;
+					monitor.subTask("Uploading " + name + " (" + current + "%)");
+				}
+			}
+		};
+	}
+
 	private void registerSunResource(IModule module[], Properties properties, IPath path) throws CoreException {
 		// Get correct location for sun-resources.xml
 		IProject project = module[0].getProject();
@@ -780,6 +893,7 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 				Future<ResultString> future = ServerAdmin.<ResultString>exec(getPayaraServerDelegate(),
 						new CommandAddResources(sunResource, null));
 				ResultString result = future.get(120, SECONDS);
+				ResourceSnapshot.invalidate(getPayaraServerDelegate());
 
 				if (!COMPLETED.equals(result.getState())) {
 					throw new Exception("register resource is failing=" + result.getValue());
@@ -807,6 +921,8 @@ public final class PayaraServerBehaviour extends ServerBehaviourDelegate impleme
 					}).get();
 		} catch (Exception ex) {
 			throw new CoreException(new Status(ERROR, SYMBOLIC_NAME, 0, "cannot UnDeploy " + moduleName, ex));
+		} finally {
+			statusMonitor.wake();
 		}
 	}
 
@@ -33,6 +33,7 @@ import org.eclipse.wst.server.core.internal.UpdateServerJob;
 import org.eclipse.wst.server.ui.internal.editor.GlobalCommandManager;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.admin.AdminConnectionPool;
 
 
 /**
@@ -77,6 +78,9 @@ public class ServerLifecycleListener implements IServerLifecycleListener {
             return;
         }
 
+        // Administration host, port or security may have changed, so do not resume old TLS sessions
+        evictAdminConnections(server);
+
         String domainPath = server.getAttribute(ATTR_DOMAINPATH, "");
         String previousDomainPath = server.getAttribute("previous-domain", "");
 
@@ -132,11 +136,20 @@ public class ServerLifecycleListener implements IServerLifecycleListener {
             return;
         }
 
+        evictAdminConnections(server);
+
         // Since the server is removed, we can remove the corresponding project
         // as well.
         deleteServerProject(server.getAttribute("name", ""));
     }
 
+    private void evictAdminConnections(IServer server) {
+        PayaraServer payaraServer = load(server, PayaraServer.class);
+        if (payaraServer != null) {
+            AdminConnectionPool.evict(payaraServer);
+        }
+    }
+
     private void createServerProject(PayaraServer payaraServer) {
 
         IWorkspace workSpace = ResourcesPlugin.getWorkspace();
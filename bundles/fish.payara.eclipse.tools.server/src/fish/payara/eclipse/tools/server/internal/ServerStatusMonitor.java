@@ -18,71 +18,467 @@
 
 package fish.payara.eclipse.tools.server.internal;
 
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logError;
 import static fish.payara.eclipse.tools.server.ServerStatus.NOT_DEFINED;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.ServerStatus;
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatus;
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatusEngine;
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatusListener;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.TaskEvent;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusCheck;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusCheckResult;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusMonitor;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusTask;
+import fish.payara.eclipse.tools.server.sdk.server.state.StatusProbe;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
 import fish.payara.eclipse.tools.server.utils.ServerStatusHelper;
 
-public class ServerStatusMonitor implements Runnable {
+/**
+ * Server status polling engine.
+ * <p>
+ * There is exactly one engine per server. It runs a single probe pipeline
+ * ({@link ServerStatusHelper#checkServerStatus(PayaraServer, StatusProbe)}) on a scheduler shared by all servers
+ * and fans results out to both {@link ServerStateListener} and {@link GlassFishStatusListener}
+ * subscribers. Forced checks requested while a check is already running wait for that check instead
+ * of issuing another one.
+ * <p>
+ * Polling interval adapts to server state. Server is polled every second during start and stop
+ * transitions. Stable server is polled with check interval which is doubled after every check once the
+ * server has been stable for two minutes. Stopped and remote servers start with longer interval.
+ * {@link #wake()} and {@link #transition()} trigger immediate check.
+ */
+public class ServerStatusMonitor implements Runnable, GlassFishStatusMonitor {
 
     private static final int DEFAULT_DELAY_IN_SEC = 5;
 
-    private ScheduledExecutorService scheduler;
-    private PayaraServer server;
-    private int delay;
+    /** Polling interval during start and stop transitions [ms]. */
+    private static final long FAST_DELAY = 1000;
+
+    /** Maximal polling interval of running server [ms]. */
+    private static final long MAX_DELAY = 60000;
+
+    /** Maximal polling interval of stopped server [ms]. */
+    private static final long MAX_STOPPED_DELAY = 120000;
+
+    /** Time after which stable server polling starts to back off [ms]. */
+    private static final long STABLE_AFTER = 120000;
+
+    /** Maximal duration of fast polling after transition was triggered [ms]. */
+    private static final long TRANSITION_TIMEOUT = 180000;
+
+    /** Check interval multiplier for stopped and for remote servers. */
+    private static final int SLOW_FACTOR = 2;
+
+    private static final String THREAD_NAME = "Payara Server Status";
+
+    /** Engine providing monitors to {@link GlassFishStatus} API. */
+    public static final GlassFishStatusEngine ENGINE = new GlassFishStatusEngine() {
+
+        @Override
+        public void init(ScheduledExecutorService executor) {
+            ServerStatusMonitor.init(executor);
+        }
+
+        @Override
+        public GlassFishStatusMonitor getInstance(PayaraServer server) {
+            return ServerStatusMonitor.getInstance(server);
+        }
+
+        @Override
+        public GlassFishStatusMonitor get(PayaraServer server) {
+            return ServerStatusMonitor.get(server);
+        }
+    };
+
+    /** Engines of all monitored servers. */
+    private static final Map<PayaraServer, ServerStatusMonitor> monitors = new HashMap<>();
+
+    /** Scheduler shared by all engines. */
+    private static ScheduledExecutorService scheduler;
+
+    private final PayaraServer server;
+    private final StatusProbe probe;
+    private final int delay;
     private ScheduledFuture<?> scheduledTask;
 
+    /** Number of {@link #start()} calls not yet balanced by {@link #stop()}. */
+    private int users;
+
+    /** Engine is registered trough {@link GlassFishStatus} API. */
+    private boolean registered;
+
+    /** Polling requested trough {@link GlassFishStatus} API is suspended. */
+    private boolean suspended;
+
+    /** Check currently being executed. */
+    private CompletableFuture<ServerStatus> pendingCheck;
+
+    /** Backoff state, guarded by this. */
+    private ServerStatus lastStatus = NOT_DEFINED;
+    private long stableSince = System.currentTimeMillis();
+    private int backoff;
+    private ServerStatus transitionFrom;
+    private long transitionUntil;
+
     private volatile ServerStatus status = NOT_DEFINED;
-    private CopyOnWriteArrayList<ServerStateListener> listeners;
+    private volatile GlassFishStatus glassFishStatus = GlassFishStatus.UNKNOWN;
+    private final CopyOnWriteArrayList<ServerStateListener> listeners;
+    private final Map<GlassFishStatusListener, StatusSubscription> statusListeners = new LinkedHashMap<>();
 
-    private ServerStatusMonitor(PayaraServer server) {
-        this(server, DEFAULT_DELAY_IN_SEC);
+    private ServerStatusMonitor(PayaraServer server, int checkInterval) {
+        this.server = server;
+        this.probe = new StatusProbe(server);
+        this.delay = checkInterval;
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
-    private ServerStatusMonitor(PayaraServer server, ServerStateListener... listeners) {
-        this(server, DEFAULT_DELAY_IN_SEC, listeners);
+    /**
+     * Allows to initialize engines to use external scheduler.
+     * <p>
+     * This method must be called before first engine is started.
+     *
+     * @param executor External scheduler to be supplied.
+     */
+    public static void init(ScheduledExecutorService executor) {
+        synchronized (monitors) {
+            if (scheduler != null) {
+                throw new IllegalStateException();
+            }
+            scheduler = executor;
+        }
     }
 
-    private ServerStatusMonitor(PayaraServer server, int checkInterval, ServerStateListener... listeners) {
-        this.server = server;
-        this.delay = checkInterval;
-        this.listeners = new CopyOnWriteArrayList<>(listeners);
+    private static ScheduledExecutorService getScheduler() {
+        synchronized (monitors) {
+            if (scheduler == null) {
+                scheduler = ExecutorFactory.newScheduledExecutor(THREAD_NAME,
+                        GlassFishToolsConfig.getAdminMaxThreads());
+            }
+            return scheduler;
+        }
     }
 
     public static ServerStatusMonitor getInstance(PayaraServer server) {
-        return new ServerStatusMonitor(server);
+        return getInstance(server, DEFAULT_DELAY_IN_SEC);
     }
 
     public static ServerStatusMonitor getInstance(PayaraServer server, ServerStateListener... listeners) {
-        return new ServerStatusMonitor(server, listeners);
+        ServerStatusMonitor monitor = getInstance(server);
+        for (ServerStateListener listener : listeners) {
+            monitor.registerServerStatusListener(listener);
+        }
+        return monitor;
     }
 
+    /**
+     * Get existing engine of the server or create a new one.
+     * <p>
+     * Check interval applies only when a new engine is created.
+     */
     public static ServerStatusMonitor getInstance(PayaraServer server, int checkInterval) {
-        return new ServerStatusMonitor(server, checkInterval);
+        synchronized (monitors) {
+            ServerStatusMonitor monitor = monitors.get(server);
+            if (monitor == null) {
+                monitor = new ServerStatusMonitor(server, checkInterval);
+                monitors.put(server, monitor);
+            }
+            return monitor;
+        }
     }
 
+    /**
+     * Get existing engine of the server.
+     *
+     * @return Server engine or <code>null</code> when server is not monitored.
+     */
+    public static ServerStatusMonitor get(PayaraServer server) {
+        synchronized (monitors) {
+            return monitors.get(server);
+        }
+    }
+
+    /**
+     * Start polling. Every call must be balanced by {@link #stop()}, polling continues until the last
+     * user stops it.
+     */
     public void start() {
-        scheduler = Executors.newSingleThreadScheduledExecutor();
-        scheduledTask = scheduler.scheduleWithFixedDelay(this, 0, delay, SECONDS);
+        synchronized (monitors) {
+            if (users++ == 0) {
+                monitors.put(server, this);
+                try {
+                    scheduledTask = getScheduler().schedule(this, 0, MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // scheduler was shut down, polling stays idle
+                    scheduledTask = null;
+                }
+            }
+        }
     }
 
     public void stop() {
-        scheduledTask.cancel(true);
-        scheduler.shutdown();
+        synchronized (monitors) {
+            if (users == 0 || --users > 0) {
+                return;
+            }
+            if (scheduledTask != null) {
+                scheduledTask.cancel(true);
+                scheduledTask = null;
+            }
+            if (monitors.get(server) == this) {
+                monitors.remove(server);
+            }
+            registered = false;
+            suspended = false;
+        }
+        listeners.clear();
+        synchronized (statusListeners) {
+            statusListeners.clear();
+        }
+    }
+
+    /**
+     * Register engine trough {@link GlassFishStatus} API and start polling.
+     *
+     * @return Value of <code>true</code> when engine was registered or <code>false</code> when it was
+     * already registered.
+     */
+    @Override
+    public boolean register() {
+        synchronized (monitors) {
+            if (registered) {
+                return false;
+            }
+            registered = true;
+        }
+        start();
+        return true;
+    }
+
+    /**
+     * Unregister engine from {@link GlassFishStatus} API and remove its status listeners.
+     *
+     * @return Value of <code>true</code> when engine was unregistered or <code>false</code> when it was
+     * not registered.
+     */
+    @Override
+    public boolean unregister() {
+        boolean active;
+        synchronized (monitors) {
+            if (!registered) {
+                return false;
+            }
+            registered = false;
+            active = !suspended;
+            suspended = false;
+        }
+        List<GlassFishStatusListener> removed;
+        synchronized (statusListeners) {
+            removed = new ArrayList<>(statusListeners.keySet());
+            statusListeners.clear();
+        }
+        for (GlassFishStatusListener listener : removed) {
+            listener.removed();
+        }
+        if (active) {
+            stop();
+        }
+        return true;
+    }
+
+    /**
+     * Suspend polling requested trough {@link GlassFishStatus} API. Polling continues while the engine
+     * has other users.
+     */
+    @Override
+    public boolean suspend() {
+        synchronized (monitors) {
+            if (!registered || suspended) {
+                return registered;
+            }
+            suspended = true;
+        }
+        stop();
+        return true;
+    }
+
+    /**
+     * Resume polling requested trough {@link GlassFishStatus} API when it was suspended.
+     *
+     * @return Value of <code>true</code> when polling was resumed or <code>false</code> when it was not
+     * suspended.
+     */
+    @Override
+    public boolean resume() {
+        synchronized (monitors) {
+            if (!registered || !suspended) {
+                return false;
+            }
+            suspended = false;
+        }
+        start();
+        return true;
     }
 
     @Override
     public void run() {
-        status = ServerStatusHelper.checkServerStatus(server);
-        notifyListeners(status);
+        CompletableFuture<ServerStatus> check;
+        synchronized (this) {
+            if (pendingCheck != null) {
+                // forced check is already running
+                return;
+            }
+            check = pendingCheck = new CompletableFuture<>();
+        }
+        probe(check);
+    }
+
+    /**
+     * Request check out of schedule. Running check is reused when there is one.
+     */
+    private CompletableFuture<ServerStatus> requestCheck() {
+        CompletableFuture<ServerStatus> check;
+        synchronized (this) {
+            if (pendingCheck != null) {
+                return pendingCheck;
+            }
+            check = pendingCheck = new CompletableFuture<>();
+        }
+        try {
+            getScheduler().execute(() -> probe(check));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                pendingCheck = null;
+            }
+            check.complete(status);
+        }
+        return check;
+    }
+
+    private void probe(CompletableFuture<ServerStatus> check) {
+        ServerStatus newStatus = NOT_DEFINED;
+        try {
+            newStatus = ServerStatusHelper.checkServerStatus(server, probe);
+        } catch (RuntimeException e) {
+            logError("Status check of " + server.getName() + " failed", e);
+        }
+        try {
+            status = newStatus;
+            notifyListeners(newStatus);
+            notifyStatusListeners(newStatus);
+        } finally {
+            synchronized (this) {
+                pendingCheck = null;
+            }
+            check.complete(newStatus);
+            reschedule(nextDelay(newStatus));
+        }
+    }
+
+    /**
+     * Replace scheduled check with a new one. Does nothing when polling is stopped.
+     */
+    private void reschedule(long nextDelay) {
+        synchronized (monitors) {
+            if (users == 0) {
+                return;
+            }
+            if (scheduledTask != null) {
+                scheduledTask.cancel(false);
+            }
+            try {
+                scheduledTask = getScheduler().schedule(this, nextDelay, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                scheduledTask = null;
+            }
+        }
+    }
+
+    private synchronized long nextDelay(ServerStatus newStatus) {
+        long now = System.currentTimeMillis();
+        if (newStatus != lastStatus) {
+            lastStatus = newStatus;
+            stableSince = now;
+            backoff = 0;
+        }
+
+        if (transitionUntil > now) {
+            if (newStatus == transitionFrom || !isSettled(newStatus)) {
+                return FAST_DELAY;
+            }
+            transitionUntil = 0;
+        }
+        if (glassFishStatus == GlassFishStatus.STARTUP || glassFishStatus == GlassFishStatus.SHUTDOWN) {
+            return FAST_DELAY;
+        }
+
+        boolean stopped = toGlassFishStatus(newStatus) == GlassFishStatus.OFFLINE;
+        long base = SECONDS.toMillis(delay);
+        if (stopped) {
+            base *= SLOW_FACTOR;
+        }
+        if (server.isRemote()) {
+            base *= SLOW_FACTOR;
+        }
+        long max = stopped ? MAX_STOPPED_DELAY : MAX_DELAY;
+        if (now - stableSince >= STABLE_AFTER && (base << backoff) < max) {
+            backoff++;
+        }
+        return Math.min(base << backoff, max);
+    }
+
+    /**
+     * Status which is not expected to change on its own during start or stop.
+     */
+    private static boolean isSettled(ServerStatus status) {
+        return status != NOT_DEFINED && status != ServerStatus.RUNNING_CONNECTION_ERROR
+                && status != ServerStatus.RUNNING_PROXY_ERROR;
+    }
+
+    /**
+     * Check server now and restart backoff. To be called after server content was changed, e.g. after
+     * deployment.
+     */
+    public void wake() {
+        synchronized (this) {
+            stableSince = System.currentTimeMillis();
+            backoff = 0;
+        }
+        requestCheck();
+    }
+
+    /**
+     * Check server now and keep polling fast until its status settles. To be called when server is
+     * being started or stopped.
+     */
+    public void transition() {
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            transitionFrom = status;
+            transitionUntil = now + TRANSITION_TIMEOUT;
+            stableSince = now;
+            backoff = 0;
+        }
+        // server may come back with different version
+        probe.invalidate();
+        requestCheck();
     }
 
     public ServerStatus getServerStatus() {
@@ -92,7 +488,7 @@ public class ServerStatusMonitor implements Runnable {
     public ServerStatus getServerStatus(boolean forceUpdate) {
         if (forceUpdate) {
             try {
-                scheduler.submit(this).get();
+                return requestCheck().get();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             } catch (ExecutionException e) {
@@ -103,7 +499,11 @@ public class ServerStatusMonitor implements Runnable {
     }
 
     public void registerServerStatusListener(ServerStateListener listener) {
-        listeners.add(listener);
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeServerStatusListener(ServerStateListener listener) {
+        listeners.remove(listener);
     }
 
     private void notifyListeners(ServerStatus newStatus) {
@@ -112,6 +512,234 @@ public class ServerStatusMonitor implements Runnable {
         }
     }
 
+    // GlassFishStatus API
+
+    @Override
+    public PayaraServer getServer() {
+        return server;
+    }
+
+    @Override
+    public GlassFishStatus getStatus() {
+        return glassFishStatus;
+    }
+
+    /**
+     * Switch into startup mode. Server stays in {@link GlassFishStatus#STARTUP} state until it is found
+     * online.
+     *
+     * @param force Switch from any state when <code>true</code>, otherwise only offline or unknown
+     * server is switched.
+     * @return Value of <code>true</code> when engine was switched into startup mode.
+     */
+    @Override
+    public boolean startup(boolean force) {
+        synchronized (this) {
+            if (!force && glassFishStatus != GlassFishStatus.OFFLINE && glassFishStatus != GlassFishStatus.UNKNOWN) {
+                return false;
+            }
+            glassFishStatus = GlassFishStatus.STARTUP;
+        }
+        requestCheck();
+        return true;
+    }
+
+    /**
+     * Switch into shutdown mode. Server stays in {@link GlassFishStatus#SHUTDOWN} state until it is
+     * found offline.
+     *
+     * @return Value of <code>true</code> when engine was switched into shutdown mode.
+     */
+    @Override
+    public boolean shutdown() {
+        synchronized (this) {
+            if (glassFishStatus == GlassFishStatus.OFFLINE) {
+                return false;
+            }
+            glassFishStatus = GlassFishStatus.SHUTDOWN;
+        }
+        requestCheck();
+        return true;
+    }
+
+    /**
+     * Register status listener.
+     *
+     * @param listener Server status listener to be registered.
+     * @param currentState Notify about current server status after every check when <code>true</code>.
+     * @param errors Notify about server status check errors when <code>true</code>.
+     * @param newState Notify about server status change for new states provided as this argument.
+     * @return Value of <code>true</code> when listener was added for at least one event or
+     * <code>false</code> when it was already registered for all of them.
+     */
+    @Override
+    public boolean addStatusListener(GlassFishStatusListener listener, boolean currentState, boolean errors,
+            GlassFishStatus... newState) {
+        boolean added;
+        synchronized (statusListeners) {
+            StatusSubscription subscription = statusListeners.get(listener);
+            if (subscription == null) {
+                subscription = new StatusSubscription(listener);
+                statusListeners.put(listener, subscription);
+            }
+            added = subscription.add(currentState, errors, newState);
+        }
+        if (added) {
+            listener.added();
+        }
+        return added;
+    }
+
+    /**
+     * Unregister status listener.
+     *
+     * @return Value of <code>true</code> when listener was found and removed.
+     */
+    @Override
+    public boolean removeStatusListener(GlassFishStatusListener listener) {
+        boolean removed;
+        synchronized (statusListeners) {
+            removed = statusListeners.remove(listener) != null;
+        }
+        if (removed) {
+            listener.removed();
+        }
+        return removed;
+    }
+
+    private void notifyStatusListeners(ServerStatus newStatus) {
+        GlassFishStatus previous;
+        GlassFishStatus current;
+        synchronized (this) {
+            previous = glassFishStatus;
+            current = resolve(previous, toGlassFishStatus(newStatus));
+            glassFishStatus = current;
+        }
+
+        List<StatusSubscription> call;
+        synchronized (statusListeners) {
+            if (statusListeners.isEmpty()) {
+                return;
+            }
+            call = new ArrayList<>(statusListeners.values());
+        }
+
+        StatusTask task = new StatusTask(server, newStatus);
+        for (StatusSubscription subscription : call) {
+            if (subscription.currentState) {
+                subscription.listener.currentState(server, current, task);
+            }
+            if (current != previous && subscription.newState.contains(current)) {
+                subscription.listener.newState(server, current, task);
+            }
+            if (subscription.errors && task.getStatus() == GlassFishStatusCheckResult.FAILED) {
+                subscription.listener.error(server, task);
+            }
+        }
+    }
+
+    /**
+     * Keep startup and shutdown modes until probe confirms that transition is finished.
+     */
+    private static GlassFishStatus resolve(GlassFishStatus previous, GlassFishStatus probed) {
+        if (previous == GlassFishStatus.STARTUP && probed != GlassFishStatus.ONLINE) {
+            return GlassFishStatus.STARTUP;
+        }
+        if (previous == GlassFishStatus.SHUTDOWN && probed != GlassFishStatus.OFFLINE) {
+            return GlassFishStatus.SHUTDOWN;
+        }
+        return probed;
+    }
 
+    private static GlassFishStatus toGlassFishStatus(ServerStatus status) {
+        switch (status) {
+        case RUNNING_DOMAIN_MATCHING:
+            return GlassFishStatus.ONLINE;
+        case STOPPED_NOT_LISTENING:
+        case STOPPED_DOMAIN_NOT_MATCHING:
+            return GlassFishStatus.OFFLINE;
+        default:
+            return GlassFishStatus.UNKNOWN;
+        }
+    }
+
+    /**
+     * Events single {@link GlassFishStatusListener} is subscribed to.
+     */
+    private static class StatusSubscription {
+
+        private final GlassFishStatusListener listener;
+        private final EnumSet<GlassFishStatus> newState = EnumSet.noneOf(GlassFishStatus.class);
+        private boolean currentState;
+        private boolean errors;
+
+        private StatusSubscription(GlassFishStatusListener listener) {
+            this.listener = listener;
+        }
+
+        private boolean add(boolean currentState, boolean errors, GlassFishStatus... newState) {
+            boolean added = (currentState && !this.currentState) || (errors && !this.errors);
+            this.currentState |= currentState;
+            this.errors |= errors;
+            if (newState != null) {
+                for (GlassFishStatus state : newState) {
+                    added |= this.newState.add(state);
+                }
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Details of last probe passed to {@link GlassFishStatusListener} callbacks.
+     */
+    private static class StatusTask implements GlassFishStatusTask {
+
+        private final GlassFishStatusCheck type;
+        private final GlassFishStatusCheckResult result;
+        private final TaskEvent event;
+
+        private StatusTask(PayaraServer server, ServerStatus status) {
+            switch (status) {
+            case STOPPED_NOT_LISTENING:
+                type = GlassFishStatusCheck.PORT;
+                break;
+            default:
+                type = server.isRemote() ? GlassFishStatusCheck.VERSION : GlassFishStatusCheck.LOCATIONS;
+            }
+            switch (status) {
+            case RUNNING_DOMAIN_MATCHING:
+                result = GlassFishStatusCheckResult.SUCCESS;
+                event = TaskEvent.CMD_COMPLETED;
+                break;
+            case RUNNING_CREDENTIAL_PROBLEM:
+                result = GlassFishStatusCheckResult.FAILED;
+                event = TaskEvent.AUTH_FAILED;
+                break;
+            case RUNNING_PROXY_ERROR:
+                result = GlassFishStatusCheckResult.FAILED;
+                event = TaskEvent.BAD_GATEWAY;
+                break;
+            default:
+                result = GlassFishStatusCheckResult.FAILED;
+                event = TaskEvent.CMD_FAILED;
+            }
+        }
+
+        @Override
+        public GlassFishStatusCheck getType() {
+            return type;
+        }
+
+        @Override
+        public GlassFishStatusCheckResult getStatus() {
+            return result;
+        }
+
+        @Override
+        public TaskEvent getEvent() {
+            return event;
+        }
+    }
 
 }
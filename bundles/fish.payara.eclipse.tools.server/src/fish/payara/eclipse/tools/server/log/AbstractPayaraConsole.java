@@ -18,14 +18,27 @@
 
 package fish.payara.eclipse.tools.server.log;
 
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.CONSOLE_HIGH_WATERMARK;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.CONSOLE_LOW_WATERMARK;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.ENABLE_COLORS_CONSOLE;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.LIMIT_CONSOLE;
+
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledFuture;
 
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.console.MessageConsole;
 import org.eclipse.ui.console.MessageConsoleStream;
 
+import fish.payara.eclipse.tools.server.PayaraServerPlugin;
+
 public abstract class AbstractPayaraConsole extends MessageConsole implements IPayaraConsole {
 
     protected List<LogReader> readers;
@@ -34,10 +47,84 @@ public abstract class AbstractPayaraConsole extends MessageConsole implements IP
     protected ILogFilter filter;
     protected ScheduledFuture<?> stopJobResult;
 
+    // Warning and severe records are written to these streams, their style is kept by the console
+    // document partitions so nothing is computed when the console is painted
+    protected MessageConsoleStream warningOut;
+    protected MessageConsoleStream severeOut;
+
+    private final IPreferenceStore store = PayaraServerPlugin.getInstance().getPreferenceStore();
+
+    private final IPropertyChangeListener preferenceListener = event -> {
+        String property = event.getProperty();
+        if (ENABLE_COLORS_CONSOLE.equals(property)) {
+            applyStyles();
+        } else if (LIMIT_CONSOLE.equals(property) || CONSOLE_HIGH_WATERMARK.equals(property)
+                || CONSOLE_LOW_WATERMARK.equals(property)) {
+            applyWaterMarks();
+        }
+    };
+
     public AbstractPayaraConsole(String name, ImageDescriptor imageDescriptor, ILogFilter filter) {
         super(name, imageDescriptor);
         this.filter = filter;
         this.out = newMessageStream();
+        this.warningOut = newMessageStream();
+        this.severeOut = newMessageStream();
+
+        applyWaterMarks();
+        applyStyles();
+        store.addPropertyChangeListener(preferenceListener);
+    }
+
+    /**
+     * Creates writer of formatted log records into this console.
+     */
+    LogWriter newLogWriter() {
+        return new LogWriter(out, warningOut, severeOut);
+    }
+
+    /**
+     * Limits console content to configured high watermark, it is trimmed to low watermark when the
+     * limit is reached.
+     */
+    private void applyWaterMarks() {
+        if (!store.getBoolean(LIMIT_CONSOLE)) {
+            setWaterMarks(-1, -1);
+            return;
+        }
+
+        int high = Math.max(store.getInt(CONSOLE_HIGH_WATERMARK), 2000);
+        int low = Math.max(store.getInt(CONSOLE_LOW_WATERMARK), 1000);
+        if (low >= high) {
+            low = Math.max(high * 4 / 5, 1000);
+        }
+        setWaterMarks(low, high);
+    }
+
+    private void applyStyles() {
+        Display display = PlatformUI.isWorkbenchRunning() ? PlatformUI.getWorkbench().getDisplay() : null;
+        if (display == null || display.isDisposed()) {
+            return;
+        }
+
+        display.asyncExec(() -> {
+            if (store.getBoolean(ENABLE_COLORS_CONSOLE)) {
+                warningOut.setColor(display.getSystemColor(SWT.COLOR_DARK_YELLOW));
+                severeOut.setColor(PlatformUI.getWorkbench().getThemeManager().getCurrentTheme().getColorRegistry()
+                        .get(JFacePreferences.ERROR_COLOR));
+                severeOut.setFontStyle(SWT.BOLD);
+            } else {
+                warningOut.setColor(null);
+                severeOut.setColor(null);
+                severeOut.setFontStyle(SWT.NORMAL);
+            }
+        });
+    }
+
+    @Override
+    protected void dispose() {
+        store.removePropertyChangeListener(preferenceListener);
+        super.dispose();
     }
 
 }
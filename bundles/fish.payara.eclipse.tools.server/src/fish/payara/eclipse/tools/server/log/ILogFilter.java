@@ -33,6 +33,19 @@ public interface ILogFilter {
      */
     String process(String line);
 
+    /**
+     * Processes read line given as part of character array. Filters parsing lines in place override
+     * this to avoid creating a string for every line.
+     *
+     * @param chars - buffer holding the line, mustn't be kept by the filter
+     * @param offset - start of the line
+     * @param length - length of the line without new line character
+     * @return Complete log record or null if the read line haven't completed the log record.
+     */
+    default String process(char[] chars, int offset, int length) {
+        return process(new String(chars, offset, length));
+    }
+
     default boolean hasProcessedPayara() {
         return false;
     }
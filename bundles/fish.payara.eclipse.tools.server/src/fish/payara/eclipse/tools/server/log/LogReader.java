@@ -18,29 +18,39 @@
 
 package fish.payara.eclipse.tools.server.log;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.CountDownLatch;
-
-import org.eclipse.ui.console.MessageConsoleStream;
+import java.util.concurrent.TimeUnit;
 
 import fish.payara.eclipse.tools.server.sdk.server.FetchLog;
 
 public class LogReader implements Runnable {
 
+    // Log fetchers hand over all available data at once, read them in large chunks
+    private static final int READ_BUFFER_SIZE = 65536;
+
+    // Records are handed to the console in batches, a batch is written when it reaches this size, when
+    // it is older than the flush delay or when no more data are available right now
+    private static final int FLUSH_SIZE = 65536;
+    private static final long FLUSH_DELAY = TimeUnit.MILLISECONDS.toNanos(50);
+
     private FetchLog logFetcher;
-    private MessageConsoleStream output;
+    private LogWriter output;
     private CountDownLatch latch;
     private ILogFilter filter;
 
-    private boolean hasLogged;
-    private boolean hasProcessedPayara;
+    private volatile boolean hasLogged;
+    private volatile boolean hasProcessedPayara;
 
-    LogReader(FetchLog logFetcher, MessageConsoleStream outputStream, CountDownLatch latch, ILogFilter filter) {
+    private long batchStart;
+
+    LogReader(FetchLog logFetcher, LogWriter output, CountDownLatch latch, ILogFilter filter) {
         this.logFetcher = logFetcher;
-        this.output = outputStream;
+        this.output = output;
         this.latch = latch;
         this.filter = filter;
     }
@@ -48,33 +58,88 @@ public class LogReader implements Runnable {
     @Override
     public void run() {
         try {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(logFetcher.getInputStream(), StandardCharsets.UTF_8));
-
-            for (String line = null; (line = reader.readLine()) != null;) {
-                line = filter.process(line);
-                if (line != null) {
-                    hasLogged = true;
-                    if (!hasProcessedPayara) {
-                        hasProcessedPayara = filter.hasProcessedPayara();
+            Reader reader = new InputStreamReader(logFetcher.getInputStream(), StandardCharsets.UTF_8);
+
+            // Lines are passed to the filter as parts of the read buffer, only lines spanning two reads
+            // are copied into the line buffer
+            char[] chars = new char[READ_BUFFER_SIZE];
+            char[] line = new char[256];
+            int lineLength = 0;
+            boolean skipLf = false;
+            for (int count; (count = reader.read(chars)) >= 0;) {
+                int start = 0;
+                for (int i = 0; i < count; i++) {
+                    char c = chars[i];
+                    if (c != '\n' && c != '\r') {
+                        skipLf = false;
+                        continue;
+                    }
+                    if (c == '\n' && skipLf) {
+                        skipLf = false;
+                        start = i + 1;
+                        continue;
                     }
-                    output.println(line);
+                    skipLf = c == '\r';
+                    if (lineLength > 0) {
+                        line = append(line, lineLength, chars, start, i - start);
+                        lineLength += i - start;
+                        processLine(line, 0, lineLength);
+                        lineLength = 0;
+                    } else {
+                        processLine(chars, start, i - start);
+                    }
+                    start = i + 1;
+                }
+                line = append(line, lineLength, chars, start, count - start);
+                lineLength += count - start;
+
+                if (output.pending() > 0 && (!reader.ready() || System.nanoTime() - batchStart >= FLUSH_DELAY)) {
+                    output.flush();
                 }
             }
-            output.flush();
+            if (lineLength > 0) {
+                processLine(line, 0, lineLength);
+            }
         } catch (IOException e) {
             // this happens when input stream is closed, no need to print
             // e.printStackTrace();
         } finally {
+            output.flush();
             logFetcher.close();
             latch.countDown();
         }
     }
 
-    public synchronized boolean hasLogged() {
+    private void processLine(char[] chars, int offset, int length) {
+        String line = filter.process(chars, offset, length);
+        if (line != null) {
+            hasLogged = true;
+            if (!hasProcessedPayara) {
+                hasProcessedPayara = filter.hasProcessedPayara();
+            }
+            if (output.pending() == 0) {
+                batchStart = System.nanoTime();
+            }
+            output.println(line);
+            if (output.pending() >= FLUSH_SIZE) {
+                output.flush();
+            }
+        }
+    }
+
+    private static char[] append(char[] line, int lineLength, char[] chars, int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(2 * line.length, lineLength + length));
+        }
+        System.arraycopy(chars, offset, line, lineLength, length);
+        return line;
+    }
+
+    public boolean hasLogged() {
         return hasLogged;
     }
 
-    public synchronized boolean hasProcessedPayara() {
+    public boolean hasProcessedPayara() {
         return hasProcessedPayara;
     }
 
@@ -22,87 +22,99 @@ import fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields
 
 class LogRecord {
 
-    private String time;
-    private String level;
-    private String version;
-    private String classinfo;
-    private String threadinfo;
-    private String message;
+    private static final GlassfishLogFields[] FIELDS = GlassfishLogFields.values();
+
+    private final String[] values = new String[FIELDS.length];
+
+    // Fields parsed in place are kept as bounds in source and turned into strings on first access
+    private CharSequence source;
+    private final int[] bounds = new int[2 * FIELDS.length];
 
     LogRecord() {
-        time = level = version = classinfo = threadinfo = message = "";
+        reset();
     }
 
     public void reset() {
-        time = level = version = classinfo = threadinfo = message = "";
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "";
+        }
+        source = null;
+    }
+
+    /**
+     * Sets field to given part of source, the value is extracted only when requested. Source must
+     * not change until the record is reset.
+     */
+    void setField(GlassfishLogFields field, CharSequence source, int start, int end) {
+        int i = field.ordinal();
+        this.source = source;
+        values[i] = null;
+        bounds[2 * i] = start;
+        bounds[2 * i + 1] = end;
+    }
+
+    private String get(GlassfishLogFields field) {
+        int i = field.ordinal();
+        String value = values[i];
+        if (value == null) {
+            value = values[i] = source.subSequence(bounds[2 * i], bounds[2 * i + 1]).toString();
+        }
+        return value;
     }
 
     public String getTime() {
-        return time;
+        return get(GlassfishLogFields.DATETIME);
     }
 
     public void setTime(String time) {
-        this.time = time;
+        values[GlassfishLogFields.DATETIME.ordinal()] = time;
     }
 
     public String getLevel() {
-        return level;
+        return get(GlassfishLogFields.LEVEL);
     }
 
     public void setLevel(String level) {
-        this.level = level;
+        values[GlassfishLogFields.LEVEL.ordinal()] = level;
     }
 
     public String getClassInfo() {
-        return classinfo;
+        return get(GlassfishLogFields.CLASSINFO);
     }
 
     public void setClassInfo(String classinfo) {
-        this.classinfo = classinfo;
+        values[GlassfishLogFields.CLASSINFO.ordinal()] = classinfo;
     }
 
     public String getThreadInfo() {
-        return threadinfo;
+        return get(GlassfishLogFields.THREADINFO);
     }
 
     public void setThreadInfo(String threadinfo) {
-        this.threadinfo = threadinfo;
+        values[GlassfishLogFields.THREADINFO.ordinal()] = threadinfo;
     }
 
     public String getMessage() {
-        return message;
+        return get(GlassfishLogFields.MESSAGE);
     }
 
     public void setMessage(String message) {
-        this.message = message;
+        values[GlassfishLogFields.MESSAGE.ordinal()] = message;
     }
 
     public String getVersion() {
-        return version;
+        return get(GlassfishLogFields.VERSION);
     }
 
     public void setVersion(String version) {
-        this.version = version;
+        values[GlassfishLogFields.VERSION.ordinal()] = version;
     }
 
     public String getRecordFieldValue(GlassfishLogFields field) {
-        switch (field) {
-        case CLASSINFO:
-            return getClassInfo();
-        case VERSION:
-            return getVersion();
-        case THREADINFO:
-            return getThreadInfo();
-        case DATETIME:
-            return getTime();
-        case MESSAGE:
-            return getMessage();
-        case LEVEL:
-            return getLevel();
-
-        default:
+        if (field == null) {
             throw new IllegalArgumentException();
         }
+        return get(field);
     }
 
     public String[] getRecordFieldValues(GlassfishLogFields... fields) {
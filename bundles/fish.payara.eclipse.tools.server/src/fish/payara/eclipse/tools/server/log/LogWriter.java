@@ -0,0 +1,96 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.log;
+
+import java.util.logging.Level;
+
+import org.eclipse.ui.console.MessageConsoleStream;
+
+/**
+ * Writes formatted log records into console streams.
+ *
+ * <p>
+ * Warning and severe records are written to the stream styled for their level. The level is looked up
+ * once per record here, the console keeps the style with the document partition. Consecutive records
+ * of the same stream are collected until {@link #flush()} or until the stream changes, so a run of
+ * records is handed to the console as a single append even when it is made of warnings.
+ * </p>
+ */
+class LogWriter {
+
+    private static final String WARNING = Level.WARNING.getName();
+    private static final String SEVERE = Level.SEVERE.getName();
+    private static final String FATAL = "FATAL";
+
+    private final MessageConsoleStream out;
+    private final MessageConsoleStream warningOut;
+    private final MessageConsoleStream severeOut;
+
+    private final StringBuilder pending = new StringBuilder(1024);
+    private MessageConsoleStream pendingStream;
+
+    LogWriter(MessageConsoleStream out, MessageConsoleStream warningOut, MessageConsoleStream severeOut) {
+        this.out = out;
+        this.warningOut = warningOut;
+        this.severeOut = severeOut;
+    }
+
+    /**
+     * Writes a record followed by new line.
+     */
+    void println(String record) {
+        // Level is in the first line of the record, before the message
+        int header = record.indexOf('\n');
+        if (header == -1) {
+            header = record.length();
+        }
+
+        MessageConsoleStream stream = out;
+        if (contains(record, WARNING, header)) {
+            stream = warningOut;
+        } else if (contains(record, SEVERE, header) || contains(record, FATAL, header)) {
+            stream = severeOut;
+        }
+
+        append(stream, record);
+        append(stream, "\n");
+    }
+
+    /**
+     * Returns number of characters not written to the console yet.
+     */
+    int pending() {
+        return pending.length();
+    }
+
+    /**
+     * Writes collected text to the console.
+     */
+    void flush() {
+        if (pending.length() > 0) {
+            pendingStream.print(pending.toString());
+            pending.setLength(0);
+        }
+    }
+
+    private void append(MessageConsoleStream stream, String text) {
+        if (stream != pendingStream) {
+            flush();
+            pendingStream = stream;
+        }
+        pending.append(text);
+    }
+
+    // Searches backwards from the end of the header, so the message is never scanned
+    private static boolean contains(String record, String level, int end) {
+        return record.lastIndexOf(level, end - level.length()) != -1;
+    }
+
+}
@@ -18,24 +18,40 @@
 
 package fish.payara.eclipse.tools.server.log;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import static fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields.CLASSINFO;
+import static fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields.DATETIME;
+import static fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields.MESSAGE;
+import static fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields.THREADINFO;
+import static fish.payara.eclipse.tools.server.log.AbstractLogFilter.GlassfishLogFields.VERSION;
 
 import fish.payara.eclipse.tools.server.PayaraServerPlugin;
 
+/**
+ * Filter of records in Payara ODL log format:
+ *
+ * <pre>
+ * [date-time] [server name] [level name] [version] [class info] [thread info] [time millis] [level value] [[
+ *   message]]
+ * </pre>
+ *
+ * Records are separated by empty lines. Lines of a record are collected in the buffer and the record
+ * is parsed in a single pass over it, fields are kept as bounds in the buffer and turned into strings
+ * only when the formatter asks for them.
+ */
 public class PatternLogFilterV4 extends AbstractLogFilter {
 
-    private static final Pattern logPattern = Pattern.compile("^\\[([^\\]]*)\\]\\s+" + // date-time
-            "\\[([^\\]]*)\\]\\s+" + // server name
-            "\\[([^\\]]*)\\]\\s+" + // level name
-            "\\[([^\\]]*)\\]\\s+" + // version
-            "\\[([^\\]]*)\\]\\s+" + // class info
-            "\\[([^\\]]*)\\]\\s+" + // thread info
-            "\\[([^\\]]*)\\]\\s+" + // time millis
-            "\\[([^\\]]*)\\]\\s+" + // level value
-            "\\[{2}\\s*(.+)\\]{2}\\s$", Pattern.DOTALL); // log message
+    // Bracketed fields before the message
+    private static final int FIELDS = 8;
+    private static final int TIME = 0;
+    private static final int SERVER = 1;
+    private static final int LEVEL = 2;
+    private static final int CLASS = 4;
+    private static final int THREAD = 5;
 
-    private static final Pattern endOfMessagePattern = Pattern.compile("^//s*[^//]]{2}\\s$"); // log message
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+    private int messageStart;
+    private int messageEnd;
 
     private boolean hasProcessedPayara;
 
@@ -50,33 +66,133 @@ public class PatternLogFilterV4 extends AbstractLogFilter {
 
     @Override
     public String process(String line) {
-        String result = null;
         if (line.equals(logRecordDelimeter)) {
-            Matcher m = logPattern.matcher(buffer);
-            if (m.matches()) {
-                record.setTime(m.group(1));
-                record.setLevel(levelResolver.resolve(m.group(3)));
-                record.setVersion(m.group(2));
-                record.setClassInfo(m.group(5));
-                record.setThreadInfo(m.group(6));
-                record.setMessage(m.group(9));
-                result = formatter.formatLogRecord(record);
-                reset();
-                hasProcessedPayara = true;
-            } else if (!isReadingUserMessage()) {
-                PayaraServerPlugin.logMessage("Log record that does not match expected format detected!");
-                PayaraServerPlugin.logMessage(buffer.toString());
+            return processRecord();
+        }
+
+        buffer.append(line);
+        buffer.append('\n');
+        return null;
+    }
+
+    @Override
+    public String process(char[] chars, int offset, int length) {
+        if (isDelimeter(chars, offset, length)) {
+            return processRecord();
+        }
+
+        buffer.append(chars, offset, length);
+        buffer.append('\n');
+        return null;
+    }
+
+    private boolean isDelimeter(char[] chars, int offset, int length) {
+        if (length != logRecordDelimeter.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != logRecordDelimeter.charAt(i)) {
+                return false;
             }
-        } else {
-            buffer.append(line);
-            buffer.append('\n');
+        }
+        return true;
+    }
+
+    private String processRecord() {
+        String result = null;
+        if (parse()) {
+            record.setField(DATETIME, buffer, starts[TIME], ends[TIME]);
+            record.setLevel(levelResolver.resolve(buffer.substring(starts[LEVEL], ends[LEVEL])));
+            record.setField(VERSION, buffer, starts[SERVER], ends[SERVER]);
+            record.setField(CLASSINFO, buffer, starts[CLASS], ends[CLASS]);
+            record.setField(THREADINFO, buffer, starts[THREAD], ends[THREAD]);
+            record.setField(MESSAGE, buffer, messageStart, messageEnd);
+            result = formatter.formatLogRecord(record);
+            reset();
+            hasProcessedPayara = true;
+        } else if (!isReadingUserMessage()) {
+            PayaraServerPlugin.logMessage("Log record that does not match expected format detected!");
+            PayaraServerPlugin.logMessage(buffer.toString());
+            reset();
         }
         return result;
     }
 
+    /**
+     * Finds bounds of record fields in the buffer.
+     *
+     * @return <code>false</code> when the buffer does not hold complete record
+     */
+    private boolean parse() {
+        final StringBuilder b = buffer;
+        final int length = b.length();
+        int pos = 0;
+
+        for (int field = 0; field < FIELDS; field++) {
+            if (pos >= length || b.charAt(pos) != '[') {
+                return false;
+            }
+            int end = pos + 1;
+            while (end < length && b.charAt(end) != ']') {
+                end++;
+            }
+            if (end + 1 >= length || !isWhitespace(b.charAt(end + 1))) {
+                return false;
+            }
+            starts[field] = pos + 1;
+            ends[field] = end;
+            pos = end + 2;
+            while (pos < length && isWhitespace(b.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        if (pos + 1 >= length || b.charAt(pos) != '[' || b.charAt(pos + 1) != '[') {
+            return false;
+        }
+        pos += 2;
+
+        // Message runs up to the last "]]", which is followed by single whitespace at the end
+        int end = endOfMessage();
+        if (end < pos) {
+            return false;
+        }
+        int start = pos;
+        while (start < end && isWhitespace(b.charAt(start))) {
+            start++;
+        }
+        if (start == end) {
+            // Message of whitespace only, it keeps its last character
+            if (end == pos) {
+                return false;
+            }
+            start--;
+        }
+        messageStart = start;
+        messageEnd = end;
+        return true;
+    }
+
+    /**
+     * Returns position of closing "]]" of the message in the buffer or -1 when the buffer does not end
+     * with it.
+     */
+    private int endOfMessage() {
+        final StringBuilder b = buffer;
+        int last = b.length() - 1;
+        if (last >= 2 && isWhitespace(b.charAt(last)) && b.charAt(last - 1) == ']' && b.charAt(last - 2) == ']') {
+            return last - 2;
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
     @Override
     protected boolean isReadingUserMessage() {
-        return !endOfMessagePattern.matcher(buffer).matches();
+        return endOfMessage() < 0;
     }
 
 }
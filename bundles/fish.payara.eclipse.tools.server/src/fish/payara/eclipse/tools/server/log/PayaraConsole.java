@@ -29,6 +29,7 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import fish.payara.eclipse.tools.server.PayaraServerPlugin;
 import fish.payara.eclipse.tools.server.sdk.server.FetchLog;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
 
 // TODO will be GlassfishLocalConsole in the future, new GlassfishRemoteConsole to be implemented
 public class PayaraConsole extends AbstractPayaraConsole implements IPayaraConsole {
@@ -82,9 +83,9 @@ public class PayaraConsole extends AbstractPayaraConsole implements IPayaraConso
 
         int i = 0;
         for (FetchLog logFetcher : logFetchers) {
-            LogReader reader = new LogReader(logFetcher, out, latch, filter);
+            LogReader reader = new LogReader(logFetcher, newLogWriter(), latch, filter);
             readers.add(reader);
-            new Thread(reader, "LogReader Thread" + i++).start();
+            ExecutorFactory.threadFactory("LogReader Thread" + i++).newThread(reader).start();
         }
     }
 
@@ -123,6 +124,8 @@ public class PayaraConsole extends AbstractPayaraConsole implements IPayaraConso
                 latch.await();
             }
             out.close();
+            warningOut.close();
+            severeOut.close();
         } catch (IOException | InterruptedException e) {
             e.printStackTrace();
         }
@@ -28,5 +28,9 @@ public class PreferenceConstants {
     public static final String ENABLE_LOG = "EnableLogPreference";
     public static final String ENABLE_START_VERBOSE = "EnableStartVerboseModePreference";
     public static final String ENABLE_COLORS_CONSOLE = "EnableColorsInConsolePreference";
+    public static final String LIMIT_CONSOLE = "LimitConsolePreference";
+    public static final String CONSOLE_HIGH_WATERMARK = "ConsoleHighWatermarkPreference";
+    public static final String CONSOLE_LOW_WATERMARK = "ConsoleLowWatermarkPreference";
+    public static final String LOG_INDEX = "LogIndexPreference";
 
 }
@@ -42,6 +42,10 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
         store.setDefault(PreferenceConstants.ENABLE_LOG, false);
         store.setDefault(PreferenceConstants.ENABLE_START_VERBOSE, false);
         store.setDefault(PreferenceConstants.ENABLE_COLORS_CONSOLE, true);
+        store.setDefault(PreferenceConstants.LIMIT_CONSOLE, true);
+        store.setDefault(PreferenceConstants.CONSOLE_HIGH_WATERMARK, 1_000_000);
+        store.setDefault(PreferenceConstants.CONSOLE_LOW_WATERMARK, 800_000);
+        store.setDefault(PreferenceConstants.LOG_INDEX, false);
     }
 
 }
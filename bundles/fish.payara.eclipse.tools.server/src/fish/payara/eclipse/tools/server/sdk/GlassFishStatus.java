@@ -25,10 +25,8 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.sdk.data.DataException;
 import fish.payara.eclipse.tools.server.sdk.data.GlassFishServerStatus;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusMonitor;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
-import fish.payara.eclipse.tools.server.sdk.server.state.GlassFishStatusEntity;
-import fish.payara.eclipse.tools.server.sdk.server.state.StatusJob;
-import fish.payara.eclipse.tools.server.sdk.server.state.StatusScheduler;
 
 /**
  * GlassFish server status.
@@ -150,6 +148,9 @@ public enum GlassFishStatus {
         }
     }
 
+    /** Server status polling engine. */
+    private static volatile GlassFishStatusEngine engine;
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -175,6 +176,34 @@ public enum GlassFishStatus {
         }
     }
 
+    /**
+     * Set server status polling engine.
+     * <p/>
+     * This method must be called before any other server status method.
+     * <p/>
+     *
+     * @param statusEngine Server status polling engine.
+     */
+    public static void setEngine(final GlassFishStatusEngine statusEngine) {
+        engine = statusEngine;
+    }
+
+    /**
+     * Get server status polling engine.
+     * <p/>
+     *
+     * @return Server status polling engine.
+     * @throws IllegalStateException When no engine was set.
+     */
+    private static GlassFishStatusEngine engine() {
+        final String METHOD = "engine";
+        GlassFishStatusEngine current = engine;
+        if (current == null) {
+            throw new IllegalStateException(LOGGER.excMsg(METHOD, "noEngine"));
+        }
+        return current;
+    }
+
     /**
      * Initialize GlassFish server status task scheduler to use external executor.
      * <p/>
@@ -185,7 +214,7 @@ public enum GlassFishStatus {
      */
     public static void initScheduler(
             final ScheduledThreadPoolExecutor executor) {
-        StatusScheduler.init(executor);
+        engine().init(executor);
     }
 
     /**
@@ -200,13 +229,7 @@ public enum GlassFishStatus {
      * status checking job was started or <code>false</code> otherwise.
      */
     public static boolean add(final PayaraServer srv) {
-        StatusScheduler scheduler = StatusScheduler.getInstance();
-        if (!scheduler.exists(srv)) {
-            GlassFishStatusEntity status = new GlassFishStatusEntity(srv);
-            return StatusScheduler.getInstance().add(status);
-        } else {
-            return false;
-        }
+        return engine().getInstance(srv).register();
     }
 
     /**
@@ -227,11 +250,10 @@ public enum GlassFishStatus {
     public static boolean add(final PayaraServer srv,
             final GlassFishStatusListener listener, final boolean currentState,
             final GlassFishStatus... newState) {
-        StatusScheduler scheduler = StatusScheduler.getInstance();
-        if (!scheduler.exists(srv)) {
-            GlassFishStatusEntity status = new GlassFishStatusEntity(srv);
-            return StatusScheduler.getInstance()
-                    .add(status, listener, currentState, newState);
+        GlassFishStatusMonitor monitor = engine().getInstance(srv);
+        if (monitor.register()) {
+            monitor.addStatusListener(listener, currentState, false, newState);
+            return true;
         } else {
             return false;
         }
@@ -249,7 +271,7 @@ public enum GlassFishStatus {
      * server instance.
      */
     public static GlassFishStatus getStatus(final PayaraServer srv) {
-        GlassFishServerStatus status = StatusScheduler.getInstance().get(srv, null);
+        GlassFishServerStatus status = get(srv, null);
         return status != null ? status.getStatus() : GlassFishStatus.UNKNOWN;
     }
 
@@ -269,7 +291,7 @@ public enum GlassFishStatus {
      */
     public static GlassFishStatus getStatus(final PayaraServer srv,
             final GlassFishStatusListener listener) {
-        GlassFishServerStatus status = StatusScheduler.getInstance().get(srv, listener);
+        GlassFishServerStatus status = get(srv, listener);
         return status != null ? status.getStatus() : GlassFishStatus.UNKNOWN;
     }
 
@@ -285,7 +307,7 @@ public enum GlassFishStatus {
      * value for unregistered server instance.
      */
     public static GlassFishServerStatus get(final PayaraServer srv) {
-        return StatusScheduler.getInstance().get(srv, null);
+        return get(srv, null);
     }
 
     /**
@@ -304,7 +326,11 @@ public enum GlassFishStatus {
      */
     public static GlassFishServerStatus get(final PayaraServer srv,
             final GlassFishStatusListener listener) {
-        return StatusScheduler.getInstance().get(srv, listener);
+        GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null && monitor.resume() && listener != null) {
+            monitor.addStatusListener(listener, false, false, GlassFishStatus.values());
+        }
+        return monitor;
     }
 
     /**
@@ -325,8 +351,14 @@ public enum GlassFishStatus {
     public static boolean start(final PayaraServer srv, final boolean force,
             final GlassFishStatusListener listener,
             final GlassFishStatus... newState) {
-        return StatusScheduler.getInstance().start(
-                srv, force, listener, newState);
+        GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor == null || !monitor.startup(force)) {
+            return false;
+        }
+        if (listener != null) {
+            monitor.addStatusListener(listener, false, false, newState);
+        }
+        return true;
     }
 
     /**
@@ -340,7 +372,7 @@ public enum GlassFishStatus {
      * status checking job was started or <code>false</code> otherwise.
      */
     public static boolean start(final PayaraServer srv) {
-        return StatusScheduler.getInstance().start(srv, false, null);
+        return start(srv, false, null);
     }
 
     /**
@@ -354,7 +386,8 @@ public enum GlassFishStatus {
      * status checking job was started or <code>false</code> otherwise.
      */
     public static boolean shutdown(final PayaraServer srv) {
-        return StatusScheduler.getInstance().shutdown(srv);
+        GlassFishStatusMonitor monitor = engine().get(srv);
+        return monitor != null ? monitor.shutdown() : false;
     }
 
     /**
@@ -370,7 +403,8 @@ public enum GlassFishStatus {
      * registered.
      */
     public static boolean remove(final PayaraServer srv) {
-        return StatusScheduler.getInstance().remove(srv);
+        GlassFishStatusMonitor monitor = engine().get(srv);
+        return monitor != null ? monitor.unregister() : false;
     }
 
     /**
@@ -382,7 +416,8 @@ public enum GlassFishStatus {
      * <code>false</code> when server instance is not registered.
      */
     public static boolean suspend(final PayaraServer srv) {
-        return StatusScheduler.getInstance().suspend(srv);
+        GlassFishStatusMonitor monitor = engine().get(srv);
+        return monitor != null ? monitor.suspend() : false;
     }
 
     /**
@@ -396,9 +431,9 @@ public enum GlassFishStatus {
      */
     public static boolean addCheckListener(final PayaraServer srv,
             final GlassFishStatusListener listener) {
-        final StatusJob job = StatusScheduler.getInstance().getJob(srv);
-        if (job != null) {
-            return job.addCurrStatusListener(listener);
+        final GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null) {
+            return monitor.addStatusListener(listener, true, false);
         } else {
             return false;
         }
@@ -418,9 +453,9 @@ public enum GlassFishStatus {
     public static boolean addChangeListener(final PayaraServer srv,
             final GlassFishStatusListener listener,
             final GlassFishStatus... newState) {
-        final StatusJob job = StatusScheduler.getInstance().getJob(srv);
-        if (job != null) {
-            return job.addNewStatusListener(listener, newState);
+        final GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null) {
+            return monitor.addStatusListener(listener, false, false, newState);
         } else {
             return false;
         }
@@ -438,9 +473,9 @@ public enum GlassFishStatus {
      */
     public static boolean addErrorListener(final PayaraServer srv,
             final GlassFishStatusListener listener) {
-        final StatusJob job = StatusScheduler.getInstance().getJob(srv);
-        if (job != null) {
-            return job.addErrorListener(listener);
+        final GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null) {
+            return monitor.addStatusListener(listener, false, true);
         } else {
             return false;
         }
@@ -461,9 +496,9 @@ public enum GlassFishStatus {
     public static boolean addListener(final PayaraServer srv,
             final GlassFishStatusListener listener, final boolean currentState,
             final GlassFishStatus... newState) {
-        final StatusJob job = StatusScheduler.getInstance().getJob(srv);
-        if (job != null) {
-            return job.addStatusListener(listener, currentState, newState);
+        final GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null) {
+            return monitor.addStatusListener(listener, currentState, false, newState);
         } else {
             return false;
         }
@@ -481,9 +516,9 @@ public enum GlassFishStatus {
      */
     public static boolean removeListener(final PayaraServer srv,
             final GlassFishStatusListener listener) {
-        final StatusJob job = StatusScheduler.getInstance().getJob(srv);
-        if (job != null) {
-            return job.removeStatusListener(listener);
+        final GlassFishStatusMonitor monitor = engine().get(srv);
+        if (monitor != null) {
+            return monitor.removeStatusListener(listener);
         } else {
             return false;
         }
@@ -0,0 +1,59 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.data.GlassFishStatusMonitor;
+
+/**
+ * GlassFish server status polling engine interface.
+ * <p/>
+ * Engine providing status monitors of individual server instances to {@link GlassFishStatus} API.
+ * Engine implementation is set by the IDE using {@link GlassFishStatus#setEngine(GlassFishStatusEngine)}.
+ * <p/>
+ */
+public interface GlassFishStatusEngine {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Interface Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Initialize engine to use external scheduler.
+     * <p/>
+     * This method must be called before first server instance is registered.
+     * <p/>
+     *
+     * @param executor External scheduler to be used by the engine.
+     */
+    public void init(final ScheduledExecutorService executor);
+
+    /**
+     * Get status monitor of server instance, creating a new one when it does not exist.
+     * <p/>
+     *
+     * @param srv GlassFish server instance.
+     * @return Status monitor of the server instance.
+     */
+    public GlassFishStatusMonitor getInstance(final PayaraServer srv);
+
+    /**
+     * Get existing status monitor of server instance.
+     * <p/>
+     *
+     * @param srv GlassFish server instance.
+     * @return Status monitor of the server instance or <code>null</code> when server instance is not
+     * monitored.
+     */
+    public GlassFishStatusMonitor get(final PayaraServer srv);
+
+}
@@ -18,6 +18,8 @@
 
 package fish.payara.eclipse.tools.server.sdk;
 
+import java.io.File;
+
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
 
 /**
@@ -38,6 +40,39 @@ public class GlassFishToolsConfig {
     /** Proxy settings usage for loopback addresses. */
     private static volatile boolean proxyForLoopback = true;
 
+    /** Keep administration interface connections alive between commands. */
+    private static volatile boolean adminKeepAlive = true;
+
+    /** Maximum number of cached TLS sessions of administration connections per server. */
+    private static volatile int adminTlsSessionCacheSize = 4;
+
+    /** Timeout of cached administration TLS sessions [s]. */
+    private static volatile int adminTlsSessionTimeout = 30;
+
+    /** Maximum number of servers with pooled administration TLS contexts. */
+    private static volatile int adminPoolSize = 16;
+
+    /** Maximum number of threads running administration commands in parallel. */
+    private static volatile int adminMaxThreads = 4;
+
+    /** Time to live of cached administration listener protocol detection [ms]. */
+    private static volatile long adminProtocolCacheTtl = 300000;
+
+    /** Execution mode of background I/O tasks. */
+    private static volatile ThreadMode threadMode = ThreadMode.AUTO;
+
+    /** Size of server log fetcher buffer [bytes]. */
+    private static volatile int logBufferSize = 1 << 20;
+
+    /** Server log fetcher behavior when its buffer is full. */
+    private static volatile LogOverflow logOverflow = LogOverflow.BLOCK;
+
+    /** Index local server log records while the log is being fetched. */
+    private static volatile boolean logIndex = false;
+
+    /** Directory of server log index files. */
+    private static volatile File logIndexDirectory;
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -68,4 +103,270 @@ public class GlassFishToolsConfig {
         return proxyForLoopback;
     }
 
+    /**
+     * Enable or disable keep-alive of administration interface connections.
+     * <p/>
+     * Idle connections are kept by JDK keep-alive cache which is configured by <code>http.*</code>
+     * system properties of the whole JVM, those are not changed here.
+     * <p/>
+     *
+     * @param keepAlive Keep administration connections alive between commands when <code>true</code>.
+     */
+    public static void setAdminKeepAlive(final boolean keepAlive) {
+        adminKeepAlive = keepAlive;
+    }
+
+    /**
+     * Get administration interface connections keep-alive configuration value.
+     * <p/>
+     *
+     * @return Administration interface connections keep-alive configuration value.
+     */
+    public static boolean getAdminKeepAlive() {
+        return adminKeepAlive;
+    }
+
+    /**
+     * Set size of TLS session cache of administration connections of single server.
+     * <p/>
+     * Cached sessions let new TLS connections resume the handshake. Number of connections itself is
+     * managed by JDK keep-alive cache. This method should be called before first administration
+     * command is executed.
+     * <p/>
+     *
+     * @param cacheSize Maximum number of cached TLS sessions per server.
+     */
+    public static void setAdminTlsSessionCacheSize(final int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("cacheSize");
+        }
+        adminTlsSessionCacheSize = cacheSize;
+    }
+
+    /**
+     * Get size of TLS session cache of administration connections of single server.
+     * <p/>
+     *
+     * @return Maximum number of cached TLS sessions per server.
+     */
+    public static int getAdminTlsSessionCacheSize() {
+        return adminTlsSessionCacheSize;
+    }
+
+    /**
+     * Set timeout after which cached administration TLS sessions can not be resumed.
+     * <p/>
+     *
+     * @param sessionTimeout TLS session timeout [s].
+     */
+    public static void setAdminTlsSessionTimeout(final int sessionTimeout) {
+        if (sessionTimeout < 1) {
+            throw new IllegalArgumentException("sessionTimeout");
+        }
+        adminTlsSessionTimeout = sessionTimeout;
+    }
+
+    /**
+     * Get timeout after which cached administration TLS sessions can not be resumed.
+     * <p/>
+     *
+     * @return TLS session timeout [s].
+     */
+    public static int getAdminTlsSessionTimeout() {
+        return adminTlsSessionTimeout;
+    }
+
+    /**
+     * Set maximum number of servers for which administration TLS contexts are pooled.
+     * <p/>
+     *
+     * @param poolSize Maximum number of pooled servers.
+     */
+    public static void setAdminPoolSize(final int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize");
+        }
+        adminPoolSize = poolSize;
+    }
+
+    /**
+     * Get maximum number of servers for which administration TLS contexts are pooled.
+     * <p/>
+     *
+     * @return Maximum number of pooled servers.
+     */
+    public static int getAdminPoolSize() {
+        return adminPoolSize;
+    }
+
+    /**
+     * Set time to live of cached administration listener protocol detection.
+     * <p/>
+     *
+     * @param ttl Time to live [ms]. Value of <code>0</code> disables caching.
+     */
+    public static void setAdminProtocolCacheTtl(final long ttl) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl");
+        }
+        adminProtocolCacheTtl = ttl;
+    }
+
+    /**
+     * Get time to live of cached administration listener protocol detection.
+     * <p/>
+     *
+     * @return Time to live [ms].
+     */
+    public static long getAdminProtocolCacheTtl() {
+        return adminProtocolCacheTtl;
+    }
+
+    /**
+     * Set maximum number of threads running administration commands for different servers in parallel.
+     * <p/>
+     * This method must be called before first administration command is executed.
+     * <p/>
+     *
+     * @param maxThreads Maximum number of threads.
+     */
+    public static void setAdminMaxThreads(final int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads");
+        }
+        adminMaxThreads = maxThreads;
+    }
+
+    /**
+     * Get maximum number of threads running administration commands for different servers in parallel.
+     * <p/>
+     *
+     * @return Maximum number of threads.
+     */
+    public static int getAdminMaxThreads() {
+        return adminMaxThreads;
+    }
+
+    /**
+     * Set execution mode of administration commands, server status checks and log readers.
+     * <p/>
+     * This method must be called before first background task is started. Executors already created
+     * keep their original mode.
+     * <p/>
+     *
+     * @param mode Execution mode.
+     */
+    public static void setThreadMode(final ThreadMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode");
+        }
+        threadMode = mode;
+    }
+
+    /**
+     * Get execution mode of administration commands, server status checks and log readers.
+     * <p/>
+     *
+     * @return Execution mode.
+     */
+    public static ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    /**
+     * Set size of buffer passing log data from server log fetcher to its reader.
+     * <p/>
+     * Size is rounded up to power of two. Log fetchers already created keep their original size.
+     * <p/>
+     *
+     * @param size Buffer size [bytes].
+     */
+    public static void setLogBufferSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size");
+        }
+        logBufferSize = size;
+    }
+
+    /**
+     * Get size of buffer passing log data from server log fetcher to its reader.
+     * <p/>
+     *
+     * @return Buffer size [bytes].
+     */
+    public static int getLogBufferSize() {
+        return logBufferSize;
+    }
+
+    /**
+     * Set server log fetcher behavior when its buffer is full.
+     * <p/>
+     * Log fetchers already created keep their original behavior.
+     * <p/>
+     *
+     * @param overflow Log buffer overflow behavior.
+     */
+    public static void setLogOverflow(final LogOverflow overflow) {
+        if (overflow == null) {
+            throw new IllegalArgumentException("overflow");
+        }
+        logOverflow = overflow;
+    }
+
+    /**
+     * Get server log fetcher behavior when its buffer is full.
+     * <p/>
+     *
+     * @return Log buffer overflow behavior.
+     */
+    public static LogOverflow getLogOverflow() {
+        return logOverflow;
+    }
+
+    /**
+     * Set whether local server log records are indexed while the log is being fetched.
+     * <p/>
+     * Index allows to search records by time, level and logger without reading the log. It is stored
+     * in log index directory and is not maintained until the directory is set. Indexing is disabled by
+     * default.
+     * <p/>
+     *
+     * @param index Index local server log records when <code>true</code>.
+     */
+    public static void setLogIndex(final boolean index) {
+        logIndex = index;
+    }
+
+    /**
+     * Get whether local server log records are indexed while the log is being fetched.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when local server log records are indexed.
+     */
+    public static boolean isLogIndex() {
+        return logIndex && logIndexDirectory != null;
+    }
+
+    /**
+     * Set directory where server log index files are stored.
+     * <p/>
+     * Index files are never written into server domain, the plugin uses its state location.
+     * <p/>
+     *
+     * @param directory Log index directory or <code>null</code> to disable log indexing.
+     */
+    public static void setLogIndexDirectory(final File directory) {
+        logIndexDirectory = directory;
+    }
+
+    /**
+     * Get directory where server log index files are stored.
+     * <p/>
+     *
+     * @return Log index directory or <code>null</code> when it was not set.
+     */
+    public static File getLogIndexDirectory() {
+        return logIndexDirectory;
+    }
+
 }
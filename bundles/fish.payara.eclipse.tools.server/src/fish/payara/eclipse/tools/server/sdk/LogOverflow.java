@@ -0,0 +1,33 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk;
+
+/**
+ * Behavior of server log fetcher when its log buffer is full because log lines are not consumed fast
+ * enough.
+ * <p/>
+ * See {@link fish.payara.eclipse.tools.server.sdk.server.FetchLogPiped}.
+ */
+public enum LogOverflow {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Enum values //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Log reading task waits until there is free space in the buffer. No log data are lost. */
+    BLOCK,
+
+    /**
+     * Oldest log lines are dropped to make space for new ones. Log reading task never waits, dropped
+     * data are counted.
+     */
+    DROP_OLDEST;
+
+}
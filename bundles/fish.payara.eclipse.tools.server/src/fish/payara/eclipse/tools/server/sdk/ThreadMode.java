@@ -0,0 +1,33 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk;
+
+/**
+ * Execution mode of background tasks which spend most of their time waiting for network or file
+ * system I/O.
+ * <p/>
+ * See {@link fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory}.
+ */
+public enum ThreadMode {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Enum values //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Use virtual threads when running Java supports them, platform threads otherwise. */
+    AUTO,
+
+    /** Always use platform threads. */
+    PLATFORM,
+
+    /** Use virtual threads. Falls back to platform threads when running Java does not support them. */
+    VIRTUAL;
+
+}
@@ -0,0 +1,240 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
+
+/**
+ * Administration commands scheduler with individual lane for every server.
+ * <p/>
+ * Commands passed to the same server are executed one by one to keep server side ordering
+ * guarantees. Commands passed to different servers run in parallel using shared executor from
+ * {@link ExecutorFactory}, either with bounded amount of platform threads or with virtual threads.
+ * Lanes are served in round robin order so busy server can't block other servers.
+ * <p/>
+ * Server probes (see {@link Command#isReadOnly()}) bypass other commands waiting in the same lane, so
+ * status checks are not delayed by long running deployments. All other commands keep their order.
+ * Already running command is never interrupted.
+ */
+final class AdminCommandScheduler {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Commands queue of single server.
+     */
+    private static final class Lane {
+
+        /** Lane key. */
+        private final String key;
+
+        /** Waiting server probes. */
+        private final Deque<FutureTask<Result>> reads = new ArrayDeque<>();
+
+        /** Waiting other commands. */
+        private final Deque<FutureTask<Result>> writes = new ArrayDeque<>();
+
+        /** Server probes executed in a row while other command was waiting. */
+        private int bypassed;
+
+        /** Lane has command being executed or submitted for execution. */
+        private boolean active;
+
+        /**
+         * Creates an instance of server commands queue.
+         * <p/>
+         *
+         * @param key Lane key.
+         */
+        private Lane(final String key) {
+            this.key = key;
+        }
+
+        /**
+         * Select next command to be executed.
+         * <p/>
+         * Caller must own <code>lanes</code> lock.
+         * <p/>
+         *
+         * @return Next command to be executed or <code>null</code> when lane is empty.
+         */
+        private FutureTask<Result> next() {
+            if (!reads.isEmpty() && (writes.isEmpty() || bypassed < MAX_BYPASS)) {
+                bypassed = writes.isEmpty() ? 0 : bypassed + 1;
+                return reads.poll();
+            }
+            bypassed = 0;
+            return writes.poll();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Maximum number of server probes which may bypass waiting command in a row.
+     */
+    private static final int MAX_BYPASS = 8;
+
+    /** Thread name. */
+    private static final String THREAD_NAME = "Payara Admin Commands";
+
+    /** Singleton object instance. */
+    private static volatile AdminCommandScheduler instance;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Return existing singleton instance of this class or create a new one when no instance exists.
+     * <p/>
+     *
+     * @return <code>AdminCommandScheduler</code> singleton instance.
+     */
+    static AdminCommandScheduler getInstance() {
+        if (instance != null) {
+            return instance;
+        }
+        synchronized (AdminCommandScheduler.class) {
+            if (instance == null) {
+                instance = new AdminCommandScheduler(GlassFishToolsConfig.getAdminMaxThreads());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Build lane key for given runner.
+     * <p/>
+     * Commands are serialized per server administration interface.
+     * <p/>
+     *
+     * @param runner Administration command runner.
+     * @return Lane key.
+     */
+    private static String key(final Runner runner) {
+        return runner.server != null ? AdminConnectionPool.key(runner.server) : "";
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Shared executor running lane commands. */
+    private final ExecutorService executor;
+
+    /** Active server lanes. */
+    private final Map<String, Lane> lanes;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of administration commands scheduler.
+     * <p/>
+     *
+     * Platform threads limit does not apply in virtual threads execution mode. Commands of the same
+     * server are serialized by lanes in both modes.
+     * <p/>
+     *
+     * @param maxThreads Maximum number of platform threads running commands in parallel.
+     */
+    private AdminCommandScheduler(final int maxThreads) {
+        executor = ExecutorFactory.newExecutor(THREAD_NAME, maxThreads);
+        lanes = new HashMap<>();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Submit administration command into its server lane.
+     * <p/>
+     *
+     * @param runner Administration command runner.
+     * @return <code>Future</code> object to retrieve result of asynchronous execution.
+     */
+    Future<Result> submit(final Runner runner) {
+        FutureTask<Result> task = new FutureTask<Result>(runner);
+        String key = key(runner);
+        boolean readOnly = runner.getCommand().isReadOnly();
+        Lane lane;
+        synchronized (lanes) {
+            lane = lanes.get(key);
+            if (lane == null) {
+                lane = new Lane(key);
+                lanes.put(key, lane);
+            }
+            if (readOnly) {
+                lane.reads.add(task);
+            } else {
+                lane.writes.add(task);
+            }
+            if (lane.active) {
+                return task;
+            }
+            lane.active = true;
+        }
+        schedule(lane);
+        return task;
+    }
+
+    /**
+     * Pass next command of given lane to shared executor.
+     * <p/>
+     *
+     * @param lane Server commands lane.
+     */
+    private void schedule(final Lane lane) {
+        executor.execute(() -> runNext(lane));
+    }
+
+    /**
+     * Execute next command of given lane and schedule following one.
+     * <p/>
+     * Only one command of the lane is executed at once. Following command is put at the end of shared
+     * executor queue so other lanes get their turn.
+     * <p/>
+     *
+     * @param lane Server commands lane.
+     */
+    private void runNext(final Lane lane) {
+        FutureTask<Result> task;
+        synchronized (lanes) {
+            task = lane.next();
+            if (task == null) {
+                lane.active = false;
+                lanes.remove(lane.key);
+                return;
+            }
+        }
+        try {
+            task.run();
+        } finally {
+            schedule(lane);
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import java.net.HttpURLConnection;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+
+/**
+ * Keep-alive connection pool for Payara server administration interface.
+ * <p/>
+ * Administration commands are still executed trough {@link HttpURLConnection} so all existing runners
+ * keep working unchanged. Connections are not disconnected after successful command execution but
+ * returned to JDK keep-alive cache. Secure connections of the same server share single
+ * {@link SSLSocketFactory} so both keep-alive cache lookup and TLS session resumption succeed for
+ * subsequent commands.
+ * <p/>
+ * Pool is configured trough {@link GlassFishToolsConfig}. Only administration connections are
+ * affected, JDK wide <code>http.*</code> system properties are left untouched so HTTP connections of
+ * other plugins keep their own keep-alive behavior.
+ */
+public final class AdminConnectionPool {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Trust manager accepting any server certificate.
+     * <p/>
+     * Let's just trust any server that we connect to. We aren't sending them money or secrets.
+     */
+    private static final class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return null;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(AdminConnectionPool.class);
+
+    /** Pooled TLS socket factories for individual servers in LRU order. */
+    private static final Map<String, SSLSocketFactory> socketFactories = new LinkedHashMap<>(16, 0.75f, true);
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Build pool key for given server administration interface.
+     * <p/>
+     *
+     * @param server Payara server entity object.
+     * @return Pool key in <code>host:port</code> format.
+     */
+    static String key(final PayaraServer server) {
+        return server.getHost() + Runner.ITEM_SEPARATOR + server.getAdminPort();
+    }
+
+    /**
+     * Set up keep-alive of administration connection.
+     * <p/>
+     * Connection asks server to close it after the response when keep-alive of administration
+     * connections is disabled. JDK keep-alive cache does not keep such connection.
+     * <p/>
+     *
+     * @param hconn Administration interface HTTP connection.
+     */
+    static void prepare(final HttpURLConnection hconn) {
+        if (!GlassFishToolsConfig.getAdminKeepAlive()) {
+            hconn.setRequestProperty("Connection", "close");
+        }
+    }
+
+    /**
+     * Get pooled TLS socket factory for given server.
+     * <p/>
+     * Factory is created on first request. Its client session cache is limited to configured size and
+     * sessions can not be resumed after configured timeout.
+     * <p/>
+     *
+     * @param server Payara server entity object.
+     * @return Pooled TLS socket factory or <code>null</code> when TLS context could not be initialized.
+     */
+    static SSLSocketFactory socketFactory(final PayaraServer server) {
+        final String METHOD = "socketFactory";
+        String key = key(server);
+        synchronized (socketFactories) {
+            SSLSocketFactory factory = socketFactories.get(key);
+            if (factory != null) {
+                return factory;
+            }
+            try {
+                SSLContext context = SSLContext.getInstance("TLS");
+                context.init(null, new TrustManager[] { new TrustAllManager() }, null);
+                SSLSessionContext sessions = context.getClientSessionContext();
+                sessions.setSessionCacheSize(GlassFishToolsConfig.getAdminTlsSessionCacheSize());
+                sessions.setSessionTimeout(GlassFishToolsConfig.getAdminTlsSessionTimeout());
+                factory = context.getSocketFactory();
+            } catch (NoSuchAlgorithmException | KeyManagementException ex) {
+                // if there is an issue here... there will be another exception
+                // later which will take care of the user interaction...
+                LOGGER.log(Level.INFO, METHOD, "exception", ex);
+                return null;
+            }
+            socketFactories.put(key, factory);
+            trim();
+            LOGGER.log(Level.FINE, METHOD, "created", key);
+            return factory;
+        }
+    }
+
+    /**
+     * Remove least recently used TLS socket factories exceeding configured pool size.
+     * <p/>
+     * Caller must own <code>socketFactories</code> lock.
+     */
+    private static void trim() {
+        int excess = socketFactories.size() - GlassFishToolsConfig.getAdminPoolSize();
+        Iterator<String> keys = socketFactories.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Release administration connection after command execution.
+     * <p/>
+     * Connection of successfully executed command is returned to keep-alive cache. Its response stream
+     * must be already closed. Connection is disconnected in any other case.
+     * <p/>
+     *
+     * @param hconn Administration interface HTTP connection.
+     * @param reusable Connection may be kept alive for next command when <code>true</code>.
+     */
+    static void release(final HttpURLConnection hconn, final boolean reusable) {
+        if (!reusable || !GlassFishToolsConfig.getAdminKeepAlive()) {
+            hconn.disconnect();
+        }
+    }
+
+    /**
+     * Evict pooled TLS context of given server.
+     * <p/>
+     * Called when server was changed or removed.
+     * <p/>
+     *
+     * @param server Payara server entity object.
+     */
+    public static void evict(final PayaraServer server) {
+        synchronized (socketFactories) {
+            socketFactories.remove(key(server));
+        }
+    }
+
+    /**
+     * Evict all pooled TLS contexts, called when the plugin is stopped.
+     */
+    public static void clear() {
+        synchronized (socketFactories) {
+            socketFactories.clear();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Class contains static methods only.
+     */
+    private AdminConnectionPool() {
+        throw new UnsupportedOperationException();
+    }
+
+}
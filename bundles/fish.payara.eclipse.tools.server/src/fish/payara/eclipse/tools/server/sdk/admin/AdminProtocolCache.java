@@ -0,0 +1,188 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+import fish.payara.eclipse.tools.server.sdk.utils.NetUtils;
+
+/**
+ * Cache of HTTP and HTTPS protocol detection results for administration listeners.
+ * <p/>
+ * Protocol detection opens an extra probing socket so detected protocol is stored for
+ * <code>host:port</code> pair and reused until it expires or until connection to that listener fails.
+ * Only successful detections are cached.
+ */
+public final class AdminProtocolCache {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Protocol detection result.
+     */
+    private static final class Entry {
+
+        /** Listener is secure. */
+        private final boolean secure;
+
+        /** Entry expiration time [ms]. */
+        private final long expires;
+
+        /**
+         * Creates an instance of protocol detection result.
+         * <p/>
+         *
+         * @param secure Listener is secure.
+         * @param expires Entry expiration time [ms].
+         */
+        private Entry(final boolean secure, final long expires) {
+            this.secure = secure;
+            this.expires = expires;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(AdminProtocolCache.class);
+
+    /** HTTP protocol. */
+    static final String HTTP = "http";
+
+    /** HTTPS protocol. */
+    static final String HTTPS = "https";
+
+    /** Cached protocol detection results. */
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Cache hits counter. */
+    private static final LongAdder hits = new LongAdder();
+
+    /** Cache misses counter. */
+    private static final LongAdder misses = new LongAdder();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Build cache key.
+     * <p/>
+     *
+     * @param host Listener host.
+     * @param port Listener port.
+     * @return Cache key in <code>host:port</code> format.
+     */
+    private static String key(final String host, final int port) {
+        return host + Runner.ITEM_SEPARATOR + port;
+    }
+
+    /**
+     * Get protocol of HTTP listener.
+     * <p/>
+     * Cached value is returned when available. Otherwise listener is probed and successful result is
+     * cached for configured time to live.
+     * <p/>
+     *
+     * @param host Listener host.
+     * @param port Listener port.
+     * @param url Command URL used for logging.
+     * @return Listener protocol, <code>"http"</code> or <code>"https"</code>.
+     */
+    static String protocol(final String host, final int port, final String url) {
+        final String METHOD = "protocol";
+        String key = key(host, port);
+        Entry entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expires > now) {
+            hits.increment();
+            return entry.secure ? HTTPS : HTTP;
+        }
+        misses.increment();
+        try {
+            boolean secure = NetUtils.isSecurePort(host, port);
+            entries.put(key, new Entry(secure, now + GlassFishToolsConfig.getAdminProtocolCacheTtl()));
+            return secure ? HTTPS : HTTP;
+        } catch (ConnectException | SocketTimeoutException ex) {
+            LOGGER.log(Level.INFO, METHOD, "exception", new Object[] { key, url, ex.getLocalizedMessage() });
+        } catch (SocketException ex) {
+            LOGGER.log(Level.FINE, METHOD, "exception", new Object[] { key, url, ex.getLocalizedMessage() });
+        } catch (IOException ex) {
+            LOGGER.log(Level.INFO, METHOD, "exception", new Object[] { key, url, ex.getLocalizedMessage() });
+        }
+        entries.remove(key);
+        return HTTP;
+    }
+
+    /**
+     * Invalidate cached protocol of HTTP listener.
+     * <p/>
+     * Shall be called when connection to listener failed.
+     * <p/>
+     *
+     * @param host Listener host.
+     * @param port Listener port.
+     */
+    public static void invalidate(final String host, final int port) {
+        entries.remove(key(host, port));
+    }
+
+    /**
+     * Invalidate all cached protocols.
+     */
+    public static void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Get number of protocol detections served from cache.
+     * <p/>
+     *
+     * @return Number of cache hits.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of protocol detections which required listener probing.
+     * <p/>
+     *
+     * @return Number of cache misses.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Class contains static methods only.
+     */
+    private AdminProtocolCache() {
+        throw new UnsupportedOperationException();
+    }
+
+}
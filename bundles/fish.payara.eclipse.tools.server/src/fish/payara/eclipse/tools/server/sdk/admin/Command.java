@@ -83,4 +83,21 @@ public abstract class Command {
         return retry;
     }
 
+    /**
+     * Check whether this command only probes the server.
+     * <p/>
+     * Probes may be executed before mutating commands already waiting for the same server. Only
+     * commands <code>version</code> and <code>__locations</code> are considered as probes. Commands
+     * reading domain configuration, applications or resources, like <code>get</code> or
+     * <code>list-*</code>, stay ordered after waiting mutating commands so they never return values
+     * those commands are about to change.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when command only probes the server or <code>false</code>
+     * otherwise.
+     */
+    public boolean isReadOnly() {
+        return "version".equals(command) || "__locations".equals(command);
+    }
+
 }
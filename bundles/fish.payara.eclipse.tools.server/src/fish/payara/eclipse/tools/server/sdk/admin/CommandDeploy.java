@@ -109,6 +109,9 @@ public class CommandDeploy extends CommandTargetName {
 	/** Container Path. */
 	final String containerPath;
 
+	/** Archive upload progress listener. */
+	volatile UploadListener uploadListener;
+
 	////////////////////////////////////////////////////////////////////////////
 	// Constructors //
 	////////////////////////////////////////////////////////////////////////////
@@ -147,4 +150,22 @@ public class CommandDeploy extends CommandTargetName {
 		this.hotDeploy = hotDeploy;
 	}
 
-}
\ No newline at end of file
+	////////////////////////////////////////////////////////////////////////////
+	// Getters and setters //
+	////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Set listener notified about progress of deployed archive upload.
+	 * <p/>
+	 * Listener is not used for directory deployment.
+	 * <p/>
+	 *
+	 * @param uploadListener Archive upload progress listener.
+	 * @return This command entity.
+	 */
+	public CommandDeploy setUploadListener(final UploadListener uploadListener) {
+		this.uploadListener = uploadListener;
+		return this;
+	}
+
+}
@@ -18,6 +18,8 @@
 
 package fish.payara.eclipse.tools.server.sdk.admin;
 
+import java.io.OutputStream;
+
 /**
  * GlassFish Server View Log Command Entity.
  * <p/>
@@ -50,6 +52,12 @@ public class CommandFetchLogData extends Command {
      */
     final String paramsAppendNext;
 
+    /**
+     * Stream where received log data are written as they arrive, <code>null</code> when log lines
+     * shall be returned in <code>ValueLog</code>.
+     */
+    final OutputStream sink;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -62,6 +70,7 @@ public class CommandFetchLogData extends Command {
     public CommandFetchLogData() {
         super(COMMAND);
         this.paramsAppendNext = null;
+        this.sink = null;
     }
 
     /**
@@ -76,6 +85,24 @@ public class CommandFetchLogData extends Command {
     public CommandFetchLogData(String paramsAppendNext) {
         super(COMMAND);
         this.paramsAppendNext = paramsAppendNext;
+        this.sink = null;
+    }
+
+    /**
+     * Constructs an instance of GlassFish server view log command entity streaming received log data.
+     * <p/>
+     * Log data are written to provided stream as they are received from server without being split to
+     * lines. Returned <code>ValueLog</code> contains only count of written bytes.
+     * <p/>
+     *
+     * @param paramsAppendNext Interval query parameters from Last View Log command execution or
+     * <code>null</code> to read all existing log entries.
+     * @param sink Stream where received log data are written.
+     */
+    public CommandFetchLogData(String paramsAppendNext, OutputStream sink) {
+        super(COMMAND);
+        this.paramsAppendNext = paramsAppendNext;
+        this.sink = sink;
     }
 
 }
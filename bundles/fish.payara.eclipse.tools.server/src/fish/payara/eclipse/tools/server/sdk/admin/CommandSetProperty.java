@@ -21,6 +21,9 @@ package fish.payara.eclipse.tools.server.sdk.admin;
 import static fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin.exec;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -32,6 +35,9 @@ import fish.payara.eclipse.tools.server.sdk.PayaraIdeException;
 /**
  * Command that sets property (properties) on the server.
  * <p/>
+ * Several properties can be set by single command execution. Server sets them in the order they were
+ * passed and stops at the first failure.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -134,6 +140,9 @@ public class CommandSetProperty extends Command {
     /** Value of the property to set. */
     final String value;
 
+    /** Names and values of all properties to set. */
+    final Map<String, String> values;
+
     /** Format for the query string. */
     final String format;
 
@@ -153,6 +162,7 @@ public class CommandSetProperty extends Command {
         super(COMMAND);
         this.property = property;
         this.value = value;
+        this.values = Collections.singletonMap(property, value);
         this.format = format;
     }
 
@@ -167,6 +177,25 @@ public class CommandSetProperty extends Command {
         super(COMMAND);
         this.property = property;
         this.value = value;
+        this.values = Collections.singletonMap(property, value);
+        this.format = "DEFAULT={0}={1}";
+    }
+
+    /**
+     * Constructs an instance of GlassFish server set property command entity setting several
+     * properties at once.
+     * <p/>
+     * Property name of this command is list of all property names separated by space, value
+     * is <code>null</code>.
+     * <p/>
+     *
+     * @param values Names and values of the properties to set in order of setting.
+     */
+    public CommandSetProperty(Map<String, String> values) {
+        super(COMMAND);
+        this.property = String.join(" ", values.keySet());
+        this.value = null;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
         this.format = "DEFAULT={0}={1}";
     }
 
@@ -194,4 +223,14 @@ public class CommandSetProperty extends Command {
         return value;
     }
 
+    /**
+     * Get names and values of all properties to set.
+     * <p/>
+     *
+     * @return Names and values of the properties to set in order of setting.
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
 }
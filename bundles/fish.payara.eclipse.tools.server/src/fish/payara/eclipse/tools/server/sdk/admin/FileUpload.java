@@ -0,0 +1,105 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Streaming upload of deployed archive file.
+ * <p/>
+ * File content is read trough {@link FileChannel} into one small reused buffer and written straight
+ * into HTTP connection output stream. Whole archive is never held in memory and it is never
+ * compressed again.
+ */
+final class FileUpload {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Transfer buffer size. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Compute CRC-32 checksum of file content.
+     * <p/>
+     *
+     * @param file File to be checked.
+     * @return CRC-32 checksum of file content.
+     * @throws IOException When file could not be read.
+     */
+    static long crc32(final File file) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Copy file content into output stream.
+     * <p/>
+     * Output stream is not closed.
+     * <p/>
+     *
+     * @param file File to be sent.
+     * @param output Target output stream.
+     * @param listener Upload progress listener, may be <code>null</code>.
+     * @return Number of bytes written.
+     * @throws IOException When file could not be read or output stream could not be written.
+     */
+    static long copy(final File file, final OutputStream output, final UploadListener listener)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long total = channel.size();
+            int n;
+            while ((n = channel.read(buffer)) >= 0) {
+                if (n > 0) {
+                    output.write(buffer.array(), 0, n);
+                    written += n;
+                    if (listener != null) {
+                        listener.uploaded(n, total);
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        return written;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Class contains static methods only.
+     */
+    private FileUpload() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -33,22 +33,15 @@ import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.UnknownHostException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+import javax.net.ssl.SSLSocketFactory;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
@@ -56,6 +49,7 @@ import fish.payara.eclipse.tools.server.sdk.TaskEvent;
 import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.TaskStateListener;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
 import fish.payara.eclipse.tools.server.sdk.utils.ServerUtils;
 
 /**
@@ -143,6 +137,9 @@ public abstract class Runner implements Callable<Result> {
     /** Delay before administration command execution will be retried. */
     public static final int HTTP_RETRY_DELAY = 3000;
 
+    /** Name of threads running administration commands in parallel. */
+    private static final String PARALLEL_THREAD_NAME = "Payara Admin Parallel Commands";
+
     /** Character used to separate query string from list of parameters. */
     static final char QUERY_SEPARATOR = '?';
 
@@ -161,11 +158,6 @@ public abstract class Runner implements Callable<Result> {
     /** <code>String</code> value for <code>false</code>. */
     static final String FALSE_VALUE = "false";
 
-    /**
-     * Executor used to serialize administration commands passed to GlassFish server.
-     */
-    private static volatile ExecutorService executor;
-
     /* Global password authenticator for GlassFish servers. */
     private static volatile Authenticator authenticator;
 
@@ -173,27 +165,6 @@ public abstract class Runner implements Callable<Result> {
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
 
-    /**
-     * Returns shared <code>Executor</code> instance to serialize administration commands passed to
-     * GlassFish server.
-     * <p/>
-     * <code>Executor</code> instance is handled internally.
-     * <p/>
-     *
-     * @return Shared <code>Executor</code> instance.
-     */
-    static ExecutorService serializedExecutor() {
-        if (executor != null) {
-            return executor;
-        }
-        synchronized (Runner.class) {
-            if (executor == null) {
-                executor = Executors.newFixedThreadPool(1);
-            }
-        }
-        return executor;
-    }
-
     /**
      * Allows to initialize this class to use external <code>Authenticator</code>.
      * <p/>
@@ -226,12 +197,14 @@ public abstract class Runner implements Callable<Result> {
      * Returns individual <code>Executor</code> instance to run administration commands passed to
      * GlassFish server in parallel.
      * <p/>
+     * Executor is constructed by {@link ExecutorFactory} so it uses virtual threads when enabled.
+     * <p/>
      *
      * @param size Thread pool size.
      * @return Individual <code>Executor</code> instance.
      */
     static ExecutorService parallelExecutor(final int size) {
-        return Executors.newFixedThreadPool(size);
+        return ExecutorFactory.newExecutor(PARALLEL_THREAD_NAME, size);
     }
 
     /**
@@ -509,6 +482,20 @@ public abstract class Runner implements Callable<Result> {
         return null;
     }
 
+    /**
+     * Override to set the exact length of information sent to the server. Default is <code>-1</code>
+     * (unknown).
+     * <p/>
+     * Request body of known length is streamed in fixed length mode, otherwise chunked streaming mode
+     * is used.
+     * <p/>
+     *
+     * @return Length of data sent to server via HTTP POST or <code>-1</code> when not known.
+     */
+    public long getContentLength() {
+        return -1;
+    }
+
     /**
      * Construct string containing <code>Command</code> string with <code>query</code> parameters
      * appended.
@@ -607,12 +594,14 @@ public abstract class Runner implements Callable<Result> {
     /**
      * Execute an arbitrary server command.
      * <p/>
+     * Command is serialized with other commands passed to the same server.
+     * <p/>
      *
      * @return <code>Future</code> object to retrieve receiveResult of asynchronous execution.
      */
     Future<? extends Result> execute() {
         setReadyState();
-        return serializedExecutor().submit(this);
+        return AdminCommandScheduler.getInstance().submit(this);
     }
 
     /**
@@ -655,7 +644,12 @@ public abstract class Runner implements Callable<Result> {
         String contentType = getContentType();
         if (contentType != null && contentType.length() > 0) {
             conn.setRequestProperty("Content-Type", contentType);
-            conn.setChunkedStreamingMode(0);
+            long contentLength = getContentLength();
+            if (contentLength >= 0) {
+                conn.setFixedLengthStreamingMode(contentLength);
+            } else {
+                conn.setChunkedStreamingMode(0);
+            }
         }
         if (adminPassword != null && adminPassword.length() > 0) {
             String authString = ServerUtils.basicAuthCredentials(adminUser, adminPassword);
@@ -665,39 +659,26 @@ public abstract class Runner implements Callable<Result> {
         if (acceptsGzip()) {
             conn.setRequestProperty("Accept-Encoding", "gzip");
         }
+        AdminConnectionPool.prepare(conn);
     }
 
+    /**
+     * Set up secure connection to trust any server certificate.
+     * <p/>
+     * Pooled TLS socket factory of target server is used so TLS sessions and kept alive connections are
+     * reused by subsequent commands.
+     * <p/>
+     *
+     * @param conn Target HTTPS connection.
+     */
     protected void handleSecureConnection(final HttpsURLConnection conn) {
         final String METHOD = "handleSecureConnection";
-        // let's just trust any server that we connect to...
-        // we aren't send them money or secrets...
-        TrustManager[] tm = new TrustManager[] { new X509TrustManager() {
-
-            @Override
-            public void checkClientTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-            }
-
-            @Override
-            public void checkServerTrusted(X509Certificate[] arg0, String arg1) throws CertificateException {
-            }
-
-            @Override
-            public X509Certificate[] getAcceptedIssuers() {
-                return null;
-            }
-        } };
-
-        SSLContext context;
-        try {
-            context = SSLContext.getInstance("SSL");
-            context.init(null, tm, null);
-            conn.setSSLSocketFactory(context.getSocketFactory());
+        SSLSocketFactory factory = AdminConnectionPool.socketFactory(server);
+        if (factory != null) {
+            conn.setSSLSocketFactory(factory);
             conn.setHostnameVerifier((string, ssls) -> true);
-        } catch (NoSuchAlgorithmException | KeyManagementException ex) {
-            // if there is an issue here... there will be another exception
-            // later which will take care of the user interaction...
+        } else {
             LOGGER.log(Level.INFO, METHOD, "issue", conn.getURL());
-            LOGGER.log(Level.INFO, METHOD, "exception", ex);
         }
     }
 
@@ -930,16 +911,20 @@ public abstract class Runner implements Callable<Result> {
                             stateChangeArgs(ex.getLocalizedMessage(), true));
                     retries = 0;
                 } catch (ConnectException ce) {
+                    AdminProtocolCache.invalidate(urlToConnectTo.getHost(), urlToConnectTo.getPort());
                     return handleStateChange(TaskState.FAILED, TaskEvent.EXCEPTION,
                             stateChangeArgs(ce.getLocalizedMessage()));
                 } catch (IOException ex) {
+                    // Listener may have switched between HTTP and HTTPS.
+                    AdminProtocolCache.invalidate(urlToConnectTo.getHost(), urlToConnectTo.getPort());
                     if (retries <= 0) {
                         return handleStateChange(TaskState.FAILED, TaskEvent.EXCEPTION,
                                 stateChangeArgs(ex.getLocalizedMessage()));
                     }
                 } finally {
+                    // Keep connection alive for next command when response was fully processed.
                     if (null != hconn) {
-                        hconn.disconnect();
+                        AdminConnectionPool.release(hconn, httpSucceeded);
                     }
                 }
 
@@ -23,10 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.ConnectException;
 import java.net.HttpURLConnection;
-import java.net.SocketException;
-import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
@@ -39,7 +36,6 @@ import java.util.logging.Level;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
-import fish.payara.eclipse.tools.server.sdk.utils.NetUtils;
 import fish.payara.eclipse.tools.server.sdk.utils.ServerUtils;
 
 /**
@@ -210,23 +206,21 @@ public class RunnerHttp extends Runner {
                 || !"FAILURE".equals(exitCode.toUpperCase(Locale.ENGLISH));
     }
 
+    /**
+     * Get protocol of HTTP listener.
+     * <p/>
+     * Detected protocol is cached for <code>host:port</code> pair so steady state commands do not probe
+     * listener before every request.
+     * <p/>
+     *
+     * @param hostname Listener host.
+     * @param port Listener port.
+     * @param url Command URL used for logging.
+     * @return Listener protocol, <code>"http"</code> or <code>"https"</code>.
+     */
     private static String getHttpListenerProtocol(String hostname, int port,
             String url) {
-        String retVal = "http"; // NOI18N
-        try {
-            if (NetUtils.isSecurePort(hostname, port)) {
-                retVal = "https"; // NOI18N
-            }
-        } catch (ConnectException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        } catch (SocketException ex) {
-            Logger.log(Level.FINE, hostname + ":" + port + "::" + url, ex);
-        } catch (SocketTimeoutException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        } catch (IOException ex) {
-            Logger.log(Level.INFO, hostname + ":" + port + "::" + url, ex);
-        }
-        return retVal;
+        return AdminProtocolCache.protocol(hostname, port, url);
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -23,9 +23,16 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.logging.Level;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -80,6 +87,33 @@ public class RunnerHttpDeploy extends RunnerHttp {
 	/** Deploy command <code>hotDeploy</code> parameter name. */
 	private static final String HOT_DEPLOY_PARAM = "hotDeploy";
 
+	/**
+	 * Largest size or offset which fits into ZIP headers without ZIP64
+	 * extensions, <code>0xFFFFFFFF</code> marks ZIP64 field.
+	 */
+	private static final long MAX_ZIP_SIZE = 0xFFFFFFFEL;
+
+	/** ZIP local file header signature. */
+	private static final int ZIP_LOC_SIG = 0x04034b50;
+
+	/** ZIP central directory file header signature. */
+	private static final int ZIP_CEN_SIG = 0x02014b50;
+
+	/** ZIP end of central directory record signature. */
+	private static final int ZIP_END_SIG = 0x06054b50;
+
+	/** ZIP local file header length without name and extra field. */
+	private static final int ZIP_LOC_LEN = 30;
+
+	/** ZIP central directory file header length without name and extra field. */
+	private static final int ZIP_CEN_LEN = 46;
+
+	/** ZIP end of central directory record length. */
+	private static final int ZIP_END_LEN = 22;
+
+	/** ZIP general purpose flag marking UTF-8 encoded entry name. */
+	private static final int ZIP_UTF8_FLAG = 0x800;
+
 	////////////////////////////////////////////////////////////////////////////
 	// Static methods //
 	////////////////////////////////////////////////////////////////////////////
@@ -179,6 +213,24 @@ public class RunnerHttpDeploy extends RunnerHttp {
 		return sb.toString();
 	}
 
+	/**
+	 * Convert time to MS-DOS date and time used in ZIP headers.
+	 * <p/>
+	 *
+	 * @param time Time in milliseconds since the epoch.
+	 * @return MS-DOS date in upper 16 bits and MS-DOS time in lower 16 bits.
+	 */
+	private static int dosTime(final long time) {
+		LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year = ldt.getYear() - 1980;
+		if (year < 0) {
+			return (1 << 21) | (1 << 16);
+		}
+		year = Math.min(year, 127);
+		return (year << 25) | (ldt.getMonthValue() << 21) | (ldt.getDayOfMonth() << 16)
+				| (ldt.getHour() << 11) | (ldt.getMinute() << 5) | (ldt.getSecond() >> 1);
+	}
+
 	////////////////////////////////////////////////////////////////////////////
 	// Instance attributes //
 	////////////////////////////////////////////////////////////////////////////
@@ -187,6 +239,18 @@ public class RunnerHttpDeploy extends RunnerHttp {
 	@SuppressWarnings("FieldNameHidesFieldInSuperclass")
 	final CommandDeploy command;
 
+	/** Stored ZIP stream was already prepared. */
+	private boolean zipPrepared;
+
+	/** ZIP local file header of deployed archive entry. */
+	private byte[] zipHeader;
+
+	/** ZIP central directory and end of central directory record. */
+	private byte[] zipTrailer;
+
+	/** Size of deployed archive at the time ZIP stream was prepared. */
+	private long uploadSize;
+
 	////////////////////////////////////////////////////////////////////////////
 	// Constructors //
 	////////////////////////////////////////////////////////////////////////////
@@ -238,10 +302,34 @@ public class RunnerHttpDeploy extends RunnerHttp {
 	 * This is based on reading the code of <code>CLIRemoteCommand.java</code> from
 	 * the server's code repository. Since some asadmin commands need to send
 	 * multiple files, the server assumes the input is a ZIP stream.
+	 * <p/>
+	 * Deployed archive is already compressed so it is wrapped into single
+	 * <code>STORED</code> ZIP entry and streamed from the file without being
+	 * compressed again. Archives too large for plain ZIP entry are sent trough
+	 * {@link ZipOutputStream}.
 	 */
 	@Override
 	protected void handleSend(HttpURLConnection hconn) throws IOException {
 		final String METHOD = "handleSend";
+		if (prepareZip()) {
+			OutputStream ostream = hconn.getOutputStream();
+			try {
+				ostream.write(zipHeader);
+				long sent = FileUpload.copy(command.path, ostream, command.uploadListener);
+				if (sent != uploadSize) {
+					throw new IOException("Deployed archive " + command.path + " changed during upload");
+				}
+				ostream.write(zipTrailer);
+				ostream.flush();
+			} finally {
+				try {
+					ostream.close();
+				} catch (IOException ex) {
+					LOGGER.log(Level.INFO, METHOD, "ioException", ex);
+				}
+			}
+			return;
+		}
 		InputStream istream = getInputStream();
 		if (istream != null) {
 			ZipOutputStream ostream = null;
@@ -279,6 +367,65 @@ public class RunnerHttpDeploy extends RunnerHttp {
 		}
 	}
 
+	/**
+	 * Prepare headers of single entry <code>STORED</code> ZIP stream wrapping
+	 * deployed archive.
+	 * <p/>
+	 * Archive content is read once to compute its CRC-32 checksum. Headers are
+	 * prepared only once and reused when request is sent again after redirect.
+	 * <p/>
+	 *
+	 * @return Value of <code>true</code> when stored ZIP stream can be sent or
+	 *         <code>false</code> when file should be sent trough
+	 *         {@link ZipOutputStream}.
+	 */
+	private boolean prepareZip() {
+		final String METHOD = "prepareZip";
+		if (command.dirDeploy) {
+			return false;
+		}
+		if (zipPrepared) {
+			return zipHeader != null;
+		}
+		zipPrepared = true;
+		long size = command.path.length();
+		byte[] name = command.path.getName().getBytes(StandardCharsets.UTF_8);
+		byte[] extra = getExtraProperties();
+		// Central directory follows local header and archive content
+		long cenOffset = ZIP_LOC_LEN + name.length + extra.length + size;
+		if (cenOffset > MAX_ZIP_SIZE) {
+			return false;
+		}
+		long crc;
+		try {
+			crc = FileUpload.crc32(command.path);
+		} catch (IOException ex) {
+			LOGGER.log(Level.INFO, METHOD, "ioException", ex);
+			return false;
+		}
+		int dosTime = dosTime(command.path.lastModified());
+		ByteBuffer loc = ByteBuffer.allocate(ZIP_LOC_LEN + name.length + extra.length)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		loc.putInt(ZIP_LOC_SIG).putShort((short) 10).putShort((short) ZIP_UTF8_FLAG)
+				.putShort((short) ZipEntry.STORED).putInt(dosTime).putInt((int) crc)
+				.putInt((int) size).putInt((int) size).putShort((short) name.length)
+				.putShort((short) extra.length).put(name).put(extra);
+		int cenLength = ZIP_CEN_LEN + name.length + extra.length;
+		ByteBuffer end = ByteBuffer.allocate(cenLength + ZIP_END_LEN).order(ByteOrder.LITTLE_ENDIAN);
+		end.putInt(ZIP_CEN_SIG).putShort((short) 20).putShort((short) 10).putShort((short) ZIP_UTF8_FLAG)
+				.putShort((short) ZipEntry.STORED).putInt(dosTime).putInt((int) crc).putInt((int) size)
+				.putInt((int) size).putShort((short) name.length).putShort((short) extra.length)
+				.putShort((short) 0).putShort((short) 0).putShort((short) 0).putInt(0).putInt(0)
+				.put(name).put(extra);
+		end.putInt(ZIP_END_SIG).putShort((short) 0).putShort((short) 0).putShort((short) 1)
+				.putShort((short) 1).putInt(cenLength).putInt((int) cenOffset)
+				.putShort((short) 0);
+		zipHeader = loc.array();
+		zipTrailer = end.array();
+		uploadSize = size;
+		return true;
+	}
+
 	////////////////////////////////////////////////////////////////////////////
 	// Fake Getters //
 	////////////////////////////////////////////////////////////////////////////
@@ -295,6 +442,18 @@ public class RunnerHttpDeploy extends RunnerHttp {
 		return command.dirDeploy ? null : "application/zip";
 	}
 
+	/**
+	 * Get exact length of stored ZIP stream sent for file deployment so the
+	 * archive is streamed in fixed length mode.
+	 *
+	 * @return length of data sent to server via HTTP POST or <code>-1</code> when
+	 *         not known.
+	 */
+	@Override
+	public long getContentLength() {
+		return prepareZip() ? zipHeader.length + uploadSize + zipTrailer.length : -1;
+	}
+
 	/**
 	 * Provide the lastModified date for data source whose <code>InputStream</code>
 	 * is returned by getInputStream.
@@ -19,6 +19,7 @@
 package fish.payara.eclipse.tools.server.sdk.admin;
 
 import java.text.MessageFormat;
+import java.util.Map;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 
@@ -36,8 +37,15 @@ public class RunnerHttpSetProperty extends RunnerHttp {
      * @return Query string from command object properties.
      */
     private static String query(CommandSetProperty command) {
-        return MessageFormat.format(
-                command.format, command.property, command.value);
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : command.values.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(PARAM_SEPARATOR);
+            }
+            sb.append(MessageFormat.format(
+                    command.format, entry.getKey(), entry.getValue()));
+        }
+        return sb.toString();
     }
 
     ////////////////////////////////////////////////////////////////////////////
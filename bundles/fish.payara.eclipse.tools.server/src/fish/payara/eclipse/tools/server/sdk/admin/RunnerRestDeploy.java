@@ -18,7 +18,6 @@
 
 package fish.payara.eclipse.tools.server.sdk.admin;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -26,6 +25,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.logging.Level;
@@ -47,6 +47,12 @@ public class RunnerRestDeploy extends RunnerRest {
 
 	private String multipartBoundary = Long.toHexString(System.currentTimeMillis());
 
+	/** Multipart request content preceding deployed archive bytes. */
+	private byte[] multipartHead;
+
+	/** Size of deployed archive at the time request was prepared. */
+	private long uploadSize;
+
 	/** Holding data for command execution. */
 	@SuppressWarnings("FieldNameHidesFieldInSuperclass")
 	final CommandDeploy command;
@@ -79,13 +85,51 @@ public class RunnerRestDeploy extends RunnerRest {
 	/**
 	 * Handle sending data to server using HTTP command interface.
 	 * <p/>
-	 * This is based on reading the code of <code>CLIRemoteCommand.java</code> from
-	 * the server's code repository. Since some asadmin commands need to send
-	 * multiple files, the server assumes the input is a ZIP stream.
+	 * Deployed archive is sent as single multipart form field. Archive content is
+	 * streamed from the file straight into the connection without being buffered
+	 * in memory.
 	 */
 	@Override
 	protected void handleSend(HttpURLConnection hconn) throws IOException {
-		// InputStream istream = getInputStream();
+		if (!command.dirDeploy) {
+			OutputStream output = hconn.getOutputStream();
+			try {
+				output.write(multipartHead());
+				long sent = FileUpload.copy(command.path, output, command.uploadListener);
+				if (sent != uploadSize) {
+					throw new IOException("Deployed archive " + command.path + " changed during upload");
+				}
+				output.write(multipartTail());
+				output.flush();
+			} finally {
+				output.close();
+			}
+		} else {
+			OutputStreamWriter wr = new OutputStreamWriter(hconn.getOutputStream());
+			wr.write("path=" + command.path.toString());
+			if (command.name != null) {
+				wr.write("&");
+				wr.write("name=" + command.name);
+			}
+			if (command.contextRoot != null) {
+				wr.write("&");
+				wr.write("contextroot=" + command.name);
+			}
+			if (command.target != null) {
+				wr.write("&");
+				wr.write("target=" + command.target);
+			}
+			wr.close();
+		}
+	}
+
+	/**
+	 * Get deployed file path as seen by the server.
+	 * <p/>
+	 *
+	 * @return Deployed file path on server side.
+	 */
+	private String serverPath() {
 		if (command.path == null) {
 			throw new PayaraIdeException("The path attribute of deploy command" + " has to be non-empty!");
 		}
@@ -103,80 +147,63 @@ public class RunnerRestDeploy extends RunnerRest {
 			}
 		}
 		if (command.wslInstance) {
-            // Replace backslashes with forward slashes
-            path = path.replace("\\", "/");
-            // Add "mnt" prefix and drive letter
-            path = "/mnt/" + path.substring(0, 1).toLowerCase() + path.substring(2);
-        }
-		OutputStreamWriter wr = new OutputStreamWriter(hconn.getOutputStream());
-		if (!command.dirDeploy) {
-			writeParam(wr, "path", path);
-			if (command.name != null) {
-				writeParam(wr, "name", command.name);
-			}
-			if (command.contextRoot != null) {
-				writeParam(wr, "contextroot", command.contextRoot);
-			}
-			if (command.target != null) {
-				writeParam(wr, "target", command.target);
-			}
+			// Replace backslashes with forward slashes
+			path = path.replace("\\", "/");
+			// Add "mnt" prefix and drive letter
+			path = "/mnt/" + path.substring(0, 1).toLowerCase() + path.substring(2);
+		}
+		return path;
+	}
 
-			writeBinaryFile(wr, hconn.getOutputStream(), command.path);
-			wr.append("--" + multipartBoundary + "--").append(NEWLINE);
-		} else {
-			wr.write("path=" + command.path.toString());
+	/**
+	 * Get multipart request content preceding deployed archive bytes.
+	 * <p/>
+	 * Content is built once and reused when request is sent again after redirect.
+	 * <p/>
+	 *
+	 * @return Request parameters and archive part headers.
+	 */
+	private byte[] multipartHead() {
+		if (multipartHead == null) {
+			StringBuilder sb = new StringBuilder(512);
+			appendParam(sb, "path", serverPath());
 			if (command.name != null) {
-				wr.write("&");
-				wr.write("name=" + command.name);
+				appendParam(sb, "name", command.name);
 			}
 			if (command.contextRoot != null) {
-				wr.write("&");
-				wr.write("contextroot=" + command.name);
+				appendParam(sb, "contextroot", command.contextRoot);
 			}
 			if (command.target != null) {
-				wr.write("&");
-				wr.write("target=" + command.target);
+				appendParam(sb, "target", command.target);
 			}
+			sb.append("--").append(multipartBoundary).append(NEWLINE);
+			sb.append("Content-Type: application/octet-stream").append(NEWLINE);
+			sb.append("Content-Transfer-Encoding: binary").append(NEWLINE);
+			sb.append(NEWLINE);
+			multipartHead = sb.toString().getBytes(Charset.defaultCharset());
+			uploadSize = command.path.length();
 		}
-
-		wr.close();
+		return multipartHead;
 	}
 
-	private void writeParam(OutputStreamWriter writer, String paramName, String paramValue) throws IOException {
-		writer.append("--" + multipartBoundary).append(NEWLINE);
-		writer.append("Content-Disposition: form-data; name=\"").append(paramName).append("\"").append(NEWLINE);
-		writer.append("Content-Type: text/plain;").append(NEWLINE);
-		writer.append(NEWLINE);
-		writer.append(paramValue).append(NEWLINE).flush();
+	/**
+	 * Get multipart request content following deployed archive bytes.
+	 * <p/>
+	 *
+	 * @return Closing multipart boundary.
+	 */
+	private byte[] multipartTail() {
+		return (NEWLINE + "--" + multipartBoundary + "--" + NEWLINE).getBytes(Charset.defaultCharset());
 	}
 
-	private void writeBinaryFile(OutputStreamWriter writer, OutputStream output, File file) throws IOException {
-		writer.append("--" + multipartBoundary).append(NEWLINE);
-		// writer.append("Content-Disposition: form-data; name=\"warFile\"; filename=\""
-		// + file.getAbsolutePath() + "\"").append(NEWLINE);
-		writer.append("Content-Type: application/octet-stream").append(NEWLINE);
-		writer.append("Content-Transfer-Encoding: binary").append(NEWLINE);
-		writer.append(NEWLINE).flush();
-
-		InputStream input = null;
-		try {
-			input = new FileInputStream(file);
-			byte[] buffer = new byte[1024 * 1024];
-			for (int length; (length = input.read(buffer)) > 0;) {
-				output.write(buffer, 0, length);
-			}
-			output.flush(); // Important! Output cannot be closed. Close of writer will close output as
-							// well.
-		} finally {
-			if (input != null) {
-				try {
-					input.close();
-				} catch (IOException ex) {
-				}
-			}
-		}
-		writer.append(NEWLINE).flush();
+	private void appendParam(StringBuilder sb, String paramName, String paramValue) {
+		sb.append("--").append(multipartBoundary).append(NEWLINE);
+		sb.append("Content-Disposition: form-data; name=\"").append(paramName).append("\"").append(NEWLINE);
+		sb.append("Content-Type: text/plain;").append(NEWLINE);
+		sb.append(NEWLINE);
+		sb.append(paramValue).append(NEWLINE);
 	}
+
 	////////////////////////////////////////////////////////////////////////////
 	// Fake Getters //
 	////////////////////////////////////////////////////////////////////////////
@@ -193,6 +220,21 @@ public class RunnerRestDeploy extends RunnerRest {
 		return command.dirDeploy ? null : "application/zip";
 	}
 
+	/**
+	 * Get exact length of multipart request sent for file deployment so the
+	 * archive is streamed in fixed length mode.
+	 *
+	 * @return length of data sent to server via HTTP POST or <code>-1</code> for
+	 *         directory deployment.
+	 */
+	@Override
+	public long getContentLength() {
+		if (command.dirDeploy) {
+			return -1;
+		}
+		return multipartHead().length + uploadSize + multipartTail().length;
+	}
+
 	// /**
 	// * Provide the lastModified date for data source whose
 	// * <code>InputStream</code> is returned by getInputStream.
@@ -21,11 +21,12 @@ package fish.payara.eclipse.tools.server.sdk.admin;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.zip.GZIPInputStream;
@@ -44,6 +45,13 @@ import fish.payara.eclipse.tools.server.sdk.logging.Logger;
  */
 public class RunnerRestFetchLogData extends RunnerRest {
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Size of buffer used to pass log data to log data sink. */
+    private static final int SINK_BUFFER_SIZE = 16384;
+
     ////////////////////////////////////////////////////////////////////////////
     // Static methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -77,6 +85,12 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     private List<String> lines;
 
+    /** Stream where received log data are written, <code>null</code> when lines are stored. */
+    private final OutputStream sink;
+
+    /** Count of log bytes written to log data sink. */
+    private long size;
+
     /**
      * Content of HTTP header <code>X-Text-Append-Next</code>.
      * <p/>
@@ -112,6 +126,7 @@ public class RunnerRestFetchLogData extends RunnerRest {
     public RunnerRestFetchLogData(final PayaraServer server,
             final Command command) {
         super(server, command, "/management/domain/", query(command));
+        sink = ((CommandFetchLogData) command).sink;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -145,15 +160,15 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     @Override
     public boolean acceptsGzip() {
-        return false;
+        return true;
     }
 
     /**
      * Reads response from server and stores it into internal objects.
      * <p/>
-     * Retrieved lines of server log are stored in internal <code>lines</code> <code>List</code>.
-     * Content of HTTP header <code>X-Text-Append-Next</code> is stored in internal
-     * <code>headerAppendNext</code> variable.
+     * Retrieved lines of server log are stored in internal <code>lines</code> <code>List</code> or
+     * written directly to log data sink when provided by command entity. Content of HTTP header
+     * <code>X-Text-Append-Next</code> is stored in internal <code>headerAppendNext</code> variable.
      * <p/>
      * It's not necessary close the stream parameter when finished. Caller will take care of that. But
      * this method uses additional stream handlers for <code>gzip</code> compression and buffered
@@ -167,17 +182,33 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     @Override
     public boolean readResponse(InputStream in, HttpURLConnection hconn) {
-        lines = new LinkedList<>();
         String ce = hconn.getContentEncoding();
-        BufferedReader br = null;
+        InputStream cooked = null;
         String line = null;
         try {
-            InputStream cooked = null != ce && ce.contains("gzip")
+            cooked = null != ce && ce.contains("gzip")
                     ? new GZIPInputStream(in)
                     : in;
-            br = new BufferedReader(new java.io.InputStreamReader(cooked));
-            while ((line = br.readLine()) != null) {
-                if (line != null) {
+            if (sink != null) {
+                lines = Collections.emptyList();
+                byte[] buff = new byte[SINK_BUFFER_SIZE];
+                int last = '\n';
+                for (int count; (count = cooked.read(buff)) >= 0;) {
+                    if (count > 0) {
+                        sink.write(buff, 0, count);
+                        size += count;
+                        last = buff[count - 1];
+                    }
+                }
+                // Next response must start on new line.
+                if (last != '\n') {
+                    sink.write('\n');
+                }
+                sink.flush();
+            } else {
+                lines = new ArrayList<>();
+                BufferedReader br = new BufferedReader(new java.io.InputStreamReader(cooked));
+                while ((line = br.readLine()) != null) {
                     lines.add(line);
                 }
             }
@@ -186,8 +217,8 @@ public class RunnerRestFetchLogData extends RunnerRest {
                     ioe);
         } finally {
             try {
-                if (br != null) {
-                    br.close();
+                if (cooked != null) {
+                    cooked.close();
                 }
             } catch (IOException ioe) {
                 Logger.log(Level.WARNING, ioe.getLocalizedMessage(), ioe);
@@ -216,13 +247,7 @@ public class RunnerRestFetchLogData extends RunnerRest {
      */
     @Override
     protected boolean processResponse() {
-        // Make ArrayList copy of stored lines. ArrayList allows better access
-        // to log values.
-        List logLines = new ArrayList(lines.size());
-        for (String line : lines) {
-            logLines.add(line);
-        }
-        result.value = new ValueLog(logLines, headerAppendNext.getQuery());
+        result.value = new ValueLog(lines, headerAppendNext.getQuery(), size);
         return true;
     }
 
@@ -21,6 +21,7 @@ package fish.payara.eclipse.tools.server.sdk.admin;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
+import java.util.Map;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 
@@ -52,11 +53,16 @@ public class RunnerRestSetProperty extends RunnerRest {
         OutputStreamWriter wr = new OutputStreamWriter(hconn.getOutputStream());
         CommandSetProperty spCommand = (CommandSetProperty) command;
         StringBuilder data = new StringBuilder();
-        data.append("values=");
-        data.append(spCommand.property);
-        data.append("=\"");
-        data.append(spCommand.value);
-        data.append("\"");
+        for (Map.Entry<String, String> entry : spCommand.values.entrySet()) {
+            if (data.length() > 0) {
+                data.append('&');
+            }
+            data.append("values=");
+            data.append(entry.getKey());
+            data.append("=\"");
+            data.append(entry.getValue());
+            data.append("\"");
+        }
         wr.write(data.toString());
         wr.flush();
         wr.close();
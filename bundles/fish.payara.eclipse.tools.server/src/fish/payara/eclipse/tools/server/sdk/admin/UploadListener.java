@@ -0,0 +1,32 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.admin;
+
+/**
+ * Deployed archive upload progress callback.
+ * <p/>
+ * Callback is invoked from administration command execution thread.
+ */
+public interface UploadListener {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Interface Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Callback to notify about archive bytes sent to the server.
+     * <p/>
+     *
+     * @param sent Number of archive bytes sent since previous notification.
+     * @param total Total size of uploaded archive.
+     */
+    public void uploaded(long sent, long total);
+
+}
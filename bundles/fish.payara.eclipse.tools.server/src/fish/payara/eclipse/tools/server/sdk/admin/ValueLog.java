@@ -47,6 +47,9 @@ public class ValueLog {
      */
     final String paramsAppendNext;
 
+    /** Count of log bytes passed directly to log data sink. */
+    final long size;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -60,10 +63,12 @@ public class ValueLog {
      *
      * @param lines GlassFish server log lines.
      * @param paramsAppendNext URL parameters from HTTP header <code>X-Text-Append-Next</code>
+     * @param size Count of log bytes passed directly to log data sink.
      */
-    ValueLog(List<String> lines, String paramsAppendNext) {
+    ValueLog(List<String> lines, String paramsAppendNext, long size) {
         this.lines = lines;
         this.paramsAppendNext = paramsAppendNext;
+        this.size = size;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -90,6 +95,18 @@ public class ValueLog {
         return paramsAppendNext;
     }
 
+    /**
+     * Get count of log bytes passed directly to log data sink.
+     * <p/>
+     * Log lines list is empty when log data sink was used.
+     * <p/>
+     *
+     * @return Count of log bytes passed to log data sink.
+     */
+    public long getSize() {
+        return size;
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Methods //
     ////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,110 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.data;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatus;
+import fish.payara.eclipse.tools.server.sdk.GlassFishStatusListener;
+
+/**
+ * GlassFish server status monitor interface.
+ * <p/>
+ * Status polling of single server instance as used by {@link GlassFishStatus} API.
+ * <p/>
+ */
+public interface GlassFishStatusMonitor extends GlassFishServerStatus {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Interface Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Register monitor trough {@link GlassFishStatus} API and start polling.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when monitor was registered or <code>false</code> when it
+     * was already registered.
+     */
+    public boolean register();
+
+    /**
+     * Unregister monitor from {@link GlassFishStatus} API and remove its status listeners.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when monitor was unregistered or <code>false</code> when it
+     * was not registered.
+     */
+    public boolean unregister();
+
+    /**
+     * Suspend polling requested trough {@link GlassFishStatus} API.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when polling was suspended or <code>false</code> when monitor
+     * is not registered.
+     */
+    public boolean suspend();
+
+    /**
+     * Resume polling requested trough {@link GlassFishStatus} API when it was suspended.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when polling was resumed or <code>false</code> when it was
+     * not suspended.
+     */
+    public boolean resume();
+
+    /**
+     * Switch into startup mode.
+     * <p/>
+     * Server stays in {@link GlassFishStatus#STARTUP} state until it is found online.
+     * <p/>
+     *
+     * @param force Switch from any state when <code>true</code>, otherwise only offline or unknown
+     * server is switched.
+     * @return Value of <code>true</code> when monitor was switched into startup mode.
+     */
+    public boolean startup(final boolean force);
+
+    /**
+     * Switch into shutdown mode.
+     * <p/>
+     * Server stays in {@link GlassFishStatus#SHUTDOWN} state until it is found offline.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when monitor was switched into shutdown mode.
+     */
+    public boolean shutdown();
+
+    /**
+     * Register status listener.
+     * <p/>
+     *
+     * @param listener Server status listener to be registered.
+     * @param currentState Notify about current server status after every check when
+     * <code>true</code>.
+     * @param errors Notify about server status check errors when <code>true</code>.
+     * @param newState Notify about server status change for new states provided as this argument.
+     * @return Value of <code>true</code> when listener was added for at least one event or
+     * <code>false</code> when it was already registered for all of them.
+     */
+    public boolean addStatusListener(final GlassFishStatusListener listener,
+            final boolean currentState, final boolean errors,
+            final GlassFishStatus... newState);
+
+    /**
+     * Unregister status listener.
+     * <p/>
+     *
+     * @param listener Server status listener to be unregistered.
+     * @return Value of <code>true</code> when listener was found and removed.
+     */
+    public boolean removeStatusListener(final GlassFishStatusListener listener);
+
+}
@@ -19,15 +19,26 @@
 package fish.payara.eclipse.tools.server.sdk.server;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
 import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
 import fish.payara.eclipse.tools.server.sdk.utils.ServerUtils;
@@ -35,6 +46,13 @@ import fish.payara.eclipse.tools.server.sdk.utils.ServerUtils;
 /**
  * Fetch GlassFish log from local server.
  * <p/>
+ * Log file is read trough <code>FileChannel</code> from tracked position so skipping to the end of
+ * the log file is done at once regardless of its size. Reading task waits for new data using
+ * <code>WatchService</code> registered on log directory so idle task does not consume any CPU time.
+ * When native file system notifications are not available, log file is polled with delay growing
+ * while there are no new data. Log rotation is detected by change of file key (i-node) or by file
+ * size dropping below current position.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -47,6 +65,45 @@ public class FetchLogLocal extends FetchLogPiped {
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(FetchLogLocal.class);
 
+    /** Initial polling delay in miliseconds when file system notifications are not available. */
+    private static final int MIN_POLL_DELAY = 50;
+
+    /**
+     * Maximal time to wait for file system notification in miliseconds. Guards against lost
+     * notifications.
+     */
+    private static final int WATCH_TIMEOUT = 30000;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get identity of log file.
+     * <p/>
+     * File key is used when provided by file system, file creation time otherwise.
+     * <p/>
+     *
+     * @param logFile Log file.
+     * @return Log file identity or <code>null</code> when log file does not exist.
+     * @throws IOException When file attributes could not be read.
+     */
+    private static Object fileIdentity(final Path logFile) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(logFile, BasicFileAttributes.class);
+            return attrs.fileKey() != null ? attrs.fileKey() : attrs.creationTime();
+        } catch (NoSuchFileException nsfe) {
+            return null;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Log directory watch service, <code>null</code> when polling is used. */
+    private volatile WatchService watcher;
+
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
     ////////////////////////////////////////////////////////////////////////////
@@ -55,7 +112,7 @@ public class FetchLogLocal extends FetchLogPiped {
      * Constructs an instance of GlassFish local server log fetcher.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>FileInputStream</code> before this constructor code is being
+     * <code>InputStream</code> where log data are passed to before this constructor code is being
      * executed.
      * <p/>
      *
@@ -72,7 +129,7 @@ public class FetchLogLocal extends FetchLogPiped {
      * {@link ExecutorService}.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>FileInputStream</code> before this constructor code is being
+     * <code>InputStream</code> where log data are passed to before this constructor code is being
      * executed.
      * <p/>
      *
@@ -91,41 +148,102 @@ public class FetchLogLocal extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Initializes active log file <code>InputStream</code> as <code>FileInputStream</code> sending data
-     * from local server log file.
+     * Opens active log file <code>FileChannel</code>.
      * <p/>
      *
-     * @return <code>FileInputStream</code> where log lines from server active log file will be
-     * available to read.
+     * @param logFile Active server log file.
+     * @return <code>FileChannel</code> where log lines from server active log file will be available
+     * to read or <code>null</code> when log file does not exist.
      */
-    private InputStream initInputFile() {
+    private FileChannel initInputFile(final Path logFile) {
         final String METHOD = "initInputFile";
-        File logFile = ServerUtils.getServerLogFile(server);
-        InputStream log;
         try {
-            log = new FileInputStream(logFile);
-        } catch (FileNotFoundException fnfe) {
+            return FileChannel.open(logFile, StandardOpenOption.READ);
+        } catch (NoSuchFileException nsfe) {
             LOGGER.log(Level.INFO, METHOD,
-                    "fileNotFound", logFile.getAbsolutePath());
+                    "fileNotFound", logFile.toAbsolutePath());
             return null;
+        } catch (IOException ioe) {
+            throw new FetchLogException(
+                    LOGGER.excMsg(METHOD, "cantInit"), ioe);
         }
-        if (skip) {
-            int count;
-            try {
-                while ((count = log.available()) > 0) {
-                    log.skip(count);
-                }
-            } catch (IOException ioe) {
+    }
+
+    /**
+     * Starts watching log directory for changes.
+     * <p/>
+     * Watch services which poll the file system themselves are not used because polling with adaptive
+     * delay reacts faster.
+     * <p/>
+     *
+     * @param logDir Server log directory.
+     * @return Watch service or <code>null</code> when file system notifications are not available.
+     */
+    private WatchService initWatcher(final Path logDir) {
+        final String METHOD = "initWatcher";
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            if (service.getClass().getName().endsWith("PollingWatchService")) {
+                LOGGER.log(Level.FINE, METHOD, "polling");
+                service.close();
+                return null;
+            }
+            logDir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            return service;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.log(Level.INFO, METHOD, "unavailable", e.getMessage());
+            if (service != null) {
                 try {
-                    log.close();
-                } catch (IOException ioec) {
-                    LOGGER.log(Level.INFO, METHOD, "cantClose", ioec);
+                    service.close();
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
                 }
-                throw new FetchLogException(
-                        LOGGER.excMsg(METHOD, "cantInit"), ioe);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Wait for log directory change or for given polling delay when file system notifications are not
+     * available.
+     * <p/>
+     *
+     * @param delay Polling delay [ms].
+     * @throws InterruptedException When waiting was interrupted.
+     */
+    private void await(final int delay) throws InterruptedException {
+        WatchService service = watcher;
+        if (service == null) {
+            Thread.sleep(delay);
+            return;
+        }
+        try {
+            WatchKey key = service.poll(WATCH_TIMEOUT, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException cwse) {
+            // Reading task is being stopped.
+        }
+    }
+
+    /**
+     * Wake up reading task waiting for log directory change by closing watch service.
+     */
+    @Override
+    void wakeUp() {
+        final String METHOD = "wakeUp";
+        WatchService service = watcher;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ioe) {
+                LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
             }
         }
-        return log;
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -133,82 +251,89 @@ public class FetchLogLocal extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Remote server log lines reading task.
+     * Local server log lines reading task.
      * <p/>
-     * Reads new log lines from server using GlassFish remote administration API and sends them into
-     * pipe (<code>PipedInputStream</code>).
+     * Reads new log lines from server log file and sends them into pipe.
      * <p/>
      *
-     * @return <code>TaskState.COMPLETED</code> when remote administration API stopped responding or
-     * <code>TaskState.FAILED</code> when exception was caught.
+     * @return <code>TaskState.COMPLETED</code> when task was stopped or <code>TaskState.FAILED</code>
+     * when exception was caught.
      */
-    @SuppressWarnings("SleepWhileInLoop")
     @Override
     public TaskState call() {
         final String METHOD = "call";
         notifyListeners(TaskState.RUNNING);
-        InputStream fIn = initInputFile();
-        byte[] buff = new byte[PIPE_BUFFER_SIZE];
-        File logFile = ServerUtils.getServerLogFile(server);
-        int inCount;
-        long lastModified;
+        File file = ServerUtils.getServerLogFile(server);
+        Path logFile = file.toPath();
+        FileChannel fIn = initInputFile(logFile);
         if (fIn == null) {
             return notifyListeners(TaskState.FAILED);
         }
-        while (taksExecute) {
-            try {
-                inCount = fIn.available();
-                lastModified = logFile.lastModified();
-                // Nothing to read. Check log rotation after delay.
-                if (inCount <= 0) {
-                    Thread.sleep(LOG_REFRESH_DELAY);
-                    inCount = fIn.available();
-                    if (inCount <= 0 && logFile.lastModified() > lastModified) {
-                        LOGGER.log(Level.FINER, METHOD, "rotation");
-                        fIn.close();
-                        out.flush();
-
-                        fIn = initInputFile();
-                    }
+        // Fetcher skipping to the end of the log does not need older records indexed
+        LogIndex index = GlassFishToolsConfig.isLogIndex() && !skip ? LogIndex.get(file) : null;
+        ByteBuffer buff = ByteBuffer.allocate(PIPE_BUFFER_SIZE);
+        int delay = MIN_POLL_DELAY;
+        try {
+            watcher = initWatcher(logFile.getParent());
+            if (!taksExecute) {
+                wakeUp();
+            }
+            Object identity = fileIdentity(logFile);
+            long position = skip ? fIn.size() : 0;
+            while (taksExecute) {
+                int count = fIn.read(buff, position);
+                if (count > 0) {
+                    LOGGER.log(Level.FINEST, METHOD, "read",
+                            new Object[] { Integer.valueOf(count) });
+                    out.write(buff.array(), 0, count);
+                    buff.clear();
+                    position += count;
+                    delay = MIN_POLL_DELAY;
+                    continue;
                 }
-                if (inCount > 0) {
-                    while (inCount > 0) {
-                        int count = fIn.read(buff);
-                        LOGGER.log(Level.FINEST, METHOD, "read",
-                                new Object[] { new Integer(count) });
-                        if (count > 0) {
-                            out.write(buff, 0, count);
-                            inCount -= count;
-                        } else {
-                            // Return -1: If log file is rotated, the original file handle is no longer valid
-                            break;
-                        }
-                        if (inCount <= 0) {
-                            inCount = fIn.available();
-                        }
-                    }
-                    out.flush();
+                out.flush();
+                if (index != null) {
+                    index.schedule();
                 }
-            } catch (InterruptedException ie) {
-                LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
-                Thread.currentThread().interrupt();
-                return notifyListeners(TaskState.COMPLETED);
-            } catch (InterruptedIOException ie) {
+                // Nothing to read. Check log rotation before waiting.
+                Object current = fileIdentity(logFile);
+                if (current != null && (!current.equals(identity)
+                        || Files.size(logFile) < position)) {
+                    LOGGER.log(Level.FINER, METHOD, "rotation");
+                    fIn.close();
+                    fIn = FileChannel.open(logFile, StandardOpenOption.READ);
+                    identity = current;
+                    position = 0;
+                    continue;
+                }
+                await(delay);
+                delay = Math.min(2 * delay, LOG_REFRESH_DELAY);
+            }
+        } catch (InterruptedException ie) {
+            LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
+            Thread.currentThread().interrupt();
+            return notifyListeners(TaskState.COMPLETED);
+        } catch (InterruptedIOException ie) {
+            LOGGER.log(Level.INFO, METHOD,
+                    "interruptedIO", ie.getMessage());
+            Thread.currentThread().interrupt();
+            return notifyListeners(TaskState.COMPLETED);
+        } catch (IOException ioe) {
+            if (taksExecute) {
+                LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
+                return notifyListeners(TaskState.FAILED);
+            } else {
                 LOGGER.log(Level.INFO, METHOD,
-                        "interruptedIO", ie.getMessage());
-                Thread.currentThread().interrupt();
+                        "ioExceptionMsg", ioe.getMessage());
                 return notifyListeners(TaskState.COMPLETED);
+            }
+        } finally {
+            try {
+                fIn.close();
             } catch (IOException ioe) {
-                if (taksExecute) {
-                    LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
-                    return notifyListeners(TaskState.FAILED);
-                } else {
-                    LOGGER.log(Level.INFO, METHOD,
-                            "ioExceptionMsg", ioe.getMessage());
-                    return notifyListeners(TaskState.COMPLETED);
-                }
+                LOGGER.log(Level.INFO, METHOD, "cantClose", ioe);
             }
-
+            wakeUp();
         }
         return notifyListeners(TaskState.COMPLETED);
     }
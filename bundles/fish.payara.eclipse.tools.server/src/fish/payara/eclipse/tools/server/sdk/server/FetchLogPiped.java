@@ -20,29 +20,27 @@ package fish.payara.eclipse.tools.server.sdk.server;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.OutputStream;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
 import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
 import fish.payara.eclipse.tools.server.sdk.utils.LinkedList;
 import fish.payara.eclipse.tools.server.sdk.utils.NetUtils;
 
 /**
  * Fetch GlassFish log from local or remote server.
  * <p/>
- * Data are fetched in service thread and passed into <code>PipedOutputStream</code>.
+ * Data are fetched in service thread and passed trough {@link LogRingBuffer} to log reader. Buffer
+ * size and overflow behavior are taken from {@link GlassFishToolsConfig}.
  * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
@@ -57,8 +55,8 @@ public abstract class FetchLogPiped
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(FetchLogPiped.class);
 
-    /** Size of internal buffer in pipe input stream. */
-    static final int PIPE_BUFFER_SIZE = 8192;
+    /** Size of buffer used to pass data read from server into log buffer. */
+    static final int PIPE_BUFFER_SIZE = 65536;
 
     /** Log refresh delay in miliseconds. */
     static final int LOG_REFRESH_DELAY = 1000;
@@ -149,7 +147,7 @@ public abstract class FetchLogPiped
     ////////////////////////////////////////////////////////////////////////////
 
     /** Output stream where to write retrieved remote server log. */
-    final PipedOutputStream out;
+    final OutputStream out;
 
     /** Running task that reads log lines from remote server. */
     Future<TaskState> task;
@@ -174,9 +172,8 @@ public abstract class FetchLogPiped
      * Constructs an instance of GlassFish remote server log fetcher.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as log ring buffer reader side before this constructor code is being
+     * executed. Here we can simply take writer side of already initialized ring buffer.
      * <p/>
      *
      * @param server GlassFish server for fetching server log.
@@ -184,23 +181,12 @@ public abstract class FetchLogPiped
      */
     FetchLogPiped(final PayaraServer server, boolean skip) {
         super(server, skip);
-        final String METHOD = "init";
         this.eventListeners = new LinkedList();
-        try {
-            out = new PipedOutputStream((PipedInputStream) this.in);
-        } catch (IOException ioe) {
-            super.close();
-            throw new FetchLogException(LOGGER.excMsg(METHOD, "cantInit"), ioe);
-        }
+        out = ((LogRingBuffer.Input) this.in).getBuffer().getOutputStream();
         taksExecute = true;
         // Create internal executor to run log reader task.
-        executor = new ThreadPoolExecutor(0, 1, 0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<Runnable>(), (ThreadFactory) r -> {
-                    Thread t = new Thread(r, FetchLogPiped.class.getName()
-                            + server.getUrl() != null ? " (Localhost)" : server.getUrl());
-                    t.setDaemon(true);
-                    return t;
-                });
+        executor = ExecutorFactory.newExecutor(FetchLogPiped.class.getName()
+                + (server.getUrl() != null ? " " + server.getUrl() : " (Localhost)"), 1);
         internalExecutor = true;
     }
 
@@ -209,9 +195,8 @@ public abstract class FetchLogPiped
      * {@link ExecutorService}.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> as log ring buffer reader side before this constructor code is being
+     * executed. Here we can simply take writer side of already initialized ring buffer.
      * <p/>
      *
      * @param executor Executor service used to start task.
@@ -222,14 +207,8 @@ public abstract class FetchLogPiped
     FetchLogPiped(final ExecutorService executor, final PayaraServer server,
             boolean skip) {
         super(server, skip);
-        final String METHOD = "init";
         this.eventListeners = new LinkedList();
-        try {
-            out = new PipedOutputStream((PipedInputStream) this.in);
-        } catch (IOException ioe) {
-            super.close();
-            throw new FetchLogException(LOGGER.excMsg(METHOD, "cantInit"), ioe);
-        }
+        out = ((LogRingBuffer.Input) this.in).getBuffer().getOutputStream();
         taksExecute = true;
         // Use external executor to run log reader task.
         this.executor = executor;
@@ -241,20 +220,37 @@ public abstract class FetchLogPiped
     ////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Constructor callback which initializes log <code>InputStream</code> as
-     * <code>PipedInputStream</code> sending data from remote server log reader.
+     * Constructor callback which initializes log <code>InputStream</code> as reader side of
+     * {@link LogRingBuffer} receiving data from server log reading task.
      * <p/>
      * This initialization is called form <code>FetchLog</code> super class constructor. It already
-     * exists when <code>FetchLogRemote</code> constructor is running so it may be used as argument for
-     * local <code>PipedOutputStream</code> initialization.
+     * exists when <code>FetchLogPiped</code> constructor is running so its writer side may be used as
+     * local <code>OutputStream</code>.
      * <p/>
      *
-     * @return <code>PipedInputStream</code> where log lines received from server will be available to
-     * read.
+     * @return <code>InputStream</code> where log lines received from server will be available to read.
      */
     @Override
     InputStream initInputStream() {
-        return new PipedInputStream(PIPE_BUFFER_SIZE);
+        return new LogRingBuffer(GlassFishToolsConfig.getLogBufferSize(),
+                GlassFishToolsConfig.getLogOverflow()).getInputStream();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Getters and Setters //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get count of log bytes dropped because log reader did not keep up with the server.
+     * <p/>
+     * Data are dropped only with {@link fish.payara.eclipse.tools.server.sdk.LogOverflow#DROP_OLDEST}
+     * overflow behavior.
+     * <p/>
+     *
+     * @return Count of dropped bytes.
+     */
+    public long getDropped() {
+        return ((LogRingBuffer.Input) this.in).getBuffer().getDropped();
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -337,6 +333,15 @@ public abstract class FetchLogPiped
         return state;
     }
 
+    /**
+     * Wake up log lines reading task waiting for new data so it notices stop request.
+     * <p/>
+     * Does nothing by default, reading tasks check stop request at least every
+     * <code>LOG_REFRESH_DELAY</code>.
+     */
+    void wakeUp() {
+    }
+
     /**
      * Start task.
      */
@@ -354,6 +359,7 @@ public abstract class FetchLogPiped
     private TaskState stop() {
         final String METHOD = "stop";
         taksExecute = false;
+        wakeUp();
         if (this.out != null) {
             try {
                 this.out.close();
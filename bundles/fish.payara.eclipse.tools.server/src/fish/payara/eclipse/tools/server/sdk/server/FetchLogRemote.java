@@ -18,11 +18,11 @@
 
 package fish.payara.eclipse.tools.server.sdk.server;
 
-import java.io.IOException;
-import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
@@ -31,11 +31,15 @@ import fish.payara.eclipse.tools.server.sdk.admin.CommandFetchLogData;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultLog;
 import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
 import fish.payara.eclipse.tools.server.sdk.logging.Logger;
-import fish.payara.eclipse.tools.server.sdk.utils.OsUtils;
 
 /**
  * Fetch GlassFish log from remote server.
  * <p/>
+ * Log is polled using <code>view-log</code> REST command executed in log fetcher's own executor so
+ * polling never waits in administration commands queue of the server. Received log data are
+ * requested gzip compressed and passed to log buffer as they arrive. Server is polled frequently
+ * while log lines are flowing and polling delay grows while server log is idle.
+ * <p/>
  *
  * @author Tomas Kraus, Peter Benedikovic
  */
@@ -46,7 +50,23 @@ public class FetchLogRemote extends FetchLogPiped {
     ////////////////////////////////////////////////////////////////////////////
 
     /** Logger instance for this class. */
-    private static final Logger LOGGER = new Logger(FetchLogPiped.class);
+    private static final Logger LOGGER = new Logger(FetchLogRemote.class);
+
+    /** Polling delay in miliseconds while log lines are flowing. */
+    private static final int MIN_POLL_DELAY = 100;
+
+    /** Maximal polling delay in miliseconds while server log is idle. */
+    private static final int MAX_POLL_DELAY = 4 * LOG_REFRESH_DELAY;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Thread waiting between polls, unparked when task is being stopped. Parking does not pin the
+     * carrier of a virtual thread like waiting on a monitor does.
+     */
+    private volatile Thread waiting;
 
     ////////////////////////////////////////////////////////////////////////////
     // Constructors //
@@ -56,9 +76,8 @@ public class FetchLogRemote extends FetchLogPiped {
      * Constructs an instance of GlassFish remote server log fetcher.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> where log data are passed to before this constructor code is being
+     * executed.
      * <p/>
      *
      * @param server GlassFish server for fetching server log.
@@ -73,9 +92,8 @@ public class FetchLogRemote extends FetchLogPiped {
      * {@link ExecutorService}.
      * <p/>
      * Super class constructor will call <code>initInputStream</code> method which initializes
-     * <code>InputStream</code> as <code>PipedInputStream</code> before this constructor code is being
-     * executed. Here we can simply connect already initialized <code>PipedInputStream</code> with newly
-     * created <code>PipedInputStream</code>.
+     * <code>InputStream</code> where log data are passed to before this constructor code is being
+     * executed.
      * <p/>
      *
      * @param executor Executor service used to start task.
@@ -87,6 +105,39 @@ public class FetchLogRemote extends FetchLogPiped {
         super(executor, server, skip);
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Wait before next poll unless task is being stopped.
+     * <p/>
+     *
+     * @param delay Polling delay [ms].
+     * @throws InterruptedException When waiting was interrupted.
+     */
+    private void pause(final int delay) throws InterruptedException {
+        waiting = Thread.currentThread();
+        try {
+            if (taksExecute) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(delay));
+            }
+        } finally {
+            waiting = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Wake up reading task waiting for next poll.
+     */
+    @Override
+    void wakeUp() {
+        LockSupport.unpark(waiting);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Runnable call() Method //
     ////////////////////////////////////////////////////////////////////////////
@@ -95,49 +146,38 @@ public class FetchLogRemote extends FetchLogPiped {
      * Remote server log lines reading task.
      * <p/>
      * Reads new log lines from server using GlassFish remote administration API and sends them into
-     * pipe (<code>PipedInputStream</code>).
+     * log buffer.
      * <p/>
      *
      * @return <code>TaskState.COMPLETED</code> when remote administration API stopped responding or
      * <code>TaskState.FAILED</code> when exception was caught.
      */
-    @SuppressWarnings("SleepWhileInLoop")
     @Override
     public TaskState call() {
         final String METHOD = "call";
         notifyListeners(TaskState.RUNNING);
-        String paramsAppendNext = null;
-        Future<ResultLog> future = ServerAdmin.<ResultLog>exec(server,
-                new CommandFetchLogData());
+        ExecutorService lane = ServerAdmin.executor(1);
+        int delay = MIN_POLL_DELAY;
         try {
-            ResultLog result = future.get();
-            if (!skip && result.getState() == TaskState.COMPLETED) {
-                paramsAppendNext = result.getValue().getParamsAppendNext();
-                for (String line : result.getValue().getLines()) {
-                    out.write(line.getBytes());
-                    out.write(OsUtils.LINES_SEPARATOR.getBytes());
-                }
-                out.flush();
-            }
-            byte[] lineSeparatorOut = OsUtils.LINES_SEPARATOR.getBytes();
+            ResultLog result = ServerAdmin.<ResultLog>exec(lane, server,
+                    new CommandFetchLogData(null,
+                            skip ? OutputStream.nullOutputStream() : out)).get();
             while (taksExecute && result.getState() == TaskState.COMPLETED) {
-                future = ServerAdmin.<ResultLog>exec(server,
-                        new CommandFetchLogData(
-                                paramsAppendNext));
-                result = future.get();
-                if (result.getState() == TaskState.COMPLETED) {
-                    paramsAppendNext = result.getValue().getParamsAppendNext();
-                    for (String line : result.getValue().getLines()) {
-                        byte[] lineOut = line.getBytes();
-                        LOGGER.log(Level.FINEST, METHOD, "read", new Object[] {
-                                new Integer(lineOut.length
-                                        + lineSeparatorOut.length) });
-                        out.write(lineOut);
-                        out.write(lineSeparatorOut);
-                    }
-                    out.flush();
+                long size = result.getValue().getSize();
+                if (size > 0) {
+                    LOGGER.log(Level.FINEST, METHOD, "read",
+                            new Object[] { Long.valueOf(size) });
+                    delay = MIN_POLL_DELAY;
+                } else {
+                    delay = Math.min(2 * delay, MAX_POLL_DELAY);
                 }
-                Thread.sleep(LOG_REFRESH_DELAY);
+                pause(delay);
+                if (!taksExecute) {
+                    break;
+                }
+                result = ServerAdmin.<ResultLog>exec(lane, server,
+                        new CommandFetchLogData(
+                                result.getValue().getParamsAppendNext(), out)).get();
             }
         } catch (InterruptedException ie) {
             LOGGER.log(Level.INFO, METHOD, "interrupted", ie.getMessage());
@@ -146,19 +186,8 @@ public class FetchLogRemote extends FetchLogPiped {
         } catch (ExecutionException ee) {
             LOGGER.log(Level.INFO, METHOD, "exception", ee);
             return notifyListeners(TaskState.FAILED);
-        } catch (InterruptedIOException ie) {
-            LOGGER.log(Level.INFO, METHOD, "interruptedIO", ie.getMessage());
-            Thread.currentThread().interrupt();
-            return notifyListeners(TaskState.COMPLETED);
-        } catch (IOException ioe) {
-            if (taksExecute) {
-                LOGGER.log(Level.INFO, METHOD, "ioException", ioe);
-                return notifyListeners(TaskState.FAILED);
-            } else {
-                LOGGER.log(Level.INFO, METHOD,
-                        "ioExceptionMsg", ioe.getMessage());
-                return notifyListeners(TaskState.COMPLETED);
-            }
+        } finally {
+            lane.shutdownNow();
         }
         return notifyListeners(TaskState.COMPLETED);
     }
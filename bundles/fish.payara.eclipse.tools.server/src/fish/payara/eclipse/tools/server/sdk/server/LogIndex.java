@@ -0,0 +1,820 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+import fish.payara.eclipse.tools.server.sdk.utils.ExecutorFactory;
+import fish.payara.eclipse.tools.server.sdk.utils.OsUtils;
+
+/**
+ * Searchable index of server log records stored in log index directory set in
+ * {@link GlassFishToolsConfig}.
+ * <p/>
+ * Index contains fixed size entry for each record in ODL format with record offset in the log file,
+ * record time, level value and hash of logger name. Records are taken from first lines of records
+ * containing <code>[timeMillis: ...]</code> and <code>[levelValue: ...]</code> fields. Index is
+ * updated in background thread whenever local log fetcher reads new data and before each query.
+ * Queries search memory mapped index file, so finding records of given time interval, minimal level
+ * and logger does not require reading the log.
+ * <p/>
+ * Index file is rebuilt when log file was rotated or when the index does not match the log file.
+ * Entries returned by a query can be read until the log file is rotated.
+ * <p/>
+ * Entries are kept in the log file order, which is not strictly time order. Records are written by
+ * several threads and time is taken when the record is created, so a record may be written after
+ * a record with slightly higher time. Queries search from the requested interval start minus
+ * {@link #TIME_SLACK} and scan up to the interval end plus {@link #TIME_SLACK}, records written
+ * later than that out of order are not found.
+ * <p/>
+ */
+public class LogIndex {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Indexed log record.
+     */
+    public static class Entry {
+
+        /** Record offset in the log file. */
+        private final long offset;
+
+        /** Record length in bytes. */
+        private final int length;
+
+        /** Record time [ms]. */
+        private final long time;
+
+        /** Record level value. */
+        private final int level;
+
+        /** Identity of log file containing the record. */
+        private final long identity;
+
+        /**
+         * Creates an instance of indexed log record.
+         * <p/>
+         *
+         * @param offset Record offset in the log file.
+         * @param length Record length in bytes.
+         * @param time Record time [ms].
+         * @param level Record level value.
+         * @param identity Identity of log file containing the record.
+         */
+        Entry(final long offset, final int length, final long time, final int level,
+                final long identity) {
+            this.offset = offset;
+            this.length = length;
+            this.time = time;
+            this.level = level;
+            this.identity = identity;
+        }
+
+        /**
+         * Get record offset in the log file.
+         * <p/>
+         *
+         * @return Record offset in the log file.
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Get record length in bytes.
+         * <p/>
+         *
+         * @return Record length in bytes.
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Get record time.
+         * <p/>
+         *
+         * @return Record time [ms].
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Get record level value as defined by {@link Level#intValue()}.
+         * <p/>
+         *
+         * @return Record level value.
+         */
+        public int getLevel() {
+            return level;
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(LogIndex.class);
+
+    /** Index file identification. */
+    private static final int MAGIC = 0x504C4958;
+
+    /** Index file format version. */
+    private static final int VERSION = 1;
+
+    /**
+     * Index file header size: magic, version, log file identity, indexed log length and
+     * reserved field.
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /** Position of indexed log length in the header. */
+    private static final int INDEXED_POSITION = 16;
+
+    /** Index entry size: record offset, time, level value and logger hash. */
+    private static final int ENTRY_SIZE = 24;
+
+    /** Maximal length of record first line used to parse record fields. */
+    private static final int HEADER_LINE_SIZE = 2048;
+
+    /** Size of buffer used to scan the log file. */
+    private static final int SCAN_BUFFER_SIZE = 65536;
+
+    /** Maximal size of memory mapped log file window. */
+    private static final int WINDOW_SIZE = 64 << 20;
+
+    /**
+     * Maximal difference between time of a record and time of any record written after it [ms],
+     * queries scan this far past the requested interval.
+     */
+    private static final long TIME_SLACK = 10_000;
+
+    /** Index of logger field in record first line. */
+    private static final int LOGGER_FIELD = 4;
+
+    /** Time field prefix. */
+    private static final byte[] TIME_MILLIS = "timeMillis:".getBytes(StandardCharsets.US_ASCII);
+
+    /** Level value field prefix. */
+    private static final byte[] LEVEL_VALUE = "levelValue:".getBytes(StandardCharsets.US_ASCII);
+
+    /** Open indexes of log files. */
+    private static final Map<Path, LogIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /** Executor running background index updates. */
+    private static volatile ExecutorService executor;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get index of given log file.
+     * <p/>
+     * Index is shared by all log fetchers and queries of the same log file. Index is not updated
+     * until first update or query.
+     * <p/>
+     *
+     * @param logFile Log file.
+     * @return Index of the log file or <code>null</code> when log index directory was not set.
+     */
+    public static LogIndex get(final File logFile) {
+        File directory = GlassFishToolsConfig.getLogIndexDirectory();
+        if (directory == null) {
+            return null;
+        }
+        Path path = logFile.toPath().toAbsolutePath().normalize();
+        return INDEXES.computeIfAbsent(path,
+                key -> new LogIndex(key, indexFile(directory.toPath(), key)));
+    }
+
+    /**
+     * Get index file of given log file.
+     * <p/>
+     * Index file name is derived from the log file path, so logs of different domains do not share
+     * index file.
+     * <p/>
+     *
+     * @param directory Log index directory.
+     * @param logFile Log file.
+     * @return Index file of the log file.
+     */
+    static Path indexFile(final Path directory, final Path logFile) {
+        UUID id = UUID.nameUUIDFromBytes(logFile.toString().getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(logFile.getFileName() + "-" + id + ".idx");
+    }
+
+    /**
+     * Get executor running background index updates.
+     * <p/>
+     *
+     * @return Executor running background index updates.
+     */
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (LogIndex.class) {
+                if (executor == null) {
+                    executor = ExecutorFactory.newExecutor(LogIndex.class.getName(), 1);
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Compute logger name hash stored in index entries.
+     * <p/>
+     *
+     * @param b Buffer containing logger name bytes.
+     * @param start Logger name start.
+     * @param end Logger name end.
+     * @return Logger name hash.
+     */
+    private static int hash(final byte[] b, final int start, final int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + (b[i] & 0xFF);
+        }
+        return h;
+    }
+
+    /**
+     * Find bracket fields in record first line.
+     * <p/>
+     * Fields are searched up to message start (<code>[[</code>).
+     * <p/>
+     *
+     * @param b Buffer containing the line.
+     * @param length Line length.
+     * @param bounds Field bounds to fill, start and end of each field.
+     * @return Count of fields found.
+     */
+    private static int fields(final byte[] b, final int length, final int[] bounds) {
+        int count = 0;
+        int pos = 0;
+        while (pos < length && b[pos] == '[' && 2 * count < bounds.length) {
+            if (pos + 1 < length && b[pos + 1] == '[') {
+                break;
+            }
+            int end = pos + 1;
+            while (end < length && b[end] != ']') {
+                end++;
+            }
+            if (end == length) {
+                break;
+            }
+            bounds[2 * count] = pos + 1;
+            bounds[2 * count + 1] = end;
+            count++;
+            pos = end + 1;
+            while (pos < length && (b[pos] == ' ' || b[pos] == '\t')) {
+                pos++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Parse number of field starting with given prefix.
+     * <p/>
+     *
+     * @param b Buffer containing the field.
+     * @param start Field start.
+     * @param end Field end.
+     * @param prefix Field prefix.
+     * @return Field value or <code>-1</code> when field does not start with given prefix or does not
+     * contain a number.
+     */
+    private static long number(final byte[] b, final int start, final int end, final byte[] prefix) {
+        if (end - start <= prefix.length) {
+            return -1;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (b[start + i] != prefix[i]) {
+                return -1;
+            }
+        }
+        int pos = start + prefix.length;
+        while (pos < end && b[pos] == ' ') {
+            pos++;
+        }
+        if (pos == end) {
+            return -1;
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            if (b[pos] < '0' || b[pos] > '9') {
+                return -1;
+            }
+            value = 10 * value + (b[pos] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Get log file identity.
+     * <p/>
+     * Hash of file key (i-node) is used when provided by file system, file creation time otherwise.
+     * Creation time is not used when file key is available because some file systems report last
+     * modification time instead.
+     * <p/>
+     *
+     * @param logFile Log file.
+     * @return Log file identity.
+     * @throws IOException When log file attributes could not be read.
+     */
+    private static long identity(final Path logFile) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(logFile, BasicFileAttributes.class);
+        Object key = attrs.fileKey();
+        return key != null ? key.hashCode() : attrs.creationTime().toMillis();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Log file. */
+    private final Path logFile;
+
+    /** Index file. */
+    private final Path indexFile;
+
+    /** Index file channel, opened on first update. */
+    private FileChannel index;
+
+    /** Identity of log file the index belongs to. */
+    private long identity;
+
+    /** Log file length covered by the index, always at line boundary. */
+    private long indexed;
+
+    /** Count of index entries. */
+    private int count;
+
+    /** Background update was scheduled and did not start yet. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Record first line parsing buffer. */
+    private final byte[] line = new byte[HEADER_LINE_SIZE];
+
+    /** Record first line fields bounds. */
+    private final int[] bounds = new int[32];
+
+    /** Memory mapped log file window. */
+    private MappedByteBuffer window;
+
+    /** Offset of memory mapped log file window. */
+    private long windowStart;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of log file index.
+     * <p/>
+     *
+     * @param logFile Log file.
+     * @param indexFile Index file.
+     */
+    private LogIndex(final Path logFile, final Path indexFile) {
+        this.logFile = logFile;
+        this.indexFile = indexFile;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Schedule background index update.
+     * <p/>
+     * Does nothing when update is already scheduled.
+     */
+    public void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor().execute(() -> {
+                final String METHOD = "schedule";
+                scheduled.set(false);
+                try {
+                    update();
+                } catch (IOException ioe) {
+                    LOGGER.log(Level.INFO, METHOD, "failed", ioe.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Index log records added since last update.
+     * <p/>
+     *
+     * @throws IOException When log or index file could not be read or written.
+     */
+    public synchronized void update() throws IOException {
+        final String METHOD = "update";
+        long logIdentity;
+        long size;
+        try {
+            logIdentity = identity(logFile);
+            size = Files.size(logFile);
+        } catch (NoSuchFileException nsfe) {
+            return;
+        }
+        if (index == null) {
+            open(logIdentity);
+        }
+        if (logIdentity != identity || size < indexed) {
+            LOGGER.log(Level.FINE, METHOD, "rotation", logFile);
+            reset(logIdentity);
+        }
+        if (size == indexed) {
+            return;
+        }
+        try (FileChannel log = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            scan(log, size);
+        }
+    }
+
+    /**
+     * Open index file and validate it against log file.
+     * <p/>
+     *
+     * @param logIdentity Log file identity.
+     * @throws IOException When index file could not be opened.
+     */
+    private void open(final long logIdentity) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        index = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long length = index.size();
+        if (length >= HEADER_SIZE && (length - HEADER_SIZE) % ENTRY_SIZE == 0
+                && index.read(header, 0) == HEADER_SIZE) {
+            header.flip();
+            if (header.getInt() == MAGIC && header.getInt() == VERSION
+                    && header.getLong() == logIdentity) {
+                identity = logIdentity;
+                indexed = header.getLong();
+                count = (int) ((length - HEADER_SIZE) / ENTRY_SIZE);
+                return;
+            }
+        }
+        reset(logIdentity);
+    }
+
+    /**
+     * Drop all index entries.
+     * <p/>
+     *
+     * @param logIdentity Log file identity.
+     * @throws IOException When index file could not be written.
+     */
+    private void reset(final long logIdentity) throws IOException {
+        index.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(logIdentity).putLong(0).putLong(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            index.write(header, header.position());
+        }
+        identity = logIdentity;
+        indexed = 0;
+        count = 0;
+        window = null;
+    }
+
+    /**
+     * Scan log file from indexed length up to given size and append entries of found records.
+     * <p/>
+     * Incomplete last line is left for next update.
+     * <p/>
+     *
+     * @param log Log file channel.
+     * @param size Log file size.
+     * @throws IOException When log or index file could not be read or written.
+     */
+    private void scan(final FileChannel log, final long size) throws IOException {
+        ByteBuffer buff = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        ByteBuffer entries = ByteBuffer.allocate((SCAN_BUFFER_SIZE / 64 + 1) * ENTRY_SIZE);
+        long position = indexed;
+        long lineStart = indexed;
+        int lineLength = 0;
+        while (position < size) {
+            buff.clear();
+            if (size - position < buff.capacity()) {
+                buff.limit((int) (size - position));
+            }
+            int read = log.read(buff, position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] b = buff.array();
+            for (int i = 0; i < read; i++) {
+                if (b[i] == '\n') {
+                    if (lineLength > 0 && line[0] == '[') {
+                        if (entries.remaining() < ENTRY_SIZE) {
+                            append(entries, lineStart);
+                        }
+                        entry(lineLength, lineStart, entries);
+                    }
+                    lineStart = position + i + 1;
+                    lineLength = 0;
+                } else if (lineLength < HEADER_LINE_SIZE) {
+                    line[lineLength++] = b[i];
+                }
+            }
+            position += read;
+        }
+        append(entries, lineStart);
+    }
+
+    /**
+     * Parse record first line and add its entry.
+     * <p/>
+     *
+     * @param length Line length.
+     * @param offset Line offset in the log file.
+     * @param entries Entries to be appended to the index.
+     */
+    private void entry(final int length, final long offset, final ByteBuffer entries) {
+        int fields = fields(line, length, bounds);
+        if (fields <= LOGGER_FIELD) {
+            return;
+        }
+        long time = -1;
+        long level = -1;
+        for (int i = LOGGER_FIELD + 1; i < fields; i++) {
+            int start = bounds[2 * i];
+            int end = bounds[2 * i + 1];
+            if (time < 0) {
+                time = number(line, start, end, TIME_MILLIS);
+            }
+            if (level < 0) {
+                level = number(line, start, end, LEVEL_VALUE);
+            }
+        }
+        if (time < 0 || level < 0) {
+            return;
+        }
+        entries.putLong(offset).putLong(time).putInt((int) level)
+                .putInt(hash(line, bounds[2 * LOGGER_FIELD], bounds[2 * LOGGER_FIELD + 1]));
+    }
+
+    /**
+     * Append collected entries to the index file and store indexed log length.
+     * <p/>
+     *
+     * @param entries Entries to be appended.
+     * @param indexedTo Log file length covered by the index.
+     * @throws IOException When index file could not be written.
+     */
+    private void append(final ByteBuffer entries, final long indexedTo) throws IOException {
+        entries.flip();
+        long position = HEADER_SIZE + (long) count * ENTRY_SIZE;
+        int added = entries.remaining() / ENTRY_SIZE;
+        while (entries.hasRemaining()) {
+            position += index.write(entries, position);
+        }
+        entries.clear();
+        count += added;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putLong(indexedTo).flip();
+        while (header.hasRemaining()) {
+            index.write(header, INDEXED_POSITION + header.position());
+        }
+        indexed = indexedTo;
+    }
+
+    /**
+     * Find log records matching given criteria.
+     * <p/>
+     * Index is updated before searching. Records are returned in the log file order, records written
+     * out of time order by more than {@link #TIME_SLACK} may be missed.
+     * <p/>
+     *
+     * @param from Minimal record time [ms].
+     * @param to Maximal record time [ms].
+     * @param minLevel Minimal record level or <code>null</code> to match all levels.
+     * @param logger Logger name or <code>null</code> to match all loggers.
+     * @return Matching log records.
+     * @throws IOException When log or index file could not be read.
+     */
+    public synchronized List<Entry> query(final long from, final long to,
+            final Level minLevel, final String logger) throws IOException {
+        update();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        ByteBuffer entries = entries();
+        int min = minLevel != null ? minLevel.intValue() : Integer.MIN_VALUE;
+        byte[] name = logger != null ? logger.getBytes(StandardCharsets.UTF_8) : null;
+        int hash = name != null ? hash(name, 0, name.length) : 0;
+        long last = to < Long.MAX_VALUE - TIME_SLACK ? to + TIME_SLACK : Long.MAX_VALUE;
+        List<Entry> result = new ArrayList<>();
+        try (FileChannel log = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            for (int i = first(entries, from); i < count; i++) {
+                int pos = i * ENTRY_SIZE;
+                long time = entries.getLong(pos + 8);
+                if (time > last) {
+                    break;
+                }
+                int level = entries.getInt(pos + 16);
+                if (time < from || time > to || level < min
+                        || name != null && entries.getInt(pos + 20) != hash) {
+                    continue;
+                }
+                long offset = entries.getLong(pos);
+                long end = i + 1 < count ? entries.getLong(pos + ENTRY_SIZE) : indexed;
+                int length = (int) Math.min(end - offset, Integer.MAX_VALUE);
+                if (name != null && !loggerMatches(log, offset, length, name)) {
+                    continue;
+                }
+                result.add(new Entry(offset, length, time, level, identity));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all index entries.
+     * <p/>
+     * Index file is memory mapped except on Windows, where mapped file can not be truncated until
+     * the mapping is garbage collected.
+     * <p/>
+     *
+     * @return Index entries.
+     * @throws IOException When index file could not be read.
+     */
+    private ByteBuffer entries() throws IOException {
+        long size = (long) count * ENTRY_SIZE;
+        if (!OsUtils.isWin()) {
+            return index.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+        }
+        ByteBuffer entries = ByteBuffer.allocate((int) size);
+        while (entries.hasRemaining()
+                && index.read(entries, HEADER_SIZE + entries.position()) > 0) {
+        }
+        entries.clear();
+        return entries;
+    }
+
+    /**
+     * Find first entry which may have time not lower than given time.
+     * <p/>
+     * Entries are only roughly ordered by time, so binary search looks for the first entry with time
+     * not lower than given time minus {@link #TIME_SLACK}. Entries up to the next one not lower than
+     * given time must be filtered by caller.
+     * <p/>
+     *
+     * @param entries Index entries.
+     * @param from Minimal record time [ms].
+     * @return Index of first possibly matching entry or entries count when there is no such entry.
+     */
+    private int first(final ByteBuffer entries, final long from) {
+        long start = from > Long.MIN_VALUE + TIME_SLACK ? from - TIME_SLACK : Long.MIN_VALUE;
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries.getLong(mid * ENTRY_SIZE + 8) < start) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Check logger name of a record, entry hash may collide.
+     * <p/>
+     *
+     * @param log Log file channel.
+     * @param offset Record offset.
+     * @param length Record length.
+     * @param name Logger name.
+     * @return Value of <code>true</code> when record logger matches or <code>false</code> otherwise.
+     * @throws IOException When log file could not be read.
+     */
+    private boolean loggerMatches(final FileChannel log, final long offset, final int length,
+            final byte[] name) throws IOException {
+        ByteBuffer record = slice(log, offset, Math.min(length, HEADER_LINE_SIZE));
+        int lineLength = 0;
+        while (record.hasRemaining()) {
+            byte b = record.get();
+            if (b == '\n') {
+                break;
+            }
+            line[lineLength++] = b;
+        }
+        if (fields(line, lineLength, bounds) <= LOGGER_FIELD) {
+            return false;
+        }
+        int start = bounds[2 * LOGGER_FIELD];
+        int end = bounds[2 * LOGGER_FIELD + 1];
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (line[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read text of indexed log record.
+     * <p/>
+     * Index is updated first, so memory mapped window of rotated log file is dropped.
+     * <p/>
+     *
+     * @param entry Indexed log record.
+     * @return Record text.
+     * @throws IOException When log file could not be read or the record is no more in the log file
+     *         because it was rotated or truncated.
+     */
+    public synchronized String read(final Entry entry) throws IOException {
+        final String METHOD = "read";
+        update();
+        try (FileChannel log = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (entry.identity != identity || identity(logFile) != identity
+                    || entry.getOffset() + entry.getLength() > log.size()) {
+                throw new IOException(LOGGER.excMsg(METHOD, "outdated", logFile.toString()));
+            }
+            return StandardCharsets.UTF_8.decode(
+                    slice(log, entry.getOffset(), entry.getLength())).toString();
+        }
+    }
+
+    /**
+     * Get part of the log file.
+     * <p/>
+     * Log file is read trough memory mapped window. On Windows memory mapped file can not be renamed
+     * until the mapping is garbage collected, which would break server log rotation, so the data are
+     * read directly there.
+     * <p/>
+     *
+     * @param log Log file channel.
+     * @param offset Data offset.
+     * @param length Data length.
+     * @return Buffer containing requested data.
+     * @throws IOException When log file could not be read.
+     */
+    private ByteBuffer slice(final FileChannel log, final long offset, final int length)
+            throws IOException {
+        if (OsUtils.isWin() || length > WINDOW_SIZE) {
+            ByteBuffer buff = ByteBuffer.allocate(length);
+            while (buff.hasRemaining() && log.read(buff, offset + buff.position()) > 0) {
+            }
+            buff.flip();
+            return buff;
+        }
+        if (window == null || offset < windowStart
+                || offset + length > windowStart + window.capacity()) {
+            long size = Math.min(WINDOW_SIZE, log.size() - offset);
+            window = log.map(FileChannel.MapMode.READ_ONLY, offset, Math.max(size, length));
+            windowStart = offset;
+        }
+        ByteBuffer buff = window.duplicate();
+        buff.position((int) (offset - windowStart));
+        buff.limit((int) (offset - windowStart) + length);
+        return buff.slice();
+    }
+
+}
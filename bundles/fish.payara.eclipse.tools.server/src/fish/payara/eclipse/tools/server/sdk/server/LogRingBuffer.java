@@ -0,0 +1,430 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import fish.payara.eclipse.tools.server.sdk.LogOverflow;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+
+/**
+ * Single producer single consumer byte ring buffer passing log data from log fetcher task to log
+ * reader.
+ * <p/>
+ * Replaces piped streams which synchronize on every write and wake up the reader trough
+ * <code>wait(1000)</code>. Both sides exchange data trough volatile positions without locking, and
+ * thread waiting for data or for free space is parked and unparked by the other side. Reader always
+ * receives all data available in the buffer at once, so lines written in a burst are handed over in
+ * a single batch.
+ * <p/>
+ * When the buffer is full, the writer either waits or drops the oldest data, depending on
+ * {@link LogOverflow} policy. Dropped bytes are counted. To drop whole lines only, reader receives
+ * complete lines only with {@link LogOverflow#DROP_OLDEST}, so the oldest data always start at the
+ * beginning of a line and are dropped up to a line separator. Line which does not fit into the buffer
+ * is dropped completely, the writer skips its remaining bytes up to the next line separator. Incomplete
+ * last line is passed to the reader once the writer is closed.
+ * <p/>
+ */
+final class LogRingBuffer {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Consumer side of the ring buffer.
+     */
+    final class Input extends InputStream {
+
+        /** Single byte read buffer. */
+        private final byte[] single = new byte[1];
+
+        /**
+         * Get ring buffer of this stream.
+         * <p/>
+         *
+         * @return Ring buffer of this stream.
+         */
+        LogRingBuffer getBuffer() {
+            return LogRingBuffer.this;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            return take(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return (int) (tail - head.get());
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            LockSupport.unpark(waitingWriter);
+        }
+
+    }
+
+    /**
+     * Producer side of the ring buffer.
+     */
+    final class Output extends OutputStream {
+
+        /** Single byte write buffer. */
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(final int b) throws IOException {
+            single[0] = (byte) b;
+            put(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            put(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            final String METHOD = "close";
+            writerClosed = true;
+            LockSupport.unpark(waitingReader);
+            LockSupport.unpark(waitingWriter);
+            long count = dropped.get();
+            if (count > 0) {
+                LOGGER.log(Level.INFO, METHOD, "dropped", Long.toString(count));
+            }
+        }
+
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(LogRingBuffer.class);
+
+    /** Minimal buffer size. */
+    private static final int MIN_SIZE = 4096;
+
+    /** Maximal time of single wait [ns], guards against missed wake up. */
+    private static final long PARK_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Buffer content. */
+    private final byte[] buff;
+
+    /** Buffer index mask, buffer size is power of two. */
+    private final int mask;
+
+    /** Behavior when buffer is full. */
+    private final LogOverflow overflow;
+
+    /**
+     * Position of next byte to be read. Moved by reader and by writer when dropping oldest data.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /** Position of next byte to be written. Moved by writer only. */
+    private volatile long tail;
+
+    /** Count of dropped bytes. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Writer skips the rest of line which did not fit into the buffer. Accessed by writer only.
+     */
+    private boolean skipping;
+
+    /** Reader thread waiting for data. */
+    private volatile Thread waitingReader;
+
+    /** Writer thread waiting for free space. */
+    private volatile Thread waitingWriter;
+
+    /** Writer side was closed. */
+    private volatile boolean writerClosed;
+
+    /** Reader side was closed. */
+    private volatile boolean readerClosed;
+
+    /** Consumer side stream. */
+    private final Input input = new Input();
+
+    /** Producer side stream. */
+    private final Output output = new Output();
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of log ring buffer.
+     * <p/>
+     *
+     * @param size Requested buffer size, rounded up to power of two.
+     * @param overflow Behavior when buffer is full.
+     */
+    LogRingBuffer(final int size, final LogOverflow overflow) {
+        int capacity = size <= MIN_SIZE
+                ? MIN_SIZE : Integer.highestOneBit(size - 1) << 1;
+        this.buff = new byte[capacity];
+        this.mask = capacity - 1;
+        this.overflow = overflow;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Getters //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get consumer side stream.
+     * <p/>
+     *
+     * @return Stream to read log data from.
+     */
+    Input getInputStream() {
+        return input;
+    }
+
+    /**
+     * Get producer side stream.
+     * <p/>
+     *
+     * @return Stream to write log data to.
+     */
+    Output getOutputStream() {
+        return output;
+    }
+
+    /**
+     * Get count of bytes dropped because the buffer was full.
+     * <p/>
+     *
+     * @return Count of dropped bytes.
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Write data into buffer.
+     * <p/>
+     *
+     * @param b Data to be written.
+     * @param off Data offset.
+     * @param len Data length.
+     * @throws IOException When any side of the buffer was closed or writer was interrupted.
+     */
+    private void put(final byte[] b, int off, int len) throws IOException {
+        final String METHOD = "put";
+        final int capacity = buff.length;
+        while (len > 0) {
+            if (writerClosed || readerClosed) {
+                throw new IOException(LOGGER.excMsg(METHOD, "closed"));
+            }
+            if (skipping) {
+                int skipped = 0;
+                while (skipped < len && b[off + skipped] != '\n') {
+                    skipped++;
+                }
+                skipping = skipped == len;
+                skipped = Math.min(skipped + 1, len);
+                dropped.addAndGet(skipped);
+                off += skipped;
+                len -= skipped;
+                continue;
+            }
+            long t = tail;
+            long h = head.get();
+            int free = capacity - (int) (t - h);
+            if (free == 0) {
+                if (overflow == LogOverflow.DROP_OLDEST) {
+                    drop(h, t, Math.min(len, capacity));
+                } else {
+                    awaitSpace();
+                }
+                continue;
+            }
+            int count = Math.min(free, len);
+            int pos = (int) t & mask;
+            int first = Math.min(count, capacity - pos);
+            System.arraycopy(b, off, buff, pos, first);
+            System.arraycopy(b, off + first, buff, 0, count - first);
+            tail = t + count;
+            off += count;
+            len -= count;
+            LockSupport.unpark(waitingReader);
+        }
+    }
+
+    /**
+     * Drop oldest data to make space for new ones.
+     * <p/>
+     * Reader takes complete lines only, so head is at the beginning of a line and data are dropped up
+     * to the first line separator giving enough space, or to the last one. When there is none, the
+     * buffer holds part of single line only, it is dropped and writer skips the rest of the line.
+     * <p/>
+     *
+     * @param h Current head position.
+     * @param t Current tail position.
+     * @param count Minimal count of bytes to drop.
+     */
+    private void drop(final long h, final long t, final int count) {
+        long newHead = -1;
+        for (long i = h; i < t; i++) {
+            if (buff[(int) i & mask] == '\n') {
+                newHead = i + 1;
+                if (i >= h + count - 1) {
+                    break;
+                }
+            }
+        }
+        // Reader may have consumed some data meanwhile, caller will try again.
+        if (head.compareAndSet(h, newHead < 0 ? t : newHead)) {
+            dropped.addAndGet((newHead < 0 ? t : newHead) - h);
+            skipping = newHead < 0;
+        }
+    }
+
+    /**
+     * Read data from buffer.
+     * <p/>
+     * Waits until data are available, returns all available data up to requested length. With
+     * {@link LogOverflow#DROP_OLDEST} policy returns complete lines only until writer is closed.
+     * <p/>
+     *
+     * @param b Buffer to read data into.
+     * @param off Buffer offset.
+     * @param len Maximal count of bytes to read.
+     * @return Count of bytes read or <code>-1</code> when writer was closed and all data were read.
+     * @throws IOException When reader was closed or interrupted.
+     */
+    private int take(final byte[] b, final int off, final int len) throws IOException {
+        final String METHOD = "take";
+        final int capacity = buff.length;
+        while (true) {
+            if (readerClosed) {
+                throw new IOException(LOGGER.excMsg(METHOD, "closed"));
+            }
+            long h = head.get();
+            long t = tail;
+            // Head may be outdated when writer dropped data meanwhile, compare and set below fails then
+            int count = (int) Math.min(Math.min(t - h, len), capacity);
+            if (count > 0 && overflow == LogOverflow.DROP_OLDEST && !writerClosed) {
+                count = completeLines(h, count);
+            }
+            if (count > 0) {
+                int pos = (int) h & mask;
+                int first = Math.min(count, capacity - pos);
+                System.arraycopy(buff, pos, b, off, first);
+                System.arraycopy(buff, 0, b, off + first, count - first);
+                // Writer dropped oldest data meanwhile and copied data may be overwritten.
+                if (head.compareAndSet(h, h + count)) {
+                    LockSupport.unpark(waitingWriter);
+                    return count;
+                }
+                continue;
+            }
+            if (writerClosed) {
+                if (tail == h) {
+                    return -1;
+                }
+                continue;
+            }
+            awaitData(t);
+        }
+    }
+
+    /**
+     * Get length of complete lines at the beginning of available data.
+     * <p/>
+     *
+     * @param h Head position.
+     * @param count Count of available bytes.
+     * @return Count of bytes up to and including the last line separator, <code>0</code> when there
+     *         is none.
+     */
+    private int completeLines(final long h, final int count) {
+        for (int i = count; i > 0; i--) {
+            if (buff[(int) (h + i - 1) & mask] == '\n') {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Park reader thread until new data are written.
+     * <p/>
+     *
+     * @param t Tail position seen by the reader.
+     * @throws InterruptedIOException When reader thread was interrupted.
+     */
+    private void awaitData(final long t) throws InterruptedIOException {
+        waitingReader = Thread.currentThread();
+        try {
+            if (tail == t && !writerClosed && !readerClosed) {
+                LockSupport.parkNanos(this, PARK_TIMEOUT);
+                if (Thread.interrupted()) {
+                    throw new InterruptedIOException();
+                }
+            }
+        } finally {
+            waitingReader = null;
+        }
+    }
+
+    /**
+     * Park writer thread until some data are read.
+     * <p/>
+     *
+     * @throws InterruptedIOException When writer thread was interrupted.
+     */
+    private void awaitSpace() throws InterruptedIOException {
+        waitingWriter = Thread.currentThread();
+        try {
+            if (tail - head.get() == buff.length && !writerClosed && !readerClosed) {
+                LockSupport.parkNanos(this, PARK_TIMEOUT);
+                if (Thread.interrupted()) {
+                    throw new InterruptedIOException();
+                }
+            }
+        } finally {
+            waitingWriter = null;
+        }
+    }
+
+}
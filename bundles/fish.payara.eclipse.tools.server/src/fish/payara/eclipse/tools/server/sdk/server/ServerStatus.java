@@ -25,7 +25,6 @@ import java.net.Socket;
 import java.text.MessageFormat;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -824,10 +823,10 @@ public class ServerStatus implements Closeable {
         /**
          * Start server Location task.
          */
-        void start(final ExecutorService executor) {
+        void start() {
             final String METHOD = "start";
             this.tmStart = System.currentTimeMillis();
-            future = ServerAdmin.<ResultMap<String, String>>exec(executor, server, command, this);
+            future = ServerAdmin.<ResultMap<String, String>>exec(server, command, this);
             if (tmStart >= 0 && LOGGER.isLoggable(Level.FINE)) {
                 long tm = System.currentTimeMillis() - tmStart;
                 LOGGER.log(Level.FINE, METHOD, "started", tm(tm));
@@ -888,7 +887,7 @@ public class ServerStatus implements Closeable {
          * Attempt to cancel execution of this task.
          */
         void cancel() {
-            if (!future.isDone()) {
+            if (future != null && !future.isDone()) {
                 future.cancel(true);
             }
         }
@@ -967,10 +966,10 @@ public class ServerStatus implements Closeable {
         /**
          * Start server Version task.
          */
-        void start(final ExecutorService executor) {
+        void start() {
             final String METHOD = "start";
             this.tmStart = System.currentTimeMillis();
-            future = ServerAdmin.<ResultString>exec(executor, server, command, this);
+            future = ServerAdmin.<ResultString>exec(server, command, this);
             if (tmStart >= 0 && LOGGER.isLoggable(Level.FINE)) {
                 long tm = System.currentTimeMillis() - tmStart;
                 LOGGER.log(Level.FINE, METHOD, "started", tm(tm));
@@ -1031,7 +1030,7 @@ public class ServerStatus implements Closeable {
          * Attempt to cancel execution of this task.
          */
         void cancel() {
-            if (!future.isDone()) {
+            if (future != null && !future.isDone()) {
                 future.cancel(true);
             }
         }
@@ -1044,9 +1043,6 @@ public class ServerStatus implements Closeable {
     /** Logger instance for this class. */
     private static final Logger LOGGER = new Logger(ServerStatus.class);
 
-    /** Executor thread pool size (amount of threads to run in parallel). */
-    private static final int EXECUTOR_POOL_SIZE = 2;
-
     /** Administration port connect timeout [ms]. */
     private static final int CONNECT_TIMEOUT = 15000;
 
@@ -1063,9 +1059,6 @@ public class ServerStatus implements Closeable {
     // Instance attributes //
     ////////////////////////////////////////////////////////////////////////////
 
-    /** Executor used to run asynchronous server status checks in parallel. */
-    private final ExecutorService executor;
-
     /**
      * Server status check task to verify if server administration port is alive.
      */
@@ -1101,7 +1094,6 @@ public class ServerStatus implements Closeable {
      * when <code>true</code>.
      */
     public ServerStatus(final PayaraServer server, final boolean startup) {
-        this.executor = ServerAdmin.executor(EXECUTOR_POOL_SIZE);
         this.adminPortTask = new AdminPortTask(server, CONNECT_TIMEOUT);
         this.versionTask = new VersionTask(server, startup);
         this.locationsTask = new LocationsTask(server, startup);
@@ -1174,8 +1166,8 @@ public class ServerStatus implements Closeable {
      * been available, remaining command tasks are canceled.
      */
     public void check() {
-        versionTask.start(executor);
-        locationsTask.start(executor);
+        versionTask.start();
+        locationsTask.start();
         Result result = adminPortTask.check();
         if (result.status != Status.SUCCESS) {
             versionTask.cancel();
@@ -1188,12 +1180,13 @@ public class ServerStatus implements Closeable {
     /**
      * Clean up all resources.
      * <p/>
-     * Removes internal thread pool.
+     * Cancels administration commands which are still waiting or running.
      *
      */
     @Override
     public void close() {
-        executor.shutdownNow();
+        versionTask.cancel();
+        locationsTask.cancel();
     }
 
 }
@@ -0,0 +1,231 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.server.state;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.PayaraIdeException;
+import fish.payara.eclipse.tools.server.sdk.TaskEvent;
+import fish.payara.eclipse.tools.server.sdk.TaskState;
+import fish.payara.eclipse.tools.server.sdk.TaskStateListener;
+import fish.payara.eclipse.tools.server.sdk.admin.CommandLocation;
+import fish.payara.eclipse.tools.server.sdk.admin.CommandVersion;
+import fish.payara.eclipse.tools.server.sdk.admin.ResultMap;
+import fish.payara.eclipse.tools.server.sdk.admin.ResultString;
+import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+import fish.payara.eclipse.tools.server.sdk.utils.ServerUtils;
+
+/**
+ * Combined server status probe.
+ * <p/>
+ * Single <code>__locations</code> administration command provides both liveness and domain location
+ * of running server. Administration port socket check is used only while the server is not known to be
+ * alive, i.e. before first successful command and after administration interface stopped responding.
+ * Server version is retrieved with <code>version</code> command only once and cached because it never
+ * changes while the server is running. Cached version is dropped as soon as the server goes down.
+ * <p/>
+ * Stable running server is this way checked with one HTTP round trip instead of socket connect,
+ * <code>version</code> and <code>__locations</code> commands. Probe instance is expected to be owned by
+ * single status polling engine so it is not shared between threads running checks in parallel.
+ */
+public class StatusProbe {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Stores the last task event that occurred during command execution.
+     */
+    private static final class EventListener implements TaskStateListener {
+
+        /** Last task event. */
+        private volatile TaskEvent lastEvent;
+
+        /**
+         * Store task event.
+         * <p/>
+         *
+         * @param newState New command execution state.
+         * @param event Event related to execution state change.
+         * @param args Additional arguments.
+         */
+        @Override
+        public void operationStateChanged(final TaskState newState,
+                final TaskEvent event, final String... args) {
+            lastEvent = event;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(StatusProbe.class);
+
+    /** <code>version</code> command execution timeout [s]. */
+    private static final int VERSION_TIMEOUT = 30;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Instance attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Payara server being checked. */
+    private final PayaraServer server;
+
+    /** Administration interface responded to last command. */
+    private volatile boolean alive;
+
+    /** Cached server version. */
+    private volatile String version;
+
+    /** Last task event of <code>__locations</code> command. */
+    private volatile TaskEvent lastEvent;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an instance of combined server status probe.
+     * <p/>
+     *
+     * @param server Payara server to be checked.
+     */
+    public StatusProbe(final PayaraServer server) {
+        this.server = server;
+        this.alive = false;
+        this.version = null;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Check whether server administration port is listening.
+     * <p/>
+     * No network traffic is generated while the server is known to be alive.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when administration port is listening or <code>false</code>
+     * otherwise.
+     */
+    public boolean isListening() {
+        if (alive) {
+            return true;
+        }
+        if (ServerUtils.isAdminPortListening(server)) {
+            return true;
+        }
+        invalidate();
+        return false;
+    }
+
+    /**
+     * Get server version.
+     * <p/>
+     * Version is retrieved only once while the server is running.
+     * <p/>
+     *
+     * @return Server version string returned by <code>version</code> command.
+     * @throws PayaraIdeException When version could not be retrieved.
+     */
+    public String getVersion() throws PayaraIdeException {
+        final String METHOD = "getVersion";
+        String cached = version;
+        if (cached != null) {
+            return cached;
+        }
+        Future<ResultString> future = ServerAdmin.exec(server, new CommandVersion());
+        try {
+            ResultString result = future.get(VERSION_TIMEOUT, TimeUnit.SECONDS);
+            if (!result.isAuth()) {
+                throw new PayaraIdeException(result.getValue());
+            }
+            if (result.getState() == TaskState.COMPLETED && result.getValue() != null) {
+                version = result.getValue();
+                LOGGER.log(Level.FINE, METHOD, "cached", new Object[] { server.getName(), version });
+            }
+            return result.getValue();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new PayaraIdeException("Exception by calling getVersion", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PayaraIdeException("Timeout for getting version command exceeded", e);
+        }
+    }
+
+    /**
+     * Execute <code>__locations</code> command.
+     * <p/>
+     * Successful response marks the server as alive. Connection failure drops cached version and
+     * switches probe back to administration port socket checks.
+     * <p/>
+     *
+     * @param timeout Command execution timeout [s].
+     * @return <code>__locations</code> command result or <code>null</code> when command did not finish
+     * in time or failed to execute.
+     * @throws InterruptedException When waiting for the result was interrupted.
+     */
+    public ResultMap<String, String> locations(final long timeout) throws InterruptedException {
+        final String METHOD = "locations";
+        EventListener listener = new EventListener();
+        Future<ResultMap<String, String>> future = ServerAdmin.exec(server, new CommandLocation(), listener);
+        ResultMap<String, String> result = null;
+        try {
+            result = future.get(timeout, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.INFO, METHOD, "exception", new Object[] { server.getName(), e.getLocalizedMessage() });
+        } catch (TimeoutException e) {
+            LOGGER.log(Level.INFO, METHOD, "timeout", server.getName());
+        } finally {
+            lastEvent = listener.lastEvent;
+            if (result == null) {
+                future.cancel(true);
+                invalidate();
+            } else if (result.getState() == TaskState.FAILED && lastEvent == TaskEvent.EXCEPTION) {
+                // Administration interface could not be reached.
+                invalidate();
+            } else {
+                alive = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get last task event of <code>__locations</code> command.
+     * <p/>
+     *
+     * @return Last task event or <code>null</code> when no event was observed.
+     */
+    public TaskEvent getLastEvent() {
+        return lastEvent;
+    }
+
+    /**
+     * Forget cached server state.
+     * <p/>
+     * Next check will verify administration port and retrieve server version again.
+     */
+    public void invalidate() {
+        alive = false;
+        version = null;
+    }
+
+}
@@ -0,0 +1,275 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.sdk.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
+import fish.payara.eclipse.tools.server.sdk.ThreadMode;
+import fish.payara.eclipse.tools.server.sdk.logging.Logger;
+
+/**
+ * Shared factory of executors and threads running blocking administration commands, server status
+ * checks and log readers.
+ * <p/>
+ * Execution mode is selected trough {@link GlassFishToolsConfig#setThreadMode(ThreadMode)}. In virtual
+ * mode every task gets its own virtual thread so tasks blocked on network I/O do not hold platform
+ * threads and thread count stays flat regardless of how many servers and consoles are open. Virtual
+ * threads are available since Java 21 while this library is built for Java 17 so they are accessed
+ * trough reflection. Platform threads are used when they are not available.
+ */
+public final class ExecutorFactory {
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Inner classes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Platform threads factory.
+     * <p/>
+     * Constructs new daemon threads with provided name.
+     */
+    private static final class PlatformThreadFactory implements ThreadFactory {
+
+        /** Thread name. */
+        private final String name;
+
+        /**
+         * Creates an instance of platform threads factory.
+         * <p/>
+         *
+         * @param name Thread name.
+         */
+        private PlatformThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Constructs a new {@link Thread}.
+         * <p/>
+         *
+         * @param r A runnable to be executed by new {@link Thread} instance.
+         * @return Constructed thread.
+         */
+        @Override
+        public Thread newThread(final Runnable r) {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+    /**
+     * Virtual threads support resolved trough reflection.
+     * <p/>
+     * Holder is initialized on first use only.
+     */
+    private static final class Virtual {
+
+        /** <code>Thread.ofVirtual()</code> method. */
+        private static final Method OF_VIRTUAL;
+
+        /** <code>Thread.Builder.name(String)</code> method. */
+        private static final Method NAME;
+
+        /** <code>Thread.Builder.factory()</code> method. */
+        private static final Method FACTORY;
+
+        /** <code>Executors.newThreadPerTaskExecutor(ThreadFactory)</code> method. */
+        private static final Method PER_TASK_EXECUTOR;
+
+        /** Virtual threads are supported by running Java. */
+        private static final boolean SUPPORTED;
+
+        static {
+            final String METHOD = "init";
+            Method ofVirtual = null;
+            Method name = null;
+            Method factory = null;
+            Method perTaskExecutor = null;
+            if (Runtime.version().feature() >= 21) {
+                try {
+                    Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                    ofVirtual = Thread.class.getMethod("ofVirtual");
+                    name = builder.getMethod("name", String.class);
+                    factory = builder.getMethod("factory");
+                    perTaskExecutor = Executors.class.getMethod(
+                            "newThreadPerTaskExecutor", ThreadFactory.class);
+                } catch (ReflectiveOperationException | SecurityException ex) {
+                    LOGGER.log(Level.INFO, METHOD, "unsupported", ex.getLocalizedMessage());
+                    ofVirtual = null;
+                }
+            }
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+            PER_TASK_EXECUTOR = perTaskExecutor;
+            SUPPORTED = ofVirtual != null;
+        }
+
+        /**
+         * Constructs virtual threads factory.
+         * <p/>
+         *
+         * @param name Thread name.
+         * @return Virtual threads factory or <code>null</code> when it could not be constructed.
+         */
+        private static ThreadFactory threadFactory(final String name) {
+            final String METHOD = "threadFactory";
+            try {
+                Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (ThreadFactory) FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException ex) {
+                LOGGER.log(Level.INFO, METHOD, "exception", ex.getLocalizedMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Constructs executor starting new virtual thread for each task.
+         * <p/>
+         *
+         * @param factory Virtual threads factory.
+         * @return Executor service or <code>null</code> when it could not be constructed.
+         */
+        private static ExecutorService executor(final ThreadFactory factory) {
+            final String METHOD = "executor";
+            try {
+                return (ExecutorService) PER_TASK_EXECUTOR.invoke(null, factory);
+            } catch (ReflectiveOperationException ex) {
+                LOGGER.log(Level.INFO, METHOD, "exception", ex.getLocalizedMessage());
+                return null;
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Class attributes //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = new Logger(ExecutorFactory.class);
+
+    /** Idle platform thread keep alive time [s]. */
+    private static final long KEEP_ALIVE_TIME = 60;
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Static methods //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Check whether new executors and threads will be virtual.
+     * <p/>
+     *
+     * @return Value of <code>true</code> when virtual threads are used or <code>false</code> otherwise.
+     */
+    public static boolean isVirtual() {
+        return GlassFishToolsConfig.getThreadMode() != ThreadMode.PLATFORM && Virtual.SUPPORTED;
+    }
+
+    /**
+     * Constructs threads factory for current execution mode.
+     * <p/>
+     * Platform threads are daemon threads.
+     * <p/>
+     *
+     * @param name Name of constructed threads.
+     * @return Threads factory.
+     */
+    public static ThreadFactory threadFactory(final String name) {
+        if (isVirtual()) {
+            ThreadFactory factory = Virtual.threadFactory(name);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        return new PlatformThreadFactory(name);
+    }
+
+    /**
+     * Constructs executor running up to <code>size</code> tasks in parallel.
+     * <p/>
+     * In virtual mode each task runs in its own virtual thread and <code>size</code> is ignored.
+     * Otherwise fixed thread pool is constructed. Its idle threads are terminated after one minute.
+     * <p/>
+     *
+     * @param name Name of executor threads.
+     * @param size Maximum number of platform threads.
+     * @return Executor service.
+     */
+    public static ExecutorService newExecutor(final String name, final int size) {
+        if (isVirtual()) {
+            ThreadFactory factory = Virtual.threadFactory(name);
+            ExecutorService executor = factory != null ? Virtual.executor(factory) : null;
+            if (executor != null) {
+                return executor;
+            }
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new PlatformThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Constructs single threaded scheduled executor.
+     * <p/>
+     * In virtual mode scheduled tasks run in virtual thread so blocking waits inside them do not hold
+     * platform thread.
+     * <p/>
+     *
+     * @param name Name of executor thread.
+     * @return Scheduled executor service.
+     */
+    public static ScheduledExecutorService newScheduledExecutor(final String name) {
+        return newScheduledExecutor(name, 1);
+    }
+
+    /**
+     * Constructs scheduled executor running up to <code>size</code> tasks in parallel.
+     * <p/>
+     * Idle platform threads are terminated after one minute.
+     * <p/>
+     *
+     * @param name Name of executor threads.
+     * @param size Number of executor threads.
+     * @return Scheduled executor service.
+     */
+    public static ScheduledExecutorService newScheduledExecutor(final String name, final int size) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(size, threadFactory(name));
+        executor.setRemoveOnCancelPolicy(true);
+        if (!isVirtual()) {
+            executor.setKeepAliveTime(KEEP_ALIVE_TIME, TimeUnit.SECONDS);
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Constructors //
+    ////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Class contains static methods only.
+     */
+    private ExecutorFactory() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -34,6 +34,7 @@ import static fish.payara.eclipse.tools.server.sdk.server.ServerTasks.StartMode.
 import static fish.payara.eclipse.tools.server.sdk.server.ServerTasks.StartMode.START;
 import static fish.payara.eclipse.tools.server.sdk.utils.ServerUtils.GFV3_JAR_MATCHER;
 import static fish.payara.eclipse.tools.server.sdk.utils.ServerUtils.getJarName;
+import static fish.payara.eclipse.tools.server.sdk.utils.ServerUtils.getServerLogFile;
 import static fish.payara.eclipse.tools.server.sdk.utils.Utils.quote;
 import static fish.payara.eclipse.tools.server.utils.WtpUtil.load;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -50,11 +51,14 @@ import static org.eclipse.wst.server.core.IServer.STATE_STOPPED;
 import static org.eclipse.wst.server.core.ServerUtil.getServer;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -76,8 +80,10 @@ import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.deploying.PayaraServerBehaviour;
 import fish.payara.eclipse.tools.server.exceptions.HttpPortUpdateException;
 import fish.payara.eclipse.tools.server.log.IPayaraConsole;
+import fish.payara.eclipse.tools.server.sdk.GlassFishToolsConfig;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultProcess;
 import fish.payara.eclipse.tools.server.sdk.server.FetchLogPiped;
+import fish.payara.eclipse.tools.server.sdk.server.LogIndex;
 import fish.payara.eclipse.tools.server.sdk.server.ServerTasks.StartMode;
 
 /**
@@ -93,6 +99,7 @@ public class PayaraServerLaunchDelegate extends AbstractJavaLaunchConfigurationD
 
     private static final int MONITOR_TOTAL_WORK = 1000;
     public static final int WORK_STEP = 200;
+    private static final int MAX_SEVERE_RECORDS = 5;
     private static final IStatus DEBUG_STATUS = new Status(OK, SYMBOLIC_NAME, "Debugging");
 
     private static final ExecutorService asyncJobsService = Executors.newCachedThreadPool();
@@ -258,6 +265,7 @@ public class PayaraServerLaunchDelegate extends AbstractJavaLaunchConfigurationD
 
         ResultProcess process = null;
         Process payaraProcess = null;
+        long launchTime = System.currentTimeMillis();
 
         try {
             process = launchServer(serverBehavior, startArgs, startMode, monitor, configuration, launch);
@@ -266,9 +274,10 @@ public class PayaraServerLaunchDelegate extends AbstractJavaLaunchConfigurationD
 
             new RuntimeProcess(launch, payaraProcess, "Payara Application Server", null);
         } catch (TimeoutException e) {
-            abort("Unable to start server on time.", e);
+            abort("Unable to start server on time." + severeLogRecords(serverAdapter, launchTime), e);
         } catch (ExecutionException e) {
-            abort("Unable to start server due following issues:", e.getCause());
+            abort("Unable to start server due following issues:" + severeLogRecords(serverAdapter, launchTime),
+                    e.getCause());
         } catch (HttpPortUpdateException e) {
             abort("Unable to update http port. Server shut down.", e);
         }
@@ -400,6 +409,34 @@ public class PayaraServerLaunchDelegate extends AbstractJavaLaunchConfigurationD
 
 
 
+    /**
+     * Reads the last severe records the server logged since the launch, so the reason of a failed
+     * start is shown without searching the server log. Works only when the log is indexed.
+     */
+    private String severeLogRecords(PayaraServer serverAdapter, long since) {
+        if (!GlassFishToolsConfig.isLogIndex()) {
+            return "";
+        }
+
+        LogIndex index = LogIndex.get(getServerLogFile(serverAdapter));
+        if (index == null) {
+            return "";
+        }
+
+        StringBuilder records = new StringBuilder();
+        try {
+            List<LogIndex.Entry> entries = index.query(since, Long.MAX_VALUE, Level.SEVERE, null);
+            int first = Math.max(entries.size() - MAX_SEVERE_RECORDS, 0);
+            for (LogIndex.Entry entry : entries.subList(first, entries.size())) {
+                records.append('\n').append(index.read(entry).trim());
+            }
+        } catch (IOException e) {
+            logError("Unable to read server log index", e);
+        }
+
+        return records.toString();
+    }
+
     private void killProcesses(Process... processes) {
         for (Process process : processes) {
             if (process != null) {
@@ -18,12 +18,17 @@
 
 package fish.payara.eclipse.tools.server.ui.preferences;
 
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.CONSOLE_HIGH_WATERMARK;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.CONSOLE_LOW_WATERMARK;
 import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.ENABLE_COLORS_CONSOLE;
 import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.ENABLE_LOG;
 import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.ENABLE_START_VERBOSE;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.LIMIT_CONSOLE;
+import static fish.payara.eclipse.tools.server.preferences.PreferenceConstants.LOG_INDEX;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 
@@ -70,6 +75,32 @@ public class GlassFishPreferencePage extends FieldEditorPreferencePage implement
                         ENABLE_COLORS_CONSOLE,
                         "Enable colored rendering in the Payara Log Viewer",
                         getFieldEditorParent()));
+
+        addField(
+                new BooleanFieldEditor(
+                        LIMIT_CONSOLE,
+                        "&Limit Payara Log Viewer output",
+                        getFieldEditorParent()));
+
+        IntegerFieldEditor high = new IntegerFieldEditor(
+                CONSOLE_HIGH_WATERMARK,
+                "Maximum characters in the Payara Log Viewer:",
+                getFieldEditorParent());
+        high.setValidRange(2000, Integer.MAX_VALUE);
+        addField(high);
+
+        IntegerFieldEditor low = new IntegerFieldEditor(
+                CONSOLE_LOW_WATERMARK,
+                "Characters kept when the Payara Log Viewer is trimmed:",
+                getFieldEditorParent());
+        low.setValidRange(1000, Integer.MAX_VALUE);
+        addField(low);
+
+        addField(
+                new BooleanFieldEditor(
+                        LOG_INDEX,
+                        "&Index local server log to report errors of failed server start",
+                        getFieldEditorParent()));
     }
 
     /*
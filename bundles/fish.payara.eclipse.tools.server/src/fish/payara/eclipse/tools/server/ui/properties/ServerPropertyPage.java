@@ -83,6 +83,7 @@ public class ServerPropertyPage extends PropertyPage {
 	protected Button jarDeploy;
 
 	protected Button hotDeploy;
+	protected Button stagedPublish;
 
 	protected Button attachDebuggerEarly;
 
@@ -276,6 +277,13 @@ public class ServerPropertyPage extends PropertyPage {
 		hotDeploy.setLayoutData(data);
 		hotDeploy.setSelection(payaraServer.getHotDeploy());
 
+		stagedPublish = new Button(group, SWT.CHECK);
+		stagedPublish.setText(GlassfishWizardResources.stagedPublish);
+		data = new GridData(GridData.FILL_HORIZONTAL);
+		data.horizontalSpan = 2;
+		stagedPublish.setLayoutData(data);
+		stagedPublish.setSelection(payaraServer.getStagedPublish());
+
 		attachDebuggerEarly = new Button(group, SWT.CHECK);
 		attachDebuggerEarly.setText(GlassfishWizardResources.attachDebugEarly);
 		data = new GridData(GridData.FILL_HORIZONTAL);
@@ -338,6 +346,7 @@ public class ServerPropertyPage extends PropertyPage {
 			payaraServer.setJarDeploy(jarDeploy.getSelection());
             payaraServer.setRestartPattern(restartPattern.getText());
 			payaraServer.setHotDeploy(hotDeploy.getSelection());
+			payaraServer.setStagedPublish(stagedPublish.getSelection());
 			payaraServer.setAttachDebuggerEarly(attachDebuggerEarly.getSelection());
 
             scheduleShortJob("Update Payara server state", monitor -> {
@@ -35,7 +35,7 @@ import fish.payara.eclipse.tools.server.ui.serverview.actions.UndeployAction;
 import fish.payara.eclipse.tools.server.ui.serverview.actions.UnregisterResourceAction;
 import fish.payara.eclipse.tools.server.ui.serverview.actions.WSDLInfoWebServiceAction;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.ApplicationNode;
-import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.DeployedApplicationsNode;
+import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.CachedNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.ResourcesNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.TreeNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.WebServiceNode;
@@ -113,26 +113,19 @@ public class ServerViewActionProvider extends GenericActionProvider {
     protected void refresh(Object selection) {
         super.refresh(selection);
 
-        DeployedApplicationsNode root = null;
-
-        if (selection instanceof DeployedApplicationsNode) {
-            root = (DeployedApplicationsNode) selection;
+        if (selection instanceof CachedNode) {
+            ((CachedNode) selection).refresh();
         } else if (selection instanceof TreeNode) {
             TreeNode treeNode = (TreeNode) selection;
             if (treeNode.getName().equals(GLASSFISH_MANAGEMENT)) {
                 for (Object child : treeNode.getChildren()) {
-                    if (child instanceof DeployedApplicationsNode) {
-                        root = (DeployedApplicationsNode) child;
-                        break;
+                    if (child instanceof CachedNode) {
+                        ((CachedNode) child).refresh();
                     }
                 }
             }
         }
 
-        if (root != null) {
-            root.refresh();
-        }
-
     }
 
 }
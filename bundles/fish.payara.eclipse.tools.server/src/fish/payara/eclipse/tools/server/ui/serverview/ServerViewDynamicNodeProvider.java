@@ -22,12 +22,21 @@ import static fish.payara.eclipse.tools.server.PayaraServerPlugin.is31OrAbove;
 import static fish.payara.eclipse.tools.server.utils.WtpUtil.load;
 import static org.eclipse.wst.server.core.IServer.STATE_STARTED;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.wst.server.core.IPublishListener;
 import org.eclipse.wst.server.core.IServer;
+import org.eclipse.wst.server.core.util.PublishAdapter;
 import org.eclipse.wst.server.ui.internal.viewers.BaseContentProvider;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.ApplicationNode;
+import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.CachedNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.DeployedApplicationsNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.DeployedWebServicesNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.ResourcesNode;
@@ -45,6 +54,30 @@ public class ServerViewDynamicNodeProvider extends BaseContentProvider implement
 
     static String GLASSFISH_MANAGEMENT = "GlassFish Management"; //$NON-NLS-1$
 
+    /*
+     * Management nodes of running servers. They are kept so children retrieved in background are not
+     * lost whenever the server node is refreshed.
+     */
+    private final Map<IServer, TreeNode> roots = new HashMap<>();
+    private final Map<IServer, IPublishListener> publishListeners = new HashMap<>();
+    private volatile StructuredViewer viewer;
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        super.inputChanged(viewer, oldInput, newInput);
+        this.viewer = viewer instanceof StructuredViewer ? (StructuredViewer) viewer : null;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        for (Map.Entry<IServer, IPublishListener> entry : publishListeners.entrySet()) {
+            entry.getKey().removePublishListener(entry.getValue());
+        }
+        publishListeners.clear();
+        roots.clear();
+        super.dispose();
+    }
+
     @Override
     public Object[] getChildren(Object parentElement) {
 
@@ -61,29 +94,79 @@ public class ServerViewDynamicNodeProvider extends BaseContentProvider implement
                 PayaraServer payaraServer = load(server, PayaraServer.class);
 
                 if (payaraServer != null) {
+                    return new Object[] { getRoot(server, payaraServer) };
+                }
+            }
+
+            removeRoot(server);
+        }
+
+        if (parentElement instanceof TreeNode) {
+            TreeNode root = (TreeNode) parentElement;
+            return root.getChildren();
+        }
 
-                    TreeNode root = new TreeNode(GLASSFISH_MANAGEMENT, GLASSFISH_MANAGEMENT);
+        return null;
+    }
+
+    private synchronized TreeNode getRoot(IServer server, PayaraServer payaraServer) {
+        TreeNode root = roots.get(server);
+        if (root != null) {
+            return root;
+        }
+
+        root = new TreeNode(GLASSFISH_MANAGEMENT, GLASSFISH_MANAGEMENT);
 
-                    // Deployed Applications Node
-                    root.addChild(new DeployedApplicationsNode(payaraServer));
+        // Deployed Applications Node
+        root.addChild(new DeployedApplicationsNode(payaraServer));
 
-                    // Resources Node
-                    root.addChild(new ResourcesNode(payaraServer));
+        // Resources Node
+        root.addChild(new ResourcesNode(payaraServer));
 
-                    // Deployed web-services node
-                    root.addChild(new DeployedWebServicesNode(payaraServer));
+        // Deployed web-services node
+        root.addChild(new DeployedWebServicesNode(payaraServer));
 
-                    return new Object[] { root };
+        for (Object child : root.getChildren()) {
+            ((CachedNode) child).setRefresher(this::refreshNode);
+        }
+
+        // Deployment and undeployment change the applications, web services and resources
+        TreeNode publishedRoot = root;
+        IPublishListener listener = new PublishAdapter() {
+            @Override
+            public void publishFinished(IServer server, IStatus status) {
+                for (Object child : publishedRoot.getChildren()) {
+                    ((CachedNode) child).refresh();
+                    refreshNode((TreeNode) child);
                 }
             }
+        };
+        server.addPublishListener(listener);
+        publishListeners.put(server, listener);
+        roots.put(server, root);
+
+        return root;
+    }
+
+    private synchronized void removeRoot(IServer server) {
+        roots.remove(server);
+        IPublishListener listener = publishListeners.remove(server);
+        if (listener != null) {
+            server.removePublishListener(listener);
         }
+    }
 
-        if (parentElement instanceof TreeNode) {
-            TreeNode root = (TreeNode) parentElement;
-            return root.getChildren();
+    private void refreshNode(TreeNode node) {
+        StructuredViewer current = viewer;
+        if (current == null || current.getControl() == null || current.getControl().isDisposed()) {
+            return;
         }
 
-        return null;
+        current.getControl().getDisplay().asyncExec(() -> {
+            if (!current.getControl().isDisposed()) {
+                current.refresh(node);
+            }
+        });
     }
 
     @Override
@@ -115,6 +198,10 @@ public class ServerViewDynamicNodeProvider extends BaseContentProvider implement
             return true;
         }
 
+        if (element instanceof CachedNode) {
+            return ((CachedNode) element).hasChildren();
+        }
+
         if (element instanceof TreeNode) {
             return ((TreeNode) element).getChildren().length > 0;
         }
@@ -86,6 +86,9 @@ public class UndeployAction extends Action {
 
                                 IServer server = be.getServer();
 
+                                // Application is no more deployed, the next publish must not skip it
+                                be.forgetDeployment(module.getName());
+
                                 IModule[] modules = server.getModules();
                                 IModule imodule = null;
                                 for (IModule element : modules) {
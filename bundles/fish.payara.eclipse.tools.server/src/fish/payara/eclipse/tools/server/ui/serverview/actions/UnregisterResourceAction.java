@@ -53,7 +53,9 @@ import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.admin.CommandDeleteResource;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultString;
 import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
+import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.CachedNode;
 import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.ResourcesNode;
+import fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.TreeNode;
 
 public class UnregisterResourceAction extends Action {
     ISelection selection;
@@ -136,8 +138,12 @@ public class UnregisterResourceAction extends Action {
                         new ProgressMonitorDialog(shell).run(true, false, op);
                     }
 
+                    TreeNode parent = currentResource.getParent();
+                    if (parent instanceof CachedNode) {
+                        ((CachedNode) parent).refresh();
+                    }
                     StructuredViewer view = actionSite.getStructuredViewer();
-                    view.refresh(currentResource.getParent());
+                    view.refresh(parent);
 
                 } catch (Exception e) {
                 }
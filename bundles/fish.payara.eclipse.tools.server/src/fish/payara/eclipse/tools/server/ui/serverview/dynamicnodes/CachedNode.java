@@ -0,0 +1,133 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes;
+
+import static fish.payara.eclipse.tools.server.PayaraServerPlugin.logError;
+
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Node whose children are retrieved from the running server in a background job.
+ *
+ * <p>
+ * {@link #getChildren()} never blocks. On first expansion a "Loading..." placeholder is shown while
+ * the children are being retrieved, later the cached children are returned right away. Cached
+ * children older than {@link #TTL} or invalidated by {@link #refresh()} are still shown while a
+ * background job retrieves them again. Once the job is done the refresher set by the content provider
+ * updates the node in the viewer.
+ * </p>
+ *
+ * <p>
+ * When the retrieval fails an error node is shown instead of the children. It is not cached, the
+ * children are retrieved again on a request after {@link #RETRY_DELAY}.
+ * </p>
+ */
+public abstract class CachedNode extends TreeNode {
+
+    /**
+     * Time in milliseconds the retrieved children are considered up to date.
+     */
+    public static final long TTL = 30_000;
+
+    /**
+     * Time in milliseconds before children are retrieved again after a failure.
+     */
+    public static final long RETRY_DELAY = 2_000;
+
+    private volatile Object[] children;
+    private volatile long loadedAt;
+    private volatile long failedAt;
+    private volatile boolean loading;
+    private volatile Consumer<TreeNode> refresher;
+
+    protected CachedNode(String name, String type, TreeNode parent) {
+        super(name, type, parent);
+    }
+
+    /**
+     * Sets callback updating this node in the viewer once new children were retrieved.
+     */
+    public void setRefresher(Consumer<TreeNode> refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * Retrieves children from the server, called in a background job.
+     */
+    protected abstract Object[] loadChildren() throws Exception;
+
+    @Override
+    public Object[] getChildren() {
+        Object[] current = children;
+        long now = System.currentTimeMillis();
+        if (current == null || (failedAt == 0 ? now - loadedAt > TTL : now - failedAt > RETRY_DELAY)) {
+            load();
+        }
+
+        return current != null ? current : new Object[] { new TreeNode("Loading...", null, this) };
+    }
+
+    /**
+     * Returns <code>false</code> only when the children are known and there are none.
+     */
+    public boolean hasChildren() {
+        Object[] current = children;
+        return current == null || current.length > 0;
+    }
+
+    /**
+     * Marks cached children as outdated, they are retrieved again on the next request while still
+     * being shown.
+     */
+    public void refresh() {
+        loadedAt = 0;
+        failedAt = 0;
+    }
+
+    private synchronized void load() {
+        if (loading) {
+            return;
+        }
+        loading = true;
+
+        Job job = new Job("Retrieving " + getName()) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    children = loadChildren();
+                    loadedAt = System.currentTimeMillis();
+                    failedAt = 0;
+                } catch (Exception e) {
+                    logError("get " + getName() + " is failing=", e); //$NON-NLS-1$
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    children = new Object[] { new TreeNode("Error: " + message, null, CachedNode.this) };
+                    failedAt = System.currentTimeMillis();
+                } finally {
+                    loading = false;
+                }
+
+                Consumer<TreeNode> current = refresher;
+                if (current != null) {
+                    current.accept(CachedNode.this);
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+}
@@ -24,7 +24,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
-import fish.payara.eclipse.tools.server.PayaraServerPlugin;
 import fish.payara.eclipse.tools.server.serverview.AppDesc;
 import fish.payara.eclipse.tools.server.utils.NodesUtils;
 
@@ -57,10 +56,9 @@ import fish.payara.eclipse.tools.server.utils.NodesUtils;
  * </p>
  *
  */
-public class DeployedApplicationsNode extends TreeNode {
+public class DeployedApplicationsNode extends CachedNode {
 
     PayaraServer server;
-    ApplicationNode[] deployedapps;
 
     public DeployedApplicationsNode(PayaraServer server) {
         super("Deployed Applications", null, null);
@@ -72,51 +70,20 @@ public class DeployedApplicationsNode extends TreeNode {
     }
 
     @Override
-    public Object[] getChildren() {
-
+    protected Object[] loadChildren() throws Exception {
         ArrayList<ApplicationNode> appsList = new ArrayList<>();
+        if (server == null) {
+            return appsList.toArray();
+        }
 
-        if (deployedapps == null) {
-
-            try {
-
-                if (server == null) {
-                    deployedapps = appsList.toArray(new ApplicationNode[appsList.size()]);
-                    return deployedapps;
-                }
-
-                try {
-                    Map<String, List<AppDesc>> appMap = NodesUtils.getApplications(server, null);
-
-                    for (Entry<String, List<AppDesc>> entry : appMap.entrySet()) {
-
-                        List<AppDesc> apps = entry.getValue();
-
-                        for (AppDesc app : apps) {
-                            ApplicationNode t = new ApplicationNode(this, server, app);
-                            appsList.add(t);
-                        }
-
-                    }
-
-                } catch (Exception ex) {
-                    PayaraServerPlugin.logError("get Applications is failing=", ex); //$NON-NLS-1$
-                }
-
-            } catch (Exception e) {
-
+        Map<String, List<AppDesc>> appMap = NodesUtils.getApplications(server, null);
+        for (Entry<String, List<AppDesc>> entry : appMap.entrySet()) {
+            for (AppDesc app : entry.getValue()) {
+                appsList.add(new ApplicationNode(this, server, app));
             }
-
-            this.deployedapps = appsList.toArray(new ApplicationNode[appsList.size()]);
-
         }
 
-        return this.deployedapps;
-
-    }
-
-    public void refresh() {
-        deployedapps = null;
+        return appsList.toArray(new ApplicationNode[appsList.size()]);
     }
 
 }
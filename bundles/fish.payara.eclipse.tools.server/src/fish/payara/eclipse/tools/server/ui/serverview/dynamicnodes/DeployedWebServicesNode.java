@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import fish.payara.eclipse.tools.server.PayaraServer;
-import fish.payara.eclipse.tools.server.PayaraServerPlugin;
 import fish.payara.eclipse.tools.server.serverview.WSDesc;
 
 /**
@@ -50,10 +49,9 @@ import fish.payara.eclipse.tools.server.serverview.WSDesc;
  * running server. </>
  *
  */
-public class DeployedWebServicesNode extends TreeNode {
+public class DeployedWebServicesNode extends CachedNode {
 
     private PayaraServer server;
-    private WebServiceNode[] deployedapps;
 
     public DeployedWebServicesNode(PayaraServer server) {
         super("Deployed Web Services", null, null);
@@ -65,56 +63,18 @@ public class DeployedWebServicesNode extends TreeNode {
     }
 
     @Override
-    public Object[] getChildren() {
-
+    protected Object[] loadChildren() throws Exception {
         ArrayList<WebServiceNode> appsList = new ArrayList<>();
-
-        if (deployedapps == null) {
-
-            try {
-
-                if (server == null) {
-                    deployedapps = appsList.toArray(new WebServiceNode[appsList.size()]);
-                    return deployedapps;
-                }
-
-                try {
-                    List<WSDesc> wss = getWebServices(server);
-
-                    for (WSDesc app : wss) {
-
-                        WebServiceNode t = new WebServiceNode(this, server,
-
-                                app);
-
-                        appsList.add(t);
-
-                    }
-
-                } catch (Exception ex) {
-
-                    PayaraServerPlugin.logError("get Applications is failing=", ex); //$NON-NLS-1$
-
-                }
-
-            } catch (Exception e) {
-
-            }
-
-            this.deployedapps = appsList
-
-                    .toArray(new WebServiceNode[appsList.size()]);
-
+        if (server == null) {
+            return appsList.toArray();
         }
 
-        return this.deployedapps;
-
-    }
-
-    public void refresh() {
-
-        this.deployedapps = null;
+        List<WSDesc> wss = getWebServices(server);
+        for (WSDesc app : wss) {
+            appsList.add(new WebServiceNode(this, server, app));
+        }
 
+        return appsList.toArray(new WebServiceNode[appsList.size()]);
     }
 
 }
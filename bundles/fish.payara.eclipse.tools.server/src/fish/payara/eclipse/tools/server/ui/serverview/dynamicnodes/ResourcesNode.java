@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.ui.views.properties.IPropertyDescriptor;
 import org.eclipse.ui.views.properties.TextPropertyDescriptor;
@@ -33,6 +34,7 @@ import org.eclipse.ui.views.properties.TextPropertyDescriptor;
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.serverview.ResourceDesc;
 import fish.payara.eclipse.tools.server.utils.NodesUtils;
+import fish.payara.eclipse.tools.server.utils.ResourceSnapshot;
 
 /**
  * This node shows is the root node below which the dynamically retrieved "managed resources" (such
@@ -58,10 +60,9 @@ import fish.payara.eclipse.tools.server.utils.NodesUtils;
  * running server. </>
  *
  */
-public class ResourcesNode extends TreeNode {
+public class ResourcesNode extends CachedNode {
 
     private PayaraServer server;
-    private ResourcesNode[] children;
     private boolean containerNode;
     private ResourceDesc resDescriptor;
     private Map<String, String> map;
@@ -72,7 +73,11 @@ public class ResourcesNode extends TreeNode {
     }
 
     public ResourcesNode(String name, String type, PayaraServer server, ResourceDesc resDescriptor) {
-        super(name, type, null);
+        this(name, type, server, resDescriptor, null);
+    }
+
+    private ResourcesNode(String name, String type, PayaraServer server, ResourceDesc resDescriptor, TreeNode parent) {
+        super(name, type, parent);
 
         this.server = server;
         this.resDescriptor = resDescriptor;
@@ -82,7 +87,7 @@ public class ResourcesNode extends TreeNode {
         if (childTypes != null) {
             for (String childtype : childTypes) {
 
-                ResourcesNode n = new ResourcesNode(childtype, childtype, server, null);
+                ResourcesNode n = new ResourcesNode(childtype, childtype, server, null, this);
 
                 if (NodeTypes.getChildTypes(childtype) != null) {
                     n.setContainerNode();
@@ -119,38 +124,54 @@ public class ResourcesNode extends TreeNode {
             return childModules.toArray();
         }
 
-        ArrayList<ResourcesNode> list = new ArrayList<>();
-
-        if (children == null) {
+        return super.getChildren();
+    }
 
-            try {
-                if (server == null) {
-                    children = list.toArray(new ResourcesNode[list.size()]);
-                    return children;
-                }
+    @Override
+    public boolean hasChildren() {
+        if (containerNode || resDescriptor != null) {
+            return !childModules.isEmpty();
+        }
 
-                try {
-                    List<ResourceDesc> resourcesList = NodesUtils.getResources(server, type);
+        return super.hasChildren();
+    }
 
-                    for (ResourceDesc resource : resourcesList) {
-                        list.add(new ResourcesNode(resource.getName(), type, server, resource));
-                    }
+    @Override
+    protected Object[] loadChildren() throws Exception {
+        ArrayList<ResourcesNode> list = new ArrayList<>();
+        if (server == null) {
+            return list.toArray();
+        }
 
-                } catch (Exception ex) {
-                    logError("get GlassFish Resources is failing=", ex); //$NON-NLS-1$
-                }
-            } catch (Exception e) {
-            }
+        List<ResourceDesc> resourcesList = NodesUtils.getResources(server, type);
+        for (ResourceDesc resource : resourcesList) {
+            list.add(new ResourcesNode(resource.getName(), type, server, resource, this));
+        }
 
-            children = list.toArray(new ResourcesNode[list.size()]);
+        return list.toArray(new ResourcesNode[list.size()]);
+    }
 
+    @Override
+    public void setRefresher(Consumer<TreeNode> refresher) {
+        super.setRefresher(refresher);
+        for (TreeNode child : childModules) {
+            if (child instanceof CachedNode) {
+                ((CachedNode) child).setRefresher(refresher);
+            }
         }
-
-        return children;
     }
 
+    @Override
     public void refresh() {
-        children = null;
+        super.refresh();
+        if (server != null) {
+            ResourceSnapshot.invalidate(server);
+        }
+        for (TreeNode child : childModules) {
+            if (child instanceof CachedNode) {
+                ((CachedNode) child).refresh();
+            }
+        }
     }
 
     @Override
@@ -49,6 +49,7 @@ public class GlassfishWizardResources extends org.eclipse.osgi.util.NLS {
     public static String restartPattern;
     public static String attachDebugEarly;
     public static String enableHotDeploy;
+    public static String stagedPublish;
     public static String domainName;
     public static String domainDir;
     public static String portBase;
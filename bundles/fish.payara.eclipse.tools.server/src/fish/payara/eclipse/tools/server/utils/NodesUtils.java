@@ -52,6 +52,11 @@ import fish.payara.eclipse.tools.server.serverview.WSDesc;
 public class NodesUtils {
 
     public static List<ResourceDesc> getResources(PayaraServer server, String type) {
+        ResourceSnapshot snapshot = ResourceSnapshot.get(server);
+        if (snapshot != null) {
+            return snapshot.getResources(type);
+        }
+
         List<String> result = Collections.emptyList();
         LinkedList<ResourceDesc> retVal = null;
         try {
@@ -154,12 +159,12 @@ public class NodesUtils {
     }
 
     public static Map<String, String> getResourceData(PayaraServer server, String name) {
-        return getResourceData(server, name);
+        return ResourceUtils.getResourceData(server, name);
     }
 
     public static void putResourceData(PayaraServer server, Map<String, String> data)
             throws PartialCompletionException {
-        putResourceData(server, data);
+        ResourceUtils.putResourceData(server, data);
     }
 
 }
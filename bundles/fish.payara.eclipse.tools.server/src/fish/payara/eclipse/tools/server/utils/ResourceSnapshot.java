@@ -0,0 +1,233 @@
+/******************************************************************************
+ * Copyright (c) 2023 Payara Foundation
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ ******************************************************************************/
+
+package fish.payara.eclipse.tools.server.utils;
+
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.ADMINOBJECT_RESOURCE;
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.CONN_CONNECTION_POOL;
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.CONN_RESOURCE;
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.JAVAMAIL_RESOURCE;
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.JDBC_CONNECTION_POOL;
+import static fish.payara.eclipse.tools.server.ui.serverview.dynamicnodes.NodeTypes.JDBC_RESOURCE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import fish.payara.eclipse.tools.server.PayaraServer;
+import fish.payara.eclipse.tools.server.sdk.TaskState;
+import fish.payara.eclipse.tools.server.sdk.admin.CommandGetProperty;
+import fish.payara.eclipse.tools.server.sdk.admin.ResultMap;
+import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
+import fish.payara.eclipse.tools.server.sdk.utils.StringPrefixTree;
+import fish.payara.eclipse.tools.server.serverview.ResourceDesc;
+
+/**
+ * Snapshot of all resources of a domain retrieved with single <code>get resources.*</code>
+ * command.
+ *
+ * <p>
+ * The snapshot serves resource lists of all resource types shown in the Servers view as well as
+ * attributes and properties of single resources, so expanding the resource nodes and showing their
+ * properties costs one round trip instead of one per resource type and resource. A snapshot is
+ * reused for {@link #MAX_AGE} milliseconds or until {@link #invalidate(PayaraServer)} is called after
+ * resources were changed.
+ * </p>
+ *
+ * <p>
+ * No lock is held while the resources are retrieved. Concurrent requests share single retrieval, a
+ * request finding an outdated snapshot while another one is being retrieved gets the outdated one
+ * right away instead of waiting.
+ * </p>
+ */
+public class ResourceSnapshot {
+
+    /** Time in milliseconds a snapshot is reused. */
+    public static final long MAX_AGE = 10_000;
+
+    /*
+     * Resource type as used by the Servers view nodes, domain.xml element of its resources and the
+     * attribute holding the resource name.
+     */
+    private static final String[][] TYPES = {
+            { JDBC_RESOURCE, "jdbc-resource", "jndi-name" },
+            { JDBC_CONNECTION_POOL, "jdbc-connection-pool", "name" },
+            { CONN_RESOURCE, "connector-resource", "jndi-name" },
+            { CONN_CONNECTION_POOL, "connector-connection-pool", "name" },
+            { ADMINOBJECT_RESOURCE, "admin-object-resource", "jndi-name" },
+            { JAVAMAIL_RESOURCE, "mail-resource", "jndi-name" } };
+
+    private static final String RESOURCES_PREFIX = "resources."; //$NON-NLS-1$
+
+    private static final Map<PayaraServer, Holder> SNAPSHOTS = new WeakHashMap<>();
+
+    /*
+     * Per server holder, the lock guards its fields only and is never held during retrieval.
+     */
+    private static class Holder {
+        private ResourceSnapshot snapshot;
+        private CompletableFuture<ResourceSnapshot> pending; // Retrieval in progress
+    }
+
+    private final long createdAt = System.currentTimeMillis();
+    private final Map<String, String> data;
+    private final Map<String, List<ResourceDesc>> resources = new HashMap<>();
+    private final Map<String, Map<String, String>> resourceData = new HashMap<>();
+
+    /**
+     * Returns snapshot of resources of given server, retrieving it when there is no recent one.
+     *
+     * @return snapshot or <code>null</code> when the resources could not be retrieved
+     */
+    public static ResourceSnapshot get(PayaraServer server) {
+        Holder holder;
+        synchronized (SNAPSHOTS) {
+            holder = SNAPSHOTS.computeIfAbsent(server, key -> new Holder());
+        }
+
+        CompletableFuture<ResourceSnapshot> pending;
+        boolean retrieving = false;
+        synchronized (holder) {
+            ResourceSnapshot snapshot = holder.snapshot;
+            if (snapshot != null && (holder.pending != null
+                    || System.currentTimeMillis() - snapshot.createdAt <= MAX_AGE)) {
+                return snapshot;
+            }
+            if (holder.pending == null) {
+                holder.pending = new CompletableFuture<>();
+                retrieving = true;
+            }
+            pending = holder.pending;
+        }
+
+        if (!retrieving) {
+            return pending.join();
+        }
+
+        ResourceSnapshot snapshot = null;
+        try {
+            Map<String, String> data = retrieve(server);
+            snapshot = data != null ? new ResourceSnapshot(data) : null;
+        } finally {
+            synchronized (holder) {
+                // Not kept when invalidated meanwhile, it may miss the latest changes
+                if (holder.pending == pending) {
+                    holder.snapshot = snapshot;
+                    holder.pending = null;
+                }
+            }
+            pending.complete(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Drops snapshot of given server, the next request retrieves resources again.
+     */
+    public static void invalidate(PayaraServer server) {
+        Holder holder;
+        synchronized (SNAPSHOTS) {
+            holder = SNAPSHOTS.get(server);
+        }
+        if (holder != null) {
+            synchronized (holder) {
+                holder.snapshot = null;
+                holder.pending = null;
+            }
+        }
+    }
+
+    private static Map<String, String> retrieve(PayaraServer server) {
+        String query = RESOURCES_PREFIX + "*"; //$NON-NLS-1$
+        try {
+            Future<ResultMap<String, String>> future = ServerAdmin.<ResultMap<String, String>>exec(server,
+                    new CommandGetProperty(query));
+            ResultMap<String, String> result = future.get(30, TimeUnit.SECONDS);
+            if (TaskState.COMPLETED.equals(result.getState()) && result.getValue() != null) {
+                return result.getValue();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); //$NON-NLS-1$
+        } catch (Exception ex) {
+            Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); //$NON-NLS-1$
+        }
+
+        return null;
+    }
+
+    private ResourceSnapshot(Map<String, String> data) {
+        this.data = unmodifiableMap(new HashMap<>(data));
+
+        // Resource names may contain dots, they are taken from their name attributes
+        StringPrefixTree<Map<String, String>> index = new StringPrefixTree<>(true);
+        for (String[] type : TYPES) {
+            String prefix = RESOURCES_PREFIX + type[1] + ".";
+            String suffix = "." + type[2];
+            List<ResourceDesc> list = new ArrayList<>();
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                String key = entry.getKey();
+                String name = entry.getValue();
+                if (name != null && key.length() == prefix.length() + name.length() + suffix.length()
+                        && key.startsWith(prefix) && key.endsWith(suffix)
+                        && key.startsWith(name, prefix.length())) {
+                    list.add(new ResourceDesc(name, type[0]));
+                    Map<String, String> values = resourceData.computeIfAbsent(name, k -> new HashMap<>());
+                    index.add(prefix + name + ".", values);
+                }
+            }
+            Collections.sort(list);
+            resources.put(type[0], list);
+        }
+
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            Map<String, String> values = index.prefixMatch(entry.getKey());
+            if (values != null) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns all <code>resources.*</code> values of the domain.
+     */
+    public Map<String, String> getData() {
+        return data;
+    }
+
+    /**
+     * Returns attributes and properties of all resources with given name, like
+     * <code>get resources.*.&lt;name&gt;.*</code> does.
+     */
+    public Map<String, String> getData(String name) {
+        Map<String, String> values = resourceData.get(name);
+        return values != null ? unmodifiableMap(values) : emptyMap();
+    }
+
+    /**
+     * Returns resources of given Servers view resource type.
+     */
+    public List<ResourceDesc> getResources(String type) {
+        List<ResourceDesc> list = resources.get(type);
+        return list != null ? new ArrayList<>(list) : emptyList();
+    }
+
+}
@@ -28,11 +28,14 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -53,14 +56,13 @@ import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.PayaraServerPlugin;
 import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.admin.Command;
-import fish.payara.eclipse.tools.server.sdk.admin.CommandGetProperty;
 import fish.payara.eclipse.tools.server.sdk.admin.CommandSetProperty;
-import fish.payara.eclipse.tools.server.sdk.admin.ResultMap;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultString;
 import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
 import fish.payara.eclipse.tools.server.sdk.server.parser.ResourcesReader;
 import fish.payara.eclipse.tools.server.sdk.server.parser.ResourcesReader.ResourceType;
 import fish.payara.eclipse.tools.server.sdk.server.parser.TreeParser;
+import fish.payara.eclipse.tools.server.sdk.utils.StringPrefixTree;
 
 public class ResourceUtils {
     public static final String RESOURCE_FILE_TEMPLATE = "templates/sun-resources-xml-template.resource"; //$NON-NLS-1$
@@ -77,6 +79,9 @@ public class ResourceUtils {
             "<resources>\n"; //$NON-NLS-1$
     private static final String SUN_RESOURCES_XML_FOOTER = "</resources>\n"; //$NON-NLS-1$
 
+    /** Maximum number of properties set by single <code>set</code> command. */
+    private static final int SET_BATCH_SIZE = 32;
+
     public static InputStream appendResource(IFile sunResourcesXml, String fragment) throws IOException, CoreException {
         String sunResourcesBuf = readResourceFile(sunResourcesXml);
         sunResourcesBuf = insertFragment(sunResourcesBuf, fragment);
@@ -263,13 +268,32 @@ public class ResourceUtils {
         } catch (IllegalStateException ex) {
             PayaraServerPlugin.logError("Exception while reading resource file : " + sunResourcesXml, ex); //$NON-NLS-1$
         }
+        // Compare against the current server state, not a snapshot taken before
+        ResourceSnapshot.invalidate(sunAppsrv);
         Map<String, String> allRemoteData = getResourceData(sunAppsrv, null);
-        changedData = checkResources(cpReader, "resources.jdbc-connection-pool.", allRemoteData, changedData); //$NON-NLS-1$
-        changedData = checkResources(jdbcReader, "resources.jdbc-resource.", allRemoteData, changedData); //$NON-NLS-1$
-        changedData = checkResources(connectorPoolReader, "resources.connector-connection-pool.", allRemoteData, changedData); //$NON-NLS-1$
-        changedData = checkResources(connectorResourceReader, "resources.connector-resource.", allRemoteData, changedData); //$NON-NLS-1$
-        changedData = checkResources(aoReader, "resources.admin-object-resource.", allRemoteData, changedData); //$NON-NLS-1$
-        changedData = checkResources(mailReader, "resources.mail-resource.", allRemoteData, changedData); //$NON-NLS-1$
+        StringPrefixTree<LocalResource> index = new StringPrefixTree<>(true);
+        List<LocalResource> localResources = new ArrayList<>();
+        indexResources(cpReader, "resources.jdbc-connection-pool.", index, localResources); //$NON-NLS-1$
+        indexResources(jdbcReader, "resources.jdbc-resource.", index, localResources); //$NON-NLS-1$
+        indexResources(connectorPoolReader, "resources.connector-connection-pool.", index, localResources); //$NON-NLS-1$
+        indexResources(connectorResourceReader, "resources.connector-resource.", index, localResources); //$NON-NLS-1$
+        indexResources(aoReader, "resources.admin-object-resource.", index, localResources); //$NON-NLS-1$
+        indexResources(mailReader, "resources.mail-resource.", index, localResources); //$NON-NLS-1$
+
+        // Single pass over remote data, each key is assigned to its resource by longest prefix
+        if (index.size() > 0) {
+            for (final Map.Entry<String, String> entry : allRemoteData.entrySet()) {
+                LocalResource resource = index.prefixMatch(entry.getKey());
+                if (resource != null) {
+                    resource.remoteData.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (LocalResource resource : localResources) {
+            if (resource.remoteData.size() > 0) {
+                getChangedData(resource.remoteData, resource.localData, changedData, resource.remoteKey);
+            }
+        }
 
         if (changedData.size() > 0) {
             try {
@@ -281,63 +305,51 @@ public class ResourceUtils {
     }
 
     public static Map<String, String> getResourceData(PayaraServer server, String name) {
-        try {
-            // GetPropertyCommand cmd;
-            String query;
-            if (null != name) {
-                query = "resources.*." + name + ".*"; //$NON-NLS-1$ //$NON-NLS-2$
-            } else {
-                query = "resources.*"; //$NON-NLS-1$
-            }
-            Command command = new CommandGetProperty(query);
-            Future<ResultMap<String, String>> future = ServerAdmin.<ResultMap<String, String>>exec(server, command);
-            ResultMap<String, String> result = future.get(30, TimeUnit.SECONDS);
-
-            if (TaskState.COMPLETED.equals(result.getState())) {
-                Map<String, String> retVal = result.getValue();
-                if (retVal.isEmpty()) {
-                    Logger.getLogger("glassfish").log(Level.INFO, null, new IllegalStateException(query + " has no data")); //$NON-NLS-1$
-                }
-                return retVal;
-            }
-        } catch (InterruptedException ex) {
-            Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); //$NON-NLS-1$
-        } catch (Exception ex) {
-            Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); //$NON-NLS-1$
+        ResourceSnapshot snapshot = ResourceSnapshot.get(server);
+        if (snapshot == null) {
+            return new HashMap<>();
         }
-        return new HashMap<>();
+
+        Map<String, String> retVal = new HashMap<>(null != name ? snapshot.getData(name) : snapshot.getData());
+        if (retVal.isEmpty()) {
+            String query = null != name ? "resources.*." + name + ".*" : "resources.*"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            Logger.getLogger("glassfish").log(Level.INFO, null, new IllegalStateException(query + " has no data")); //$NON-NLS-1$
+        }
+        return retVal;
     }
 
-    private static Map<String, String> checkResources(ResourcesReader resourceReader, String prefix, Map<String, String> allRemoteData,
-            Map<String, String> changedData) {
-        Set<String> resources = resourceReader.getResourceData().keySet();
-        for (String jndiName : resources) {
-            Map<String, String> localData = resourceReader.getResourceData().get(jndiName);
-            String remoteKey = prefix + jndiName + "."; //$NON-NLS-1$
+    /*
+     * Local resource definition with server data belonging to it.
+     */
+    private static class LocalResource {
+        final String remoteKey;
+        final Map<String, String> localData;
+        final Map<String, String> remoteData = new HashMap<>();
+
+        LocalResource(String remoteKey, Map<String, String> localData) {
+            this.remoteKey = remoteKey;
+            this.localData = localData;
+        }
+    }
 
-            Map<String, String> remoteData = new HashMap<>();
-            for (final Map.Entry<String, String> entry : allRemoteData.entrySet()) {
-                final String key = entry.getKey();
-                if (key.startsWith(remoteKey)) {
-                    remoteData.put(key, entry.getValue());
-                }
-            }
-            if (remoteData.size() > 0) {
-                changedData = getChangedData(remoteData, localData, changedData, remoteKey);
+    private static void indexResources(ResourcesReader resourceReader, String prefix,
+            StringPrefixTree<LocalResource> index, List<LocalResource> localResources) {
+        for (final Map.Entry<String, Map<String, String>> entry : resourceReader.getResourceData().entrySet()) {
+            String remoteKey = prefix + entry.getKey() + "."; //$NON-NLS-1$
+            LocalResource resource = new LocalResource(remoteKey, entry.getValue());
+            if (index.add(remoteKey, resource)) {
+                localResources.add(resource);
             }
         }
-        return changedData;
     }
 
     private static Map<String, String> getChangedData(Map<String, String> remoteData, Map<String, String> localData,
             Map<String, String> changedData, String resourceKey) {
-        List<String> props = new ArrayList<>();
-        Set<String> localKeySet = localData.keySet();
+        Set<String> props = new HashSet<>();
         for (final Map.Entry<String, String> entry : remoteData.entrySet()) {
             final String remoteDataKey = entry.getKey();
             final String remoteValue = entry.getValue();
-            String[] split = remoteDataKey.split(resourceKey);
-            String key = split[1];
+            String key = remoteDataKey.substring(resourceKey.length());
             if (key.indexOf("property.") != -1) { //$NON-NLS-1$
                 props.add(key);
             }
@@ -347,7 +359,7 @@ public class ResourceUtils {
                     changedData.put(remoteDataKey, localValue);
                 }
             } else {
-                if (localKeySet.contains(key)) {
+                if (localData.containsKey(key)) {
                     if (remoteValue != null) {
                         changedData.put(remoteDataKey, localValue);
                     }
@@ -366,30 +378,100 @@ public class ResourceUtils {
         return changedData;
     }
 
+    /**
+     * Sets given properties on the server.
+     * <p/>
+     * Properties are sent in batches of up to {@link #SET_BATCH_SIZE} per <code>set</code> command.
+     * When a batch fails, its properties are sent again one per command, all at once, so the exception
+     * names exactly the properties which were not set. A batch which timed out is cancelled and its
+     * properties are reported as not set without sending them again. When the calling thread is
+     * interrupted, remaining batches are not sent and their properties are reported as not set.
+     *
+     * @throws PartialCompletionException listing names of properties which were not set
+     */
     public static void putResourceData(PayaraServer server, Map<String, String> data) throws PartialCompletionException {
         String itemsNotUpdated = null;
         Throwable lastEx = null;
+        List<Map<String, String>> batches = new ArrayList<>();
+        Map<String, String> batch = null;
         for (final Map.Entry<String, String> entry : data.entrySet()) {
-            String compName = entry.getKey();
-            String compValue = entry.getValue();
+            if (batch == null || batch.size() == SET_BATCH_SIZE) {
+                batch = new LinkedHashMap<>();
+                batches.add(batch);
+            }
+            batch.put(entry.getKey(), entry.getValue());
+        }
 
-            try {
-                Command command = new CommandSetProperty(compName, compValue);
-                Future<ResultString> future = ServerAdmin.<ResultString>exec(server, command);
-                ResultString result = future.get(30, TimeUnit.SECONDS);
-                if (!TaskState.COMPLETED.equals(result.getState())) {
+        boolean interrupted = false;
+        for (Map<String, String> values : batches) {
+            if (interrupted) {
+                // Not submitted at all
+                for (String compName : values.keySet()) {
+                    itemsNotUpdated = addName(compName, itemsNotUpdated);
+                }
+                continue;
+            }
+            if (values.size() > 1) {
+                Future<ResultString> future = ServerAdmin.<ResultString>exec(server, new CommandSetProperty(values));
+                try {
+                    ResultString result = future.get(30, TimeUnit.SECONDS);
+                    if (TaskState.COMPLETED.equals(result.getState())) {
+                        continue;
+                    }
+                } catch (InterruptedException | TimeoutException ex) {
+                    // Sending the properties again would queue behind the unfinished batch
+                    Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
+                    future.cancel(true);
+                    for (String compName : values.keySet()) {
+                        itemsNotUpdated = addName(compName, itemsNotUpdated);
+                    }
+                    lastEx = ex;
+                    if (ex instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                        interrupted = true;
+                    }
+                    continue;
+                } catch (Exception ex) {
+                    Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
+                }
+            }
+
+            // Find out which of the properties failed
+            Map<String, Future<ResultString>> futures = new LinkedHashMap<>();
+            for (final Map.Entry<String, String> entry : values.entrySet()) {
+                Command command = new CommandSetProperty(entry.getKey(), entry.getValue());
+                futures.put(entry.getKey(), ServerAdmin.<ResultString>exec(server, command));
+            }
+            for (final Map.Entry<String, Future<ResultString>> entry : futures.entrySet()) {
+                String compName = entry.getKey();
+                if (interrupted) {
+                    entry.getValue().cancel(true);
+                    itemsNotUpdated = addName(compName, itemsNotUpdated);
+                    continue;
+                }
+                try {
+                    ResultString result = entry.getValue().get(30, TimeUnit.SECONDS);
+                    if (!TaskState.COMPLETED.equals(result.getState())) {
+                        itemsNotUpdated = addName(compName, itemsNotUpdated);
+                    }
+                } catch (InterruptedException ex) {
+                    lastEx = ex;
+                    Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
+                    entry.getValue().cancel(true);
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    itemsNotUpdated = addName(compName, itemsNotUpdated);
+                } catch (Exception ex) {
+                    lastEx = ex;
+                    Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
+                    if (ex instanceof TimeoutException) {
+                        entry.getValue().cancel(true);
+                    }
                     itemsNotUpdated = addName(compName, itemsNotUpdated);
                 }
-            } catch (InterruptedException ex) {
-                lastEx = ex;
-                Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
-                itemsNotUpdated = addName(compName, itemsNotUpdated);
-            } catch (Exception ex) {
-                lastEx = ex;
-                Logger.getLogger("glassfish").log(Level.INFO, ex.getMessage(), ex); // NOI18N
-                itemsNotUpdated = addName(compName, itemsNotUpdated);
             }
         }
+        ResourceSnapshot.invalidate(server);
         if (null != itemsNotUpdated) {
             PartialCompletionException pce = new PartialCompletionException(itemsNotUpdated);
             if (null != lastEx) {
@@ -29,50 +29,46 @@ import static fish.payara.eclipse.tools.server.ServerStatus.STOPPED_DOMAIN_NOT_M
 import static fish.payara.eclipse.tools.server.ServerStatus.STOPPED_NOT_LISTENING;
 import static fish.payara.eclipse.tools.server.sdk.TaskEvent.AUTH_FAILED;
 import static fish.payara.eclipse.tools.server.sdk.TaskEvent.BAD_GATEWAY;
-import static fish.payara.eclipse.tools.server.sdk.utils.ServerUtils.isAdminPortListening;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeoutException;
 
 import org.eclipse.wst.server.core.IServer;
 
 import fish.payara.eclipse.tools.server.PayaraRuntime;
 import fish.payara.eclipse.tools.server.PayaraServer;
 import fish.payara.eclipse.tools.server.ServerStatus;
-import fish.payara.eclipse.tools.server.deploying.PayaraServerBehaviour;
 import fish.payara.eclipse.tools.server.sdk.PayaraIdeException;
 import fish.payara.eclipse.tools.server.sdk.TaskEvent;
 import fish.payara.eclipse.tools.server.sdk.TaskState;
 import fish.payara.eclipse.tools.server.sdk.TaskStateListener;
-import fish.payara.eclipse.tools.server.sdk.admin.CommandLocation;
 import fish.payara.eclipse.tools.server.sdk.admin.ResultMap;
-import fish.payara.eclipse.tools.server.sdk.admin.ServerAdmin;
+import fish.payara.eclipse.tools.server.sdk.server.state.StatusProbe;
 
 public class ServerStatusHelper {
 
+    /** <code>__locations</code> command timeout [s]. */
+    private static final long LOCATIONS_TIMEOUT = 10;
+
     public static ServerStatus checkServerStatus(PayaraServer server) {
+        return checkServerStatus(server, new StatusProbe(server));
+    }
 
-        // Randomly wait for some random reason
-        try {
-            Thread.sleep(Math.round(Math.random() * 1000));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return NOT_DEFINED;
-        }
+    /**
+     * Check server status using given probe. Probe keeps server version and liveness between checks so
+     * running server is checked with a single <code>__locations</code> command.
+     */
+    public static ServerStatus checkServerStatus(PayaraServer server, StatusProbe probe) {
 
-        if (!isAdminPortListening(server)) {
+        if (!probe.isListening()) {
             return STOPPED_NOT_LISTENING;
         }
 
         if (server.isRemote()) {
             IServer server1 = server.getServer();
 			try {
-				String remoteServerVersion = PayaraServerBehaviour.getVersion(server);
+				String remoteServerVersion = probe.getVersion();
 				PayaraRuntime payaraRuntime = (PayaraRuntime) server1.getRuntime().loadAdapter(PayaraRuntime.class,
 						null);
 
@@ -95,30 +91,17 @@ public class ServerStatusHelper {
 			}
         }
 
-        CommandLocation command = new CommandLocation();
-        LastTaskEventListener listener = new LastTaskEventListener();
         ResultMap<String, String> result = null;
-        Future<ResultMap<String, String>> locationTask = null;
 
         try {
-            locationTask = ServerAdmin.exec(server, command, listener);
-            result = locationTask.get(10, SECONDS);
+            result = probe.locations(LOCATIONS_TIMEOUT);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logMessage("ServerStatusMonitor for " + server.getName() + " location interrupted");
-        } catch (ExecutionException e) {
-            logMessage("ServerStatusMonitor for " + server.getName() + " location throws exception");
-            e.printStackTrace();
-        } catch (TimeoutException e) {
-            logMessage("ServerStatusMonitor for " + server.getName() + " location timed out");
-        } finally {
-            if (result == null) {
-                if (locationTask != null) {
-                    locationTask.cancel(true);
-                }
+        }
 
-                return RUNNING_CONNECTION_ERROR;
-            }
+        if (result == null) {
+            return RUNNING_CONNECTION_ERROR;
         }
 
         ServerStatus serverStatus = null;
@@ -135,11 +118,15 @@ public class ServerStatusHelper {
             }
             break;
         case FAILED:
-            if (isAuthException(listener.getLastEvent(), result)) {
+            TaskEvent lastEvent = probe.getLastEvent();
+            if (lastEvent == TaskEvent.EXCEPTION && !probe.isListening()) {
+                // server went down since the last check
+                serverStatus = STOPPED_NOT_LISTENING;
+            } else if (isAuthException(lastEvent, result)) {
                 serverStatus = RUNNING_CREDENTIAL_PROBLEM;
             } else if (isRemoteAdminException(result)) {
                 serverStatus = RUNNING_REMOTE_NOT_SECURE;
-            } else if (listener.getLastEvent().equals(BAD_GATEWAY)) {
+            } else if (BAD_GATEWAY.equals(lastEvent)) {
                 serverStatus = RUNNING_PROXY_ERROR;
             } else {
                 serverStatus = RUNNING_CONNECTION_ERROR;
@@ -147,7 +134,6 @@ public class ServerStatusHelper {
             break;
         case RUNNING:
             logMessage("ServerStatusMonitor for " + server.getName() + " location takes long time...");
-            locationTask.cancel(true);
             serverStatus = NOT_DEFINED;
             break;
         default:
@@ -180,7 +166,7 @@ public class ServerStatusHelper {
 
     private static boolean isAuthException(TaskEvent event, ResultMap<String, String> result) {
         // for now handle remote admin access exception as auth issue
-        return event.equals(AUTH_FAILED)
+        return AUTH_FAILED.equals(event)
                 || ((result.getValue() != null) && (result.getValue().get("message") != null)
                         && (result.getValue().get("message").contains("javax.security.auth.login.LoginException")));
     }